@@ -0,0 +1,163 @@
+package com.auction.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicting cache for entity lookups by id.
+ *
+ * Entries are kept in access order, so once the cache is full the least recently
+ * used entry is evicted. Entries older than the TTL are dropped on the next access.
+ * Callers are expected to cache immutable snapshots (e.g. the stored BSON document)
+ * and build a fresh model object from each hit.
+ */
+public class EntityCache<K, V> {
+    
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * @return the cached value, or null on a miss (absent or expired)
+     */
+    public V get(K key) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (entry.isExpired(ttlMillis)) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.value;
+        }
+    }
+    
+    public void put(K key, V value) {
+        if (maxSize <= 0 || key == null || value == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value));
+        }
+    }
+    
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    /**
+     * Drops expired entries; lookups do this lazily, this just frees the memory sooner
+     */
+    public void purgeExpired() {
+        synchronized (entries) {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isExpired(ttlMillis)) {
+                    it.remove();
+                    expirations.incrementAndGet();
+                }
+            }
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.get();
+    }
+    
+    public long getMissCount() {
+        return misses.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    public long getExpirationCount() {
+        return expirations.get();
+    }
+    
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%-9s size %d/%d, hit rate %.1f%% (%d hits, %d misses), %d evictions, %d expirations, ttl %ds",
+            name, size(), maxSize, getHitRate() * 100, getHitCount(), getMissCount(),
+            getEvictionCount(), getExpirationCount(), ttlMillis / 1000);
+    }
+    
+    private static class Entry<V> {
+        final V value;
+        final long createdAt;
+        
+        Entry(V value) {
+            this.value = value;
+            this.createdAt = System.currentTimeMillis();
+        }
+        
+        boolean isExpired(long ttlMillis) {
+            return ttlMillis > 0 && System.currentTimeMillis() - createdAt > ttlMillis;
+        }
+    }
+}
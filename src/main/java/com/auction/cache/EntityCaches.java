@@ -0,0 +1,34 @@
+package com.auction.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+
+/**
+ * Process-wide entity caches shared by every service instance.
+ * Values are the stored BSON bytes: immutable, compact, and decoded with the model codecs on each hit.
+ *
+ * Sized per cache with -Dcache.&lt;name&gt;.maxSize and -Dcache.&lt;name&gt;.ttlSeconds
+ * (names: auctions, products, users); a maxSize of 0 disables that cache.
+ */
+public final class EntityCaches {
+    
+    public static final EntityCache<ObjectId, RawBsonDocument> AUCTIONS = create("auctions", 2_000, 5);
+    public static final EntityCache<ObjectId, RawBsonDocument> PRODUCTS = create("products", 10_000, 60);
+    public static final EntityCache<ObjectId, RawBsonDocument> USERS = create("users", 5_000, 60);
+    
+    private EntityCaches() {
+    }
+    
+    public static List<EntityCache<ObjectId, RawBsonDocument>> all() {
+        return Arrays.asList(AUCTIONS, PRODUCTS, USERS);
+    }
+    
+    private static EntityCache<ObjectId, RawBsonDocument> create(String name, int defaultMaxSize, long defaultTtlSeconds) {
+        int maxSize = Integer.getInteger("cache." + name + ".maxSize", defaultMaxSize);
+        long ttlSeconds = Long.getLong("cache." + name + ".ttlSeconds", defaultTtlSeconds);
+        return new EntityCache<>(name, maxSize, ttlSeconds * 1000);
+    }
+}
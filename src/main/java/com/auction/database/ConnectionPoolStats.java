@@ -0,0 +1,132 @@
+package com.auction.database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Connection pool utilization, collected from the driver's pool events.
+ *
+ * The numbers to size the pool by are the in-use high-water mark against the max
+ * pool size, and how long (and how often in vain) sessions waited for a connection.
+ * Counters are summed over all servers in the deployment.
+ */
+public class ConnectionPoolStats implements ConnectionPoolListener {
+    
+    private final Map<ServerId, Integer> maxPoolSizes = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicLong checkOuts = new AtomicLong();
+    private final AtomicLong checkOutFailures = new AtomicLong();
+    private final AtomicLong waitQueueTimeouts = new AtomicLong();
+    private final AtomicLong totalWaitMicros = new AtomicLong();
+    private final AtomicLong maxWaitMicros = new AtomicLong();
+    
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        maxPoolSizes.put(event.getServerId(), event.getSettings().getMaxSize());
+    }
+    
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        maxPoolSizes.remove(event.getServerId());
+    }
+    
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+    }
+    
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        open.decrementAndGet();
+    }
+    
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkOuts.incrementAndGet();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        recordWait(event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+    
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkOutFailures.incrementAndGet();
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            waitQueueTimeouts.incrementAndGet();
+        }
+        recordWait(event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+    
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        inUse.decrementAndGet();
+    }
+    
+    private void recordWait(long micros) {
+        totalWaitMicros.addAndGet(micros);
+        maxWaitMicros.accumulateAndGet(micros, Math::max);
+    }
+    
+    public int getMaxPoolSize() {
+        int total = 0;
+        for (int size : maxPoolSizes.values()) {
+            total += size;
+        }
+        return total;
+    }
+    
+    public int getOpenConnections() {
+        return open.get();
+    }
+    
+    public int getInUse() {
+        return inUse.get();
+    }
+    
+    public int getPeakInUse() {
+        return peakInUse.get();
+    }
+    
+    public long getCheckOuts() {
+        return checkOuts.get();
+    }
+    
+    public long getCheckOutFailures() {
+        return checkOutFailures.get();
+    }
+    
+    public long getWaitQueueTimeouts() {
+        return waitQueueTimeouts.get();
+    }
+    
+    public double getAverageWaitMillis() {
+        long attempts = checkOuts.get() + checkOutFailures.get();
+        return attempts > 0 ? totalWaitMicros.get() / 1000.0 / attempts : 0;
+    }
+    
+    public double getMaxWaitMillis() {
+        return maxWaitMicros.get() / 1000.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("pool: %d open, %d in use (peak %d of max %d), %d check-outs, "
+                + "%d failed (%d wait-queue timeouts), wait avg %.2f ms / max %.2f ms",
+            getOpenConnections(), getInUse(), getPeakInUse(), getMaxPoolSize(), getCheckOuts(),
+            getCheckOutFailures(), getWaitQueueTimeouts(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+}
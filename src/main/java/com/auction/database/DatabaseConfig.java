@@ -0,0 +1,140 @@
+package com.auction.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Builds the MongoClientSettings from -D system properties.
+ *
+ * An option given in the connection string (e.g. ?maxPoolSize=20) always wins over
+ * the matching property, which in turn overrides the defaults below. Collections can
+ * be given their own read and write concern with
+ * -Dmongodb.collection.&lt;name&gt;.readConcern / .writeConcern.
+ * Streamed reads fetch -Dmongodb.cursor.batchSize rows per round trip.
+ */
+public final class DatabaseConfig {
+    
+    public static final String CONNECTION_STRING = System.getProperty("mongodb.uri", "mongodb://localhost:27017");
+    public static final String DATABASE_NAME = "auction_system";
+    public static final int CURSOR_BATCH_SIZE = Integer.getInteger("mongodb.cursor.batchSize", 500);
+    
+    private static final Map<String, CollectionConcerns> CONCERNS = new ConcurrentHashMap<>();
+    
+    private DatabaseConfig() {
+    }
+    
+    static MongoClientSettings buildSettings(ConnectionPoolListener poolListener) {
+        ConnectionString uri = new ConnectionString(CONNECTION_STRING);
+        
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+            .applyConnectionString(uri)
+            .applicationName(uri.getApplicationName() != null ? uri.getApplicationName() : "auction-system")
+            .codecRegistry(ModelCodecs.REGISTRY)
+            .applyToConnectionPoolSettings(pool -> pool
+                .minSize(setting(uri.getMinConnectionPoolSize(), "mongodb.pool.minSize", 2))
+                .maxSize(setting(uri.getMaxConnectionPoolSize(), "mongodb.pool.maxSize", 50))
+                .maxWaitTime(setting(uri.getMaxWaitTime(), "mongodb.pool.maxWaitMillis", 2_000), TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(poolListener))
+            .applyToSocketSettings(socket -> socket
+                .connectTimeout(setting(uri.getConnectTimeout(), "mongodb.connectTimeoutMillis", 5_000), TimeUnit.MILLISECONDS)
+                .readTimeout(setting(uri.getSocketTimeout(), "mongodb.socketTimeoutMillis", 30_000), TimeUnit.MILLISECONDS))
+            .applyToClusterSettings(cluster -> cluster
+                .serverSelectionTimeout(setting(uri.getServerSelectionTimeout(), "mongodb.serverSelectionTimeoutMillis", 5_000),
+                    TimeUnit.MILLISECONDS));
+        
+        if (uri.getCompressorList().isEmpty()) {
+            builder.compressorList(compressors(System.getProperty("mongodb.compressors", "zlib")));
+        }
+        
+        return builder.build();
+    }
+    
+    /**
+     * Applies the collection's configured read and write concern, if any
+     */
+    static <T> MongoCollection<T> configure(String name, MongoCollection<T> collection) {
+        CollectionConcerns concerns = CONCERNS.computeIfAbsent(name, CollectionConcerns::forCollection);
+        if (concerns.readConcern != null) {
+            collection = collection.withReadConcern(concerns.readConcern);
+        }
+        if (concerns.writeConcern != null) {
+            collection = collection.withWriteConcern(concerns.writeConcern);
+        }
+        return collection;
+    }
+    
+    private static int setting(Integer fromUri, String property, int defaultValue) {
+        return fromUri != null ? fromUri : Integer.getInteger(property, defaultValue);
+    }
+    
+    /**
+     * @param names comma separated, in order of preference; "none" disables compression.
+     *              snappy and zstd also need their libraries on the classpath.
+     */
+    private static List<MongoCompressor> compressors(String names) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : names.split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "zlib":
+                    compressors.add(MongoCompressor.createZlibCompressor());
+                    break;
+                case "snappy":
+                    compressors.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zstd":
+                    compressors.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "none":
+                case "":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown wire compressor: " + name);
+            }
+        }
+        return compressors;
+    }
+    
+    private static final class CollectionConcerns {
+        private final ReadConcern readConcern;
+        private final WriteConcern writeConcern;
+        
+        private CollectionConcerns(ReadConcern readConcern, WriteConcern writeConcern) {
+            this.readConcern = readConcern;
+            this.writeConcern = writeConcern;
+        }
+        
+        static CollectionConcerns forCollection(String name) {
+            // Payment records are acknowledged by a majority unless configured otherwise
+            String defaultWrite = "transactions".equals(name) ? "majority" : null;
+            
+            String read = System.getProperty("mongodb.collection." + name + ".readConcern");
+            String write = System.getProperty("mongodb.collection." + name + ".writeConcern", defaultWrite);
+            
+            return new CollectionConcerns(
+                read != null ? new ReadConcern(ReadConcernLevel.fromString(read)) : null,
+                write != null ? writeConcern(write) : null);
+        }
+        
+        private static WriteConcern writeConcern(String value) {
+            WriteConcern named = WriteConcern.valueOf(value);
+            if (named != null) {
+                return named;
+            }
+            // A plain number is the count of members that must acknowledge
+            return new WriteConcern(Integer.parseInt(value));
+        }
+    }
+}
@@ -1,48 +1,119 @@
 package com.auction.database;
 
 import com.auction.exceptions.DatabaseException;
+import com.mongodb.MongoCommandException;
+import com.mongodb.connection.ClusterType;
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
 
 /**
  * MongoDB Atlas connection manager
  */
 public class DatabaseConnection {
-    private static final String CONNECTION_STRING = System.getProperty("mongodb.uri", "mongodb://localhost:27017");
-    private static final String DATABASE_NAME = "auction_system";
+    private static final Object LOCK = new Object();
+    private static final ConnectionPoolStats POOL_STATS = new ConnectionPoolStats();
     
-    private static MongoClient mongoClient;
-    private static MongoDatabase database;
+    private static volatile MongoClient mongoClient;
+    private static volatile MongoDatabase database;
     
     /**
-     * Establishes connection to MongoDB
+     * Establishes connection to MongoDB.
+     * Safe to call from any thread: the first caller connects, concurrent callers wait for it.
      * @return MongoDatabase instance
      * @throws DatabaseException if connection fails
      */
     public static MongoDatabase getDatabase() throws DatabaseException {
-        if (database == null) {
-            try {
-                System.out.println("Connecting to MongoDB at: " + CONNECTION_STRING);
-                mongoClient = MongoClients.create(CONNECTION_STRING);
-                database = mongoClient.getDatabase(DATABASE_NAME);
-                
-                database.runCommand(new org.bson.Document("ping", 1));
-                System.out.println("Connected to MongoDB successfully!");
-                
-            } catch (Exception e) {
-                throw new DatabaseException("Failed to connect to MongoDB: " + e.getMessage(), e);
+        MongoDatabase current = database;
+        if (current != null) {
+            return current;
+        }
+        synchronized (LOCK) {
+            if (database == null) {
+                MongoClient client = null;
+                try {
+                    System.out.println("Connecting to MongoDB at: " + DatabaseConfig.CONNECTION_STRING);
+                    client = MongoClients.create(DatabaseConfig.buildSettings(POOL_STATS));
+                    MongoDatabase connected = client.getDatabase(DatabaseConfig.DATABASE_NAME);
+                    
+                    connected.runCommand(new org.bson.Document("ping", 1));
+                    System.out.println("Connected to MongoDB successfully!");
+                    
+                    mongoClient = client;
+                    database = connected;
+                } catch (Exception e) {
+                    if (client != null) {
+                        client.close();
+                    }
+                    throw new DatabaseException("Failed to connect to MongoDB: " + e.getMessage(), e);
+                }
             }
+            return database;
+        }
+    }
+    
+    /**
+     * Gets a collection that decodes straight into the given model class, with the
+     * collection's configured read and write concern applied
+     * @param name the collection name
+     * @param documentClass the model class (or Document/RawBsonDocument)
+     * @return the typed collection
+     * @throws DatabaseException if connection fails
+     */
+    public static <T> MongoCollection<T> getCollection(String name, Class<T> documentClass) throws DatabaseException {
+        return DatabaseConfig.configure(name, getDatabase().getCollection(name, documentClass));
+    }
+    
+    /**
+     * Starts a client session, e.g. for a multi-document transaction. The caller closes it.
+     * @throws DatabaseException if connection fails
+     */
+    public static ClientSession startSession() throws DatabaseException {
+        return connectedClient().startSession();
+    }
+    
+    /**
+     * @return true when connected to a standalone server, which cannot run
+     *         multi-document transactions (decided from the cluster topology)
+     * @throws DatabaseException if connection fails
+     */
+    public static boolean isStandalone() throws DatabaseException {
+        return connectedClient().getClusterDescription().getType() == ClusterType.STANDALONE;
+    }
+    
+    /**
+     * Connects if needed and returns the client, which closeConnection may clear
+     * concurrently, so it is read once and checked.
+     */
+    private static MongoClient connectedClient() throws DatabaseException {
+        getDatabase();
+        MongoClient client = mongoClient;
+        if (client == null) {
+            throw new DatabaseException("Not connected to MongoDB: the connection was closed");
         }
-        return database;
+        return client;
+    }
+    
+    /**
+     * @return connection pool utilization since startup
+     */
+    public static ConnectionPoolStats getPoolStats() {
+        return POOL_STATS;
     }
     
-  
     public static void closeConnection() {
-        if (mongoClient != null) {
-            mongoClient.close();
-            mongoClient = null;
-            database = null;
+        synchronized (LOCK) {
+            if (mongoClient != null) {
+                mongoClient.close();
+                mongoClient = null;
+                database = null;
+            }
         }
     }
     
@@ -51,24 +122,85 @@ public class DatabaseConnection {
         try {
             MongoDatabase db = getDatabase();
             
+            // Single-field indexes superseded by the compound/partial ones below
+            dropIndexIfExists(db, "auctions", "endTime_1");
+            dropIndexIfExists(db, "bids", "auctionId_1");
+            dropIndexIfExists(db, "bids", "bidderId_1");
+            dropIndexIfExists(db, "transactions", "buyerId_1");
+            dropIndexIfExists(db, "transactions", "sellerId_1");
+            dropIndexIfExists(db, "auctions", "createdAt_-1");
+            dropIndexIfExists(db, "auctions", "status_1_isActive_1");
+            dropIndexIfExists(db, "users", "role_1");
+            dropIndexIfExists(db, "products", "isSold_1_isAvailable_1");
+            dropIndexIfExists(db, "transactions", "transactionDate_1");
+            
             db.getCollection("users").createIndex(new org.bson.Document("username", 1));
             db.getCollection("users").createIndex(new org.bson.Document("email", 1));
+            // Seller directory ranked by rating; also serves {role} (users by role)
+            db.getCollection("users").createIndex(new org.bson.Document("role", 1).append("rating", -1).append("_id", -1));
+            // Keyset-paged user listings: (registrationDate, _id) newest first, over all users or one role
+            db.getCollection("users").createIndex(new org.bson.Document("registrationDate", -1).append("_id", -1));
+            db.getCollection("users").createIndex(new org.bson.Document("role", 1).append("registrationDate", -1).append("_id", -1));
             
             db.getCollection("products").createIndex(new org.bson.Document("category", 1));
             db.getCollection("products").createIndex(new org.bson.Document("sellerId", 1));
+            // Keyset-paged product listings: all products and the available ones by (dateAdded, _id),
+            // sold ones by (dateSold, _id), newest first. The second also serves the {isSold} and
+            // {isSold, isAvailable} counts
+            db.getCollection("products").createIndex(new org.bson.Document("dateAdded", -1).append("_id", -1));
+            db.getCollection("products").createIndex(new org.bson.Document("isSold", 1).append("isAvailable", 1)
+                .append("dateAdded", -1).append("_id", -1));
+            db.getCollection("products").createIndex(new org.bson.Document("isSold", 1).append("dateSold", -1).append("_id", -1));
+            // Product search; weights rank a name match above a category match above a description match
+            db.getCollection("products").createIndex(
+                new org.bson.Document("name", "text").append("category", "text").append("description", "text"),
+                new IndexOptions().name("product_text")
+                    .weights(new org.bson.Document("name", 10).append("category", 5).append("description", 1)));
             
             db.getCollection("auctions").createIndex(new org.bson.Document("productId", 1));
-            db.getCollection("auctions").createIndex(new org.bson.Document("endTime", 1));
+            db.getCollection("auctions").createIndex(new org.bson.Document("sellerId", 1));
+            // Keyset-paged auction listings: (createdAt, _id) newest first, over all or only running auctions.
+            // The second also serves {isActive, status} (active listing) and {status} (completed listing)
+            db.getCollection("auctions").createIndex(new org.bson.Document("createdAt", -1).append("_id", -1));
+            db.getCollection("auctions").createIndex(new org.bson.Document("status", 1).append("isActive", 1)
+                .append("createdAt", -1).append("_id", -1));
+            // Expiry sweep: only running auctions are ever searched by deadline
+            db.getCollection("auctions").createIndex(new org.bson.Document("endTime", 1),
+                new IndexOptions().name("active_endTime").partialFilterExpression(eq("isActive", true)));
+            // Claimed-by-sweep lookup; the token only exists while a sweep is completing the auction
+            db.getCollection("auctions").createIndex(new org.bson.Document("sweepToken", 1),
+                new IndexOptions().name("claimed_sweepToken").partialFilterExpression(exists("sweepToken")));
             
-            db.getCollection("bids").createIndex(new org.bson.Document("auctionId", 1));
-            db.getCollection("bids").createIndex(new org.bson.Document("bidderId", 1));
+            // Keyset-paged bid history: equality on the owner, then (bidTime, _id) newest first
+            db.getCollection("bids").createIndex(new org.bson.Document("auctionId", 1).append("bidTime", -1).append("_id", -1));
+            db.getCollection("bids").createIndex(new org.bson.Document("bidderId", 1).append("bidTime", -1).append("_id", -1));
             
-            db.getCollection("transactions").createIndex(new org.bson.Document("buyerId", 1));
-            db.getCollection("transactions").createIndex(new org.bson.Document("sellerId", 1));
-            db.getCollection("transactions").createIndex(new org.bson.Document("transactionDate", 1));
+            // Every transaction listing is sorted newest first
+            db.getCollection("transactions").createIndex(new org.bson.Document("buyerId", 1).append("transactionDate", -1));
+            db.getCollection("transactions").createIndex(new org.bson.Document("sellerId", 1).append("transactionDate", -1));
+            db.getCollection("transactions").createIndex(new org.bson.Document("status", 1).append("transactionDate", -1));
+            db.getCollection("transactions").createIndex(new org.bson.Document("transactionType", 1).append("transactionDate", -1));
+            // Keyset-paged listing of all transactions, also scanned for a date range
+            db.getCollection("transactions").createIndex(new org.bson.Document("transactionDate", -1).append("_id", -1));
+            
+            // One analytics bucket per key, upserted by checkout; reports scan it by (granularity, start) range
+            db.getCollection("activity_buckets").createIndex(new org.bson.Document("granularity", 1).append("start", 1)
+                .append("transactionType", 1).append("status", 1).append("category", 1),
+                new IndexOptions().unique(true));
             
         } catch (Exception e) {
             System.err.println("Failed to create indexes: " + e.getMessage());
         }
     }
+    
+    private static void dropIndexIfExists(MongoDatabase db, String collection, String indexName) {
+        try {
+            db.getCollection(collection).dropIndex(indexName);
+        } catch (MongoCommandException e) {
+            // 27 = IndexNotFound, 26 = NamespaceNotFound (collection not created yet)
+            if (e.getErrorCode() != 27 && e.getErrorCode() != 26) {
+                throw e;
+            }
+        }
+    }
 }
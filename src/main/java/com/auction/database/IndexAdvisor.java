@@ -0,0 +1,226 @@
+package com.auction.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.text;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Sorts.orderBy;
+
+/**
+ * Startup index check: explains the query shape of every service query and reports
+ * the ones the planner answers with a collection scan or an in-memory sort.
+ *
+ * Enabled with -Dindex.advisor=true. The shapes below mirror the service queries;
+ * add one here whenever a service gains a new query.
+ */
+public final class IndexAdvisor {
+    
+    private IndexAdvisor() {
+    }
+    
+    public static void runIfEnabled() {
+        if (Boolean.getBoolean("index.advisor")) {
+            try {
+                run();
+            } catch (Exception e) {
+                System.err.println("Index advisor failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    public static void run() throws DatabaseException {
+        System.out.println("\n=== INDEX ADVISOR ===");
+        int problems = 0;
+        
+        for (QueryShape shape : queryShapes()) {
+            FindIterable<Document> find = DatabaseConnection.getCollection(shape.collection, Document.class)
+                .find(shape.filter);
+            if (shape.sort != null) {
+                find = find.sort(shape.sort);
+            }
+            Document explain = find.explain(Document.class, ExplainVerbosity.QUERY_PLANNER);
+            Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            
+            Set<String> stages = new LinkedHashSet<>();
+            Set<String> indexes = new LinkedHashSet<>();
+            collectStages(winningPlan, stages, indexes);
+            
+            List<String> findings = new ArrayList<>();
+            if (stages.contains("COLLSCAN") && !shape.fullListing) {
+                findings.add("COLLECTION SCAN");
+            }
+            if (stages.contains("SORT")) {
+                findings.add("IN-MEMORY SORT");
+            }
+            problems += findings.isEmpty() ? 0 : 1;
+            
+            System.out.printf("%-16s %-48s %s%n",
+                findings.isEmpty() ? "OK" : String.join(" + ", findings),
+                shape.name,
+                indexes.isEmpty() ? (stages.contains("COLLSCAN") ? "(full scan)" : "") : "using " + String.join(", ", indexes));
+        }
+        
+        System.out.println(problems == 0
+            ? "All service queries are index-backed."
+            : problems + " query shape(s) need an index - see DatabaseConnection.createIndexes().");
+    }
+    
+    /**
+     * Walks the plan tree (classic and slot-based engine layouts) collecting stage names
+     * and the indexes scanned
+     */
+    private static void collectStages(Object node, Set<String> stages, Set<String> indexes) {
+        if (node instanceof Document) {
+            Document doc = (Document) node;
+            Object stage = doc.get("stage");
+            if (stage instanceof String) {
+                stages.add((String) stage);
+                if ("IXSCAN".equals(stage) && doc.getString("indexName") != null) {
+                    indexes.add(doc.getString("indexName"));
+                }
+            }
+            for (Object child : doc.values()) {
+                collectStages(child, stages, indexes);
+            }
+        } else if (node instanceof List) {
+            for (Object child : (List<?>) node) {
+                collectStages(child, stages, indexes);
+            }
+        }
+    }
+    
+    private static List<QueryShape> queryShapes() {
+        ObjectId id = new ObjectId();
+        Date now = new Date();
+        Bson newestBidsFirst = orderBy(descending("bidTime"), descending("_id"));
+        Bson listingOrder = orderBy(descending("createdAt"), descending("_id"));
+        Bson newestUsersFirst = orderBy(descending("registrationDate"), descending("_id"));
+        Bson newestProductsFirst = orderBy(descending("dateAdded"), descending("_id"));
+        Bson newestTransactionsFirst = orderBy(descending("transactionDate"), descending("_id"));
+        
+        return Arrays.asList(
+            new QueryShape("UserService.findUserByUsername", "users", eq("username", "x"), null),
+            new QueryShape("UserService.emailExists", "users", eq("email", "x"), null),
+            new QueryShape("AdminService.getUsersByRole", "users", eq("role", "BUYER"), null),
+            new QueryShape("UserService.getAllUsers", "users", new Document(), null).fullListing(),
+            new QueryShape("UserService.getAllUsers (page)", "users", afterCursor("registrationDate", now, id),
+                newestUsersFirst),
+            new QueryShape("AdminService.getUsersByRole (page)", "users",
+                and(eq("role", "BUYER"), afterCursor("registrationDate", now, id)), newestUsersFirst),
+            new QueryShape("UserService.getSellerDirectory (by rating)", "users",
+                and(eq("role", "SELLER"), or(lt("rating", 4.5), and(eq("rating", 4.5), lt("_id", id)))),
+                orderBy(descending("rating"), descending("_id"))),
+            new QueryShape("UserService.getSellerDirectory (by products)", "users",
+                and(in("_id", id), eq("role", "SELLER")), null),
+            new QueryShape("UserService.getSellerDirectory (product counts)", "products", in("sellerId", id), null),
+            
+            new QueryShape("ProductService.getProductsByCategory", "products", eq("category", "x"), null),
+            new QueryShape("ProductService.getProductsBySellerId", "products", eq("sellerId", id), null),
+            new QueryShape("ProductService.getAvailableProducts", "products",
+                and(eq("isAvailable", true), eq("isSold", false)), null),
+            new QueryShape("ProductService.getSoldProducts", "products", eq("isSold", true), null),
+            new QueryShape("ProductService.getAllProducts", "products", new Document(), null).fullListing(),
+            new QueryShape("ProductService.getAllProducts (page)", "products", afterCursor("dateAdded", now, id),
+                newestProductsFirst),
+            new QueryShape("ProductService.getAvailableProducts (page)", "products",
+                and(eq("isSold", false), eq("isAvailable", true), afterCursor("dateAdded", now, id)), newestProductsFirst),
+            new QueryShape("ProductService.getSoldProducts (page)", "products",
+                and(eq("isSold", true), afterCursor("dateSold", now, id)), orderBy(descending("dateSold"), descending("_id"))),
+            new QueryShape("ProductService.search", "products",
+                and(text("x"), eq("isAvailable", true), eq("isSold", false)), null),
+            
+            new QueryShape("AuctionService.getAllAuctions", "auctions", new Document(), descending("createdAt")).fullListing(),
+            new QueryShape("AuctionService.getAllAuctions (page)", "auctions", afterCursor("createdAt", now, id), listingOrder),
+            new QueryShape("AuctionService.getActiveAuctions", "auctions",
+                and(eq("isActive", true), eq("status", "ACTIVE")), null),
+            new QueryShape("AuctionService.getCompletedAuctions", "auctions", eq("status", "COMPLETED"), null),
+            new QueryShape("AuctionService.getAuctionListings (all)", "auctions",
+                or(lt("createdAt", now), and(eq("createdAt", now), lt("_id", id))), listingOrder),
+            new QueryShape("AuctionService.getAuctionListings (active)", "auctions",
+                and(eq("isActive", true), eq("status", "ACTIVE")), listingOrder),
+            new QueryShape("AuctionService.getAuctionsBySellerId", "auctions", eq("sellerId", id), null),
+            new QueryShape("AuctionService.completeExpiredAuctions (claim)", "auctions",
+                and(eq("isActive", true), lt("endTime", now),
+                    or(exists("sweepToken", false), lt("sweepClaimedAt", now))), null),
+            new QueryShape("AuctionService.completeExpiredAuctions (read)", "auctions", eq("sweepToken", id), null),
+            new QueryShape("AuctionService.getBidsByAuctionId", "bids", eq("auctionId", id), newestBidsFirst),
+            new QueryShape("AuctionService.getBidsByBidderId", "bids", eq("bidderId", id), newestBidsFirst),
+            new QueryShape("AuctionService winning bid lookup", "auctions", in("_id", id), null),
+            
+            new QueryShape("TransactionService.getAllTransactions", "transactions", new Document(),
+                descending("transactionDate")).fullListing(),
+            new QueryShape("TransactionService.getAllTransactions (page)", "transactions",
+                afterCursor("transactionDate", now, id), newestTransactionsFirst),
+            new QueryShape("TransactionService.getTransactionsByBuyerId", "transactions", eq("buyerId", id),
+                descending("transactionDate")),
+            new QueryShape("TransactionService.getTransactionsBySellerId", "transactions", eq("sellerId", id),
+                descending("transactionDate")),
+            new QueryShape("TransactionService.getTransactionsByDateRange", "transactions",
+                and(gte("transactionDate", now), lte("transactionDate", now)), descending("transactionDate")),
+            new QueryShape("TransactionService.getTransactionsByDateRange (page)", "transactions",
+                and(gte("transactionDate", now), lte("transactionDate", now), afterCursor("transactionDate", now, id)),
+                newestTransactionsFirst),
+            new QueryShape("TransactionService.getTransactionsByType", "transactions", eq("transactionType", "x"),
+                descending("transactionDate")),
+            new QueryShape("TransactionService.getTransactionsByStatus", "transactions", eq("status", "COMPLETED"),
+                descending("transactionDate")),
+            new QueryShape("StatisticsService revenue by status", "transactions", in("status", "COMPLETED", "PENDING"), null),
+            new QueryShape("StatisticsService.getActivityReport", "activity_buckets",
+                or(and(eq("granularity", "DAY"), gte("start", now), lt("start", now)),
+                    and(eq("granularity", "HOUR"), gte("start", now), lt("start", now))), null),
+            new QueryShape("Checkout activity bucket upsert", "activity_buckets",
+                and(eq("granularity", "HOUR"), eq("start", now), eq("transactionType", "PURCHASE"),
+                    eq("status", "COMPLETED"), eq("category", "x")), null));
+    }
+    
+    /**
+     * The keyset filter of a page after the first, as built by the repositories
+     */
+    private static Bson afterCursor(String field, Date value, ObjectId id) {
+        return or(lt(field, value), and(eq(field, value), lt("_id", id)), eq(field, null));
+    }
+    
+    private static final class QueryShape {
+        private final String name;
+        private final String collection;
+        private final Bson filter;
+        private final Bson sort;
+        private boolean fullListing;
+        
+        QueryShape(String name, String collection, Bson filter, Bson sort) {
+            this.name = name;
+            this.collection = collection;
+            this.filter = filter;
+            this.sort = sort;
+        }
+        
+        /**
+         * Marks a deliberate whole-collection read, where a collection scan is expected
+         */
+        QueryShape fullListing() {
+            this.fullListing = true;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.auction.database.codecs;
+
+import java.time.LocalDateTime;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import com.auction.models.Auction;
+
+/**
+ * Encodes and decodes Auction straight to and from the "auctions" collection.
+ * Fields it does not know (e.g. the expiry sweep's claim token) are skipped.
+ */
+public class AuctionCodec implements Codec<Auction> {
+    
+    @Override
+    public void encode(BsonWriter writer, Auction auction, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeObjectId("_id", auction.getId());
+        BsonFields.writeObjectId(writer, "productId", auction.getProductId());
+        BsonFields.writeObjectId(writer, "sellerId", auction.getSellerId());
+        writer.writeDouble("startingPrice", auction.getStartingPrice());
+        writer.writeDouble("currentHighestBid", auction.getCurrentHighestBid());
+        BsonFields.writeObjectId(writer, "currentHighestBidderId", auction.getCurrentHighestBidderId());
+        BsonFields.writeObjectId(writer, "currentHighestBidId", auction.getCurrentHighestBidId());
+        writer.writeBoolean("isActive", auction.isActive());
+        writer.writeBoolean("isCompleted", auction.isCompleted());
+        BsonFields.writeString(writer, "status", auction.getStatus());
+        writer.writeInt32("totalBids", auction.getTotalBids());
+        writer.writeInt64("durationMinutes", auction.getDurationMinutes());
+        BsonFields.writeDate(writer, "startTime", auction.getStartTime());
+        BsonFields.writeDate(writer, "endTime", auction.getEndTime());
+        BsonFields.writeDate(writer, "createdAt", auction.getCreatedAt());
+        writer.writeEndDocument();
+    }
+    
+    @Override
+    public Auction decode(BsonReader reader, DecoderContext decoderContext) {
+        Auction auction = Auction.forDecoding(); // durationMinutes defaults to 60 if not stored
+        
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    auction.setId(reader.readObjectId());
+                    break;
+                case "productId":
+                    auction.setProductId(BsonFields.readObjectId(reader));
+                    break;
+                case "sellerId":
+                    auction.setSellerId(BsonFields.readObjectId(reader));
+                    break;
+                case "startingPrice":
+                    auction.setStartingPrice(BsonFields.readDouble(reader, 0.0));
+                    break;
+                case "currentHighestBid":
+                    auction.setCurrentHighestBid(BsonFields.readDouble(reader, 0.0));
+                    break;
+                case "currentHighestBidderId":
+                    auction.setCurrentHighestBidderId(BsonFields.readObjectId(reader));
+                    break;
+                case "currentHighestBidId":
+                    auction.setCurrentHighestBidId(BsonFields.readObjectId(reader));
+                    break;
+                case "isActive":
+                    auction.setActive(BsonFields.readBoolean(reader, false));
+                    break;
+                case "isCompleted":
+                    auction.setCompleted(BsonFields.readBoolean(reader, false));
+                    break;
+                case "status":
+                    auction.setStatus(BsonFields.readString(reader));
+                    break;
+                case "totalBids":
+                    auction.setTotalBids(BsonFields.readInt(reader, 0));
+                    break;
+                case "durationMinutes":
+                    auction.setDurationMinutes(BsonFields.readLong(reader, 60L));
+                    break;
+                case "startTime":
+                    auction.setStartTime(BsonFields.readDate(reader));
+                    break;
+                case "endTime":
+                    auction.setEndTime(BsonFields.readDate(reader));
+                    break;
+                case "createdAt":
+                    auction.setCreatedAt(BsonFields.readDate(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        
+        if (auction.getCreatedAt() == null) {
+            auction.setCreatedAt(LocalDateTime.now());
+        }
+        return auction;
+    }
+    
+    @Override
+    public Class<Auction> getEncoderClass() {
+        return Auction.class;
+    }
+}
@@ -0,0 +1,69 @@
+package com.auction.database.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import com.auction.models.Bid;
+
+/**
+ * Encodes and decodes Bid for the "bids" collection.
+ * isWinning is not stored - callers derive it from the auction's currentHighestBidId -
+ * and a legacy stored isWinning field is ignored.
+ */
+public class BidCodec implements Codec<Bid> {
+    
+    @Override
+    public void encode(BsonWriter writer, Bid bid, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeObjectId("_id", bid.getId());
+        BsonFields.writeObjectId(writer, "auctionId", bid.getAuctionId());
+        BsonFields.writeObjectId(writer, "bidderId", bid.getBidderId());
+        writer.writeDouble("bidAmount", bid.getBidAmount());
+        BsonFields.writeString(writer, "bidderName", bid.getBidderName());
+        BsonFields.writeDate(writer, "bidTime", bid.getBidTime());
+        writer.writeEndDocument();
+    }
+    
+    @Override
+    public Bid decode(BsonReader reader, DecoderContext decoderContext) {
+        Bid bid = new Bid();
+        
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    bid.setId(reader.readObjectId());
+                    break;
+                case "auctionId":
+                    bid.setAuctionId(BsonFields.readObjectId(reader));
+                    break;
+                case "bidderId":
+                    bid.setBidderId(BsonFields.readObjectId(reader));
+                    break;
+                case "bidAmount":
+                    bid.setBidAmount(BsonFields.readDouble(reader, 0.0));
+                    break;
+                case "bidderName":
+                    bid.setBidderName(BsonFields.readString(reader));
+                    break;
+                case "bidTime":
+                    bid.setBidTime(BsonFields.readDate(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        
+        return bid;
+    }
+    
+    @Override
+    public Class<Bid> getEncoderClass() {
+        return Bid.class;
+    }
+}
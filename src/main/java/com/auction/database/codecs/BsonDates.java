@@ -0,0 +1,104 @@
+package com.auction.database.codecs;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+
+/**
+ * Converts between the models' LocalDateTime fields and BSON date-times (epoch millis)
+ * in the system default zone, which is how every date in the database has been stored.
+ *
+ * Instead of going through ZoneId.systemDefault().atZone(...) for every value, the offset
+ * that is in force between two zone transitions is cached, so the common case is plain
+ * arithmetic. Local times inside a DST gap or overlap fall back to the zone rules, giving
+ * exactly the same answer as LocalDateTime.atZone(zone).
+ */
+public final class BsonDates {
+    
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    
+    private static volatile OffsetWindow window = OffsetWindow.around(Instant.now());
+    
+    private BsonDates() {
+    }
+    
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        OffsetWindow current = window;
+        if (!current.containsLocal(dateTime)) {
+            Instant instant = dateTime.atZone(ZONE).toInstant();
+            current = OffsetWindow.around(instant);
+            window = current;
+            if (!current.containsLocal(dateTime)) {
+                // DST gap or overlap: let the zone rules pick the offset
+                return instant.toEpochMilli();
+            }
+        }
+        return dateTime.toEpochSecond(current.offset) * 1000L + dateTime.getNano() / 1_000_000;
+    }
+    
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        OffsetWindow current = window;
+        if (!current.containsInstant(epochMillis)) {
+            current = OffsetWindow.around(Instant.ofEpochMilli(epochMillis));
+            window = current;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+            (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, current.offset);
+    }
+    
+    public static Date toDate(LocalDateTime dateTime) {
+        return dateTime != null ? new Date(toEpochMillis(dateTime)) : null;
+    }
+    
+    public static LocalDateTime toLocalDateTime(Date date) {
+        return date != null ? toLocalDateTime(date.getTime()) : null;
+    }
+    
+    /**
+     * The span between two zone transitions during which one offset applies
+     */
+    private static final class OffsetWindow {
+        private final ZoneOffset offset;
+        private final long startMillis;
+        private final long endMillis;
+        private final LocalDateTime localStart;
+        private final LocalDateTime localEnd;
+        
+        private OffsetWindow(ZoneOffset offset, ZoneOffsetTransition previous, ZoneOffsetTransition next) {
+            this.offset = offset;
+            this.startMillis = previous != null ? previous.getInstant().toEpochMilli() : Long.MIN_VALUE;
+            this.endMillis = next != null ? next.getInstant().toEpochMilli() : Long.MAX_VALUE;
+            // Local times are unambiguous only after the previous transition's gap/overlap
+            // has passed and before the next one begins
+            this.localStart = previous != null ? later(previous.getDateTimeBefore(), previous.getDateTimeAfter()) : LocalDateTime.MIN;
+            this.localEnd = next != null ? earlier(next.getDateTimeBefore(), next.getDateTimeAfter()) : LocalDateTime.MAX;
+        }
+        
+        static OffsetWindow around(Instant instant) {
+            ZoneRules rules = ZONE.getRules();
+            return new OffsetWindow(rules.getOffset(instant),
+                rules.previousTransition(instant.plusNanos(1)),
+                rules.nextTransition(instant));
+        }
+        
+        boolean containsInstant(long epochMillis) {
+            return epochMillis >= startMillis && epochMillis < endMillis;
+        }
+        
+        boolean containsLocal(LocalDateTime dateTime) {
+            return !dateTime.isBefore(localStart) && dateTime.isBefore(localEnd);
+        }
+        
+        private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+            return a.isAfter(b) ? a : b;
+        }
+        
+        private static LocalDateTime earlier(LocalDateTime a, LocalDateTime b) {
+            return a.isBefore(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.auction.database.codecs;
+
+import java.time.LocalDateTime;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.types.ObjectId;
+
+/**
+ * Null-tolerant field readers and writers shared by the model codecs.
+ *
+ * Numeric readers accept any BSON number type, so documents written by older code
+ * or by hand (e.g. an int32 where a double is expected) still decode.
+ */
+final class BsonFields {
+    
+    private BsonFields() {
+    }
+    
+    static void writeObjectId(BsonWriter writer, String name, ObjectId value) {
+        if (value != null) {
+            writer.writeObjectId(name, value);
+        } else {
+            writer.writeNull(name);
+        }
+    }
+    
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        } else {
+            writer.writeNull(name);
+        }
+    }
+    
+    /**
+     * Writes the date, or nothing at all when it is null
+     */
+    static void writeDate(BsonWriter writer, String name, LocalDateTime value) {
+        if (value != null) {
+            writer.writeDateTime(name, BsonDates.toEpochMillis(value));
+        }
+    }
+    
+    static ObjectId readObjectId(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return reader.readObjectId();
+    }
+    
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return reader.readString();
+    }
+    
+    static LocalDateTime readDate(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return BsonDates.toLocalDateTime(reader.readDateTime());
+    }
+    
+    static boolean readBoolean(BsonReader reader, boolean defaultValue) {
+        if (reader.getCurrentBsonType() != BsonType.BOOLEAN) {
+            reader.skipValue();
+            return defaultValue;
+        }
+        return reader.readBoolean();
+    }
+    
+    static double readDouble(BsonReader reader, double defaultValue) {
+        switch (reader.getCurrentBsonType()) {
+            case DOUBLE:
+                return reader.readDouble();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DECIMAL128:
+                return reader.readDecimal128().doubleValue();
+            default:
+                reader.skipValue();
+                return defaultValue;
+        }
+    }
+    
+    static long readLong(BsonReader reader, long defaultValue) {
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                return reader.readInt64();
+            case INT32:
+                return reader.readInt32();
+            case DOUBLE:
+                return (long) reader.readDouble();
+            default:
+                reader.skipValue();
+                return defaultValue;
+        }
+    }
+    
+    static int readInt(BsonReader reader, int defaultValue) {
+        return (int) readLong(reader, defaultValue);
+    }
+}
@@ -0,0 +1,32 @@
+package com.auction.database.codecs;
+
+import java.time.LocalDateTime;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * LocalDateTime as a BSON date-time in the system default zone.
+ * Replaces the driver's default codec (which uses UTC), so a LocalDateTime passed in a
+ * query filter matches the dates the model codecs store.
+ */
+public class LocalDateTimeCodec implements Codec<LocalDateTime> {
+    
+    @Override
+    public void encode(BsonWriter writer, LocalDateTime value, EncoderContext encoderContext) {
+        writer.writeDateTime(BsonDates.toEpochMillis(value));
+    }
+    
+    @Override
+    public LocalDateTime decode(BsonReader reader, DecoderContext decoderContext) {
+        return BsonDates.toLocalDateTime(reader.readDateTime());
+    }
+    
+    @Override
+    public Class<LocalDateTime> getEncoderClass() {
+        return LocalDateTime.class;
+    }
+}
@@ -0,0 +1,64 @@
+package com.auction.database.codecs;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+import com.auction.models.Product;
+import com.auction.models.Transaction;
+import com.auction.models.User;
+import com.mongodb.MongoClientSettings;
+
+/**
+ * Codec registry for the model classes, layered over the driver defaults.
+ * Installed on the MongoClient by DatabaseConfig, so collections can be opened
+ * typed (e.g. getCollection("auctions", Auction.class)) and decode without an
+ * intermediate Document.
+ */
+public final class ModelCodecs {
+    
+    public static final AuctionCodec AUCTION = new AuctionCodec();
+    public static final BidCodec BID = new BidCodec();
+    public static final ProductCodec PRODUCT = new ProductCodec();
+    public static final TransactionCodec TRANSACTION = new TransactionCodec();
+    public static final UserCodec USER = new UserCodec();
+    
+    public static final CodecRegistry REGISTRY = CodecRegistries.fromRegistries(
+        CodecRegistries.fromProviders(new ModelCodecProvider()),
+        MongoClientSettings.getDefaultCodecRegistry());
+    
+    private ModelCodecs() {
+    }
+    
+    private static final class ModelCodecProvider implements CodecProvider {
+        private final LocalDateTimeCodec localDateTime = new LocalDateTimeCodec();
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+            if (clazz == Auction.class) {
+                return (Codec<T>) AUCTION;
+            }
+            if (clazz == Bid.class) {
+                return (Codec<T>) BID;
+            }
+            if (clazz == Product.class) {
+                return (Codec<T>) PRODUCT;
+            }
+            if (clazz == Transaction.class) {
+                return (Codec<T>) TRANSACTION;
+            }
+            // Admin, Seller and Buyer all share the discriminating User codec
+            if (User.class.isAssignableFrom(clazz)) {
+                return (Codec<T>) USER;
+            }
+            if (clazz == java.time.LocalDateTime.class) {
+                return (Codec<T>) localDateTime;
+            }
+            return null;
+        }
+    }
+}
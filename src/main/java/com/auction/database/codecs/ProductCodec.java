@@ -0,0 +1,100 @@
+package com.auction.database.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import com.auction.models.Product;
+
+/**
+ * Encodes and decodes Product for the "products" collection
+ */
+public class ProductCodec implements Codec<Product> {
+    
+    @Override
+    public void encode(BsonWriter writer, Product product, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeObjectId("_id", product.getId());
+        BsonFields.writeString(writer, "name", product.getName());
+        BsonFields.writeString(writer, "description", product.getDescription());
+        BsonFields.writeString(writer, "category", product.getCategory());
+        writer.writeDouble("price", product.getPrice());
+        BsonFields.writeObjectId(writer, "sellerId", product.getSellerId());
+        writer.writeBoolean("isAvailable", product.isAvailable());
+        writer.writeBoolean("isSold", product.isSold());
+        BsonFields.writeString(writer, "imageUrl", product.getImageUrl());
+        BsonFields.writeString(writer, "condition", product.getCondition());
+        writer.writeInt32("quantity", product.getQuantity());
+        BsonFields.writeDate(writer, "dateAdded", product.getDateAdded());
+        // dateSold is always present (null until sold) so it can be queried for
+        if (product.getDateSold() != null) {
+            BsonFields.writeDate(writer, "dateSold", product.getDateSold());
+        } else {
+            writer.writeNull("dateSold");
+        }
+        writer.writeEndDocument();
+    }
+    
+    @Override
+    public Product decode(BsonReader reader, DecoderContext decoderContext) {
+        Product product = new Product();
+        
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    product.setId(reader.readObjectId());
+                    break;
+                case "name":
+                    product.setName(BsonFields.readString(reader));
+                    break;
+                case "description":
+                    product.setDescription(BsonFields.readString(reader));
+                    break;
+                case "category":
+                    product.setCategory(BsonFields.readString(reader));
+                    break;
+                case "price":
+                    product.setPrice(BsonFields.readDouble(reader, 0.0));
+                    break;
+                case "sellerId":
+                    product.setSellerId(BsonFields.readObjectId(reader));
+                    break;
+                case "isAvailable":
+                    product.setAvailable(BsonFields.readBoolean(reader, true));
+                    break;
+                case "isSold":
+                    product.setSold(BsonFields.readBoolean(reader, false));
+                    break;
+                case "imageUrl":
+                    product.setImageUrl(BsonFields.readString(reader));
+                    break;
+                case "condition":
+                    product.setCondition(BsonFields.readString(reader));
+                    break;
+                case "quantity":
+                    product.setQuantity(BsonFields.readInt(reader, 1));
+                    break;
+                case "dateAdded":
+                    product.setDateAdded(BsonFields.readDate(reader));
+                    break;
+                case "dateSold":
+                    product.setDateSold(BsonFields.readDate(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        
+        return product;
+    }
+    
+    @Override
+    public Class<Product> getEncoderClass() {
+        return Product.class;
+    }
+}
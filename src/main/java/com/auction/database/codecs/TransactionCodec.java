@@ -0,0 +1,108 @@
+package com.auction.database.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import com.auction.models.Transaction;
+
+/**
+ * Encodes and decodes Transaction for the "transactions" collection
+ */
+public class TransactionCodec implements Codec<Transaction> {
+    
+    @Override
+    public void encode(BsonWriter writer, Transaction transaction, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeObjectId("_id", transaction.getId());
+        BsonFields.writeObjectId(writer, "buyerId", transaction.getBuyerId());
+        BsonFields.writeObjectId(writer, "sellerId", transaction.getSellerId());
+        BsonFields.writeObjectId(writer, "productId", transaction.getProductId());
+        BsonFields.writeObjectId(writer, "auctionId", transaction.getAuctionId());
+        writer.writeDouble("amount", transaction.getAmount());
+        BsonFields.writeString(writer, "transactionType", transaction.getTransactionType());
+        BsonFields.writeString(writer, "paymentMethod", transaction.getPaymentMethod());
+        BsonFields.writeString(writer, "status", transaction.getStatus());
+        BsonFields.writeString(writer, "buyerName", transaction.getBuyerName());
+        BsonFields.writeString(writer, "sellerName", transaction.getSellerName());
+        BsonFields.writeString(writer, "productName", transaction.getProductName());
+        BsonFields.writeString(writer, "productCategory", transaction.getProductCategory());
+        BsonFields.writeString(writer, "notes", transaction.getNotes());
+        BsonFields.writeDate(writer, "transactionDate", transaction.getTransactionDate());
+        BsonFields.writeDate(writer, "completedDate", transaction.getCompletedDate());
+        writer.writeEndDocument();
+    }
+    
+    @Override
+    public Transaction decode(BsonReader reader, DecoderContext decoderContext) {
+        Transaction transaction = new Transaction();
+        transaction.setStatus(null);
+        
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    transaction.setId(reader.readObjectId());
+                    break;
+                case "buyerId":
+                    transaction.setBuyerId(BsonFields.readObjectId(reader));
+                    break;
+                case "sellerId":
+                    transaction.setSellerId(BsonFields.readObjectId(reader));
+                    break;
+                case "productId":
+                    transaction.setProductId(BsonFields.readObjectId(reader));
+                    break;
+                case "auctionId":
+                    transaction.setAuctionId(BsonFields.readObjectId(reader));
+                    break;
+                case "amount":
+                    transaction.setAmount(BsonFields.readDouble(reader, 0.0));
+                    break;
+                case "transactionType":
+                    transaction.setTransactionType(BsonFields.readString(reader));
+                    break;
+                case "paymentMethod":
+                    transaction.setPaymentMethod(BsonFields.readString(reader));
+                    break;
+                case "status":
+                    transaction.setStatus(BsonFields.readString(reader));
+                    break;
+                case "buyerName":
+                    transaction.setBuyerName(BsonFields.readString(reader));
+                    break;
+                case "sellerName":
+                    transaction.setSellerName(BsonFields.readString(reader));
+                    break;
+                case "productName":
+                    transaction.setProductName(BsonFields.readString(reader));
+                    break;
+                case "productCategory":
+                    transaction.setProductCategory(BsonFields.readString(reader));
+                    break;
+                case "notes":
+                    transaction.setNotes(BsonFields.readString(reader));
+                    break;
+                case "transactionDate":
+                    transaction.setTransactionDate(BsonFields.readDate(reader));
+                    break;
+                case "completedDate":
+                    transaction.setCompletedDate(BsonFields.readDate(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        
+        return transaction;
+    }
+    
+    @Override
+    public Class<Transaction> getEncoderClass() {
+        return Transaction.class;
+    }
+}
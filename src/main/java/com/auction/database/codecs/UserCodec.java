@@ -0,0 +1,182 @@
+package com.auction.database.codecs;
+
+import java.time.LocalDateTime;
+
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import com.auction.models.Admin;
+import com.auction.models.Buyer;
+import com.auction.models.Seller;
+import com.auction.models.User;
+
+/**
+ * Encodes and decodes the User hierarchy for the "users" collection.
+ * The stored "role" field picks the subclass; Seller and Buyer fields are only
+ * written for (and read into) those roles. Their id lists are not stored on the
+ * user (see RemoveUserIdArraysMigration); arrays left on old documents are skipped.
+ */
+public class UserCodec implements Codec<User> {
+    
+    @Override
+    public void encode(BsonWriter writer, User user, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeObjectId("_id", user.getId());
+        BsonFields.writeString(writer, "username", user.getUsername());
+        BsonFields.writeString(writer, "email", user.getEmail());
+        BsonFields.writeString(writer, "password", user.getPassword());
+        BsonFields.writeString(writer, "role", user.getRole());
+        BsonFields.writeString(writer, "firstName", user.getFirstName());
+        BsonFields.writeString(writer, "lastName", user.getLastName());
+        BsonFields.writeString(writer, "phoneNumber", user.getPhoneNumber());
+        writer.writeBoolean("isActive", user.isActive());
+        BsonFields.writeDate(writer, "registrationDate",
+            user.getRegistrationDate() != null ? user.getRegistrationDate() : LocalDateTime.now());
+        
+        if (user instanceof Seller) {
+            Seller seller = (Seller) user;
+            writer.writeDouble("totalEarnings", seller.getTotalEarnings());
+            writer.writeInt32("totalProductsSold", seller.getTotalProductsSold());
+            writer.writeDouble("rating", seller.getRating());
+            writer.writeInt32("totalRatings", seller.getTotalRatings());
+        } else if (user instanceof Buyer) {
+            Buyer buyer = (Buyer) user;
+            writer.writeDouble("totalSpent", buyer.getTotalSpent());
+            writer.writeInt32("totalPurchases", buyer.getTotalPurchases());
+        }
+        writer.writeEndDocument();
+    }
+    
+    @Override
+    public User decode(BsonReader reader, DecoderContext decoderContext) {
+        User user = newUserForRole(readRole(reader));
+        
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (!readCommonField(reader, name, user)
+                    && !(user instanceof Seller && readSellerField(reader, name, (Seller) user))
+                    && !(user instanceof Buyer && readBuyerField(reader, name, (Buyer) user))) {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        
+        // Decoding goes through the setters; a freshly read user has nothing to save
+        user.getChanges().clear();
+        return user;
+    }
+    
+    @Override
+    public Class<User> getEncoderClass() {
+        return User.class;
+    }
+    
+    /**
+     * Scans ahead for the role discriminator, then rewinds the reader to the start of the document
+     */
+    private String readRole(BsonReader reader) {
+        BsonReaderMark mark = reader.getMark();
+        String role = null;
+        
+        reader.readStartDocument();
+        while (role == null && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if ("role".equals(reader.readName()) && reader.getCurrentBsonType() == BsonType.STRING) {
+                role = reader.readString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        mark.reset();
+        
+        return role;
+    }
+    
+    private User newUserForRole(String role) {
+        switch (role != null ? role : "") {
+            case "ADMIN":
+                return new Admin();
+            case "SELLER":
+                return new Seller();
+            case "BUYER":
+                return new Buyer();
+            default:
+                throw new IllegalArgumentException("Unknown user role: " + role);
+        }
+    }
+    
+    private boolean readCommonField(BsonReader reader, String name, User user) {
+        switch (name) {
+            case "_id":
+                user.setId(reader.readObjectId());
+                return true;
+            case "username":
+                user.setUsername(BsonFields.readString(reader));
+                return true;
+            case "email":
+                user.setEmail(BsonFields.readString(reader));
+                return true;
+            case "password":
+                user.setPassword(BsonFields.readString(reader));
+                return true;
+            case "role":
+                user.setRole(BsonFields.readString(reader));
+                return true;
+            case "firstName":
+                user.setFirstName(BsonFields.readString(reader));
+                return true;
+            case "lastName":
+                user.setLastName(BsonFields.readString(reader));
+                return true;
+            case "phoneNumber":
+                user.setPhoneNumber(BsonFields.readString(reader));
+                return true;
+            case "isActive":
+                user.setActive(BsonFields.readBoolean(reader, true));
+                return true;
+            case "registrationDate":
+                LocalDateTime registrationDate = BsonFields.readDate(reader);
+                user.setRegistrationDate(registrationDate != null ? registrationDate : LocalDateTime.now());
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    private boolean readSellerField(BsonReader reader, String name, Seller seller) {
+        switch (name) {
+            case "totalEarnings":
+                seller.setTotalEarnings(BsonFields.readDouble(reader, 0.0));
+                return true;
+            case "totalProductsSold":
+                seller.setTotalProductsSold(BsonFields.readInt(reader, 0));
+                return true;
+            case "rating":
+                seller.setRating(BsonFields.readDouble(reader, 0.0));
+                return true;
+            case "totalRatings":
+                seller.setTotalRatings(BsonFields.readInt(reader, 0));
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    private boolean readBuyerField(BsonReader reader, String name, Buyer buyer) {
+        switch (name) {
+            case "totalSpent":
+                buyer.setTotalSpent(BsonFields.readDouble(reader, 0.0));
+                return true;
+            case "totalPurchases":
+                buyer.setTotalPurchases(BsonFields.readInt(reader, 0));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.auction.database.migration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+
+import com.auction.database.DatabaseConnection;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+
+/**
+ * One-off migration for the currentHighestBidId auction field.
+ *
+ * Auctions created before bids stopped carrying their own isWinning flag have no
+ * currentHighestBidId. This sets it to the highest (then latest) bid of each such
+ * auction and finally drops the stale isWinning field from every bid.
+ *
+ * Safe to re-run: auctions that already have the reference are skipped.
+ * Run with: mvn exec:java -Dexec.mainClass="com.auction.database.migration.BackfillHighestBidIdMigration"
+ */
+public class BackfillHighestBidIdMigration {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    public static void main(String[] args) {
+        try {
+            System.out.println("=== Backfilling auction currentHighestBidId ===");
+            
+            MongoDatabase database = DatabaseConnection.getDatabase();
+            MongoCollection<Document> auctions = database.getCollection("auctions");
+            MongoCollection<Document> bids = database.getCollection("bids");
+            
+            // Highest bid per auction, ties broken by the most recent bid
+            List<Document> pipeline = Arrays.asList(
+                new Document("$sort", new Document("auctionId", 1).append("bidAmount", -1).append("bidTime", -1)),
+                new Document("$group", new Document("_id", "$auctionId").append("bidId", new Document("$first", "$_id"))));
+            
+            List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+            long matched = 0;
+            long updated = 0;
+            
+            for (Document top : bids.aggregate(pipeline).allowDiskUse(true)) {
+                batch.add(new UpdateOneModel<>(
+                    and(eq("_id", top.getObjectId("_id")), exists("currentHighestBidId", false)),
+                    new Document("$set", new Document("currentHighestBidId", top.getObjectId("bidId")))));
+                
+                if (batch.size() == BATCH_SIZE) {
+                    com.mongodb.bulk.BulkWriteResult result = auctions.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                    matched += result.getMatchedCount();
+                    updated += result.getModifiedCount();
+                    batch.clear();
+                }
+            }
+            
+            if (!batch.isEmpty()) {
+                com.mongodb.bulk.BulkWriteResult result = auctions.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                matched += result.getMatchedCount();
+                updated += result.getModifiedCount();
+            }
+            
+            System.out.println("Auctions needing backfill: " + matched);
+            System.out.println("Auctions updated: " + updated);
+            
+            long cleaned = bids.updateMany(exists("isWinning"),
+                new Document("$unset", new Document("isWinning", ""))).getModifiedCount();
+            System.out.println("Bids with stale isWinning removed: " + cleaned);
+            
+            System.out.println("Migration complete.");
+            
+        } catch (Exception e) {
+            System.err.println("Migration failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.auction.database.migration;
+
+import org.bson.Document;
+
+import com.auction.database.DatabaseConnection;
+import com.mongodb.client.MongoCollection;
+
+import static com.mongodb.client.model.Filters.exists;
+
+/**
+ * One-off migration that drops the single checkoutToken field from product documents.
+ *
+ * Checkouts used to stamp every product they bought from with one shared token field
+ * and never removed it. Standalone checkouts now keep a per-checkout checkoutTokens
+ * list that is emptied again when the checkout finishes, so the old field is unused.
+ *
+ * Safe to re-run: products without the field are not matched.
+ * Run with: mvn exec:java -Dexec.mainClass="com.auction.database.migration.RemoveCheckoutTokenMigration"
+ */
+public class RemoveCheckoutTokenMigration {
+    
+    public static void main(String[] args) {
+        try {
+            System.out.println("=== Removing checkoutToken from product documents ===");
+            
+            MongoCollection<Document> products = DatabaseConnection.getDatabase().getCollection("products");
+            long stripped = products.updateMany(exists("checkoutToken"),
+                new Document("$unset", new Document("checkoutToken", ""))).getModifiedCount();
+            System.out.println("Products stripped: " + stripped);
+            
+            System.out.println("Migration complete.");
+        
+        } catch (Exception e) {
+            System.err.println("Migration failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
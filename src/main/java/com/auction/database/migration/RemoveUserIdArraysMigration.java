@@ -0,0 +1,54 @@
+package com.auction.database.migration;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.auction.database.DatabaseConnection;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.or;
+
+/**
+ * One-off migration that drops the embedded id arrays from user documents.
+ *
+ * Buyers used to carry bidIds, purchaseIds and transactionIds, and sellers productIds
+ * and transactionIds, each growing by one entry per bid, purchase or listing. Those
+ * relations are now read from the bids, transactions and products collections
+ * (by their bidderId, buyerId and sellerId indexes), so the arrays are dead weight
+ * on every login and user lookup.
+ *
+ * Safe to re-run: users without the arrays are not matched.
+ * Run with: mvn exec:java -Dexec.mainClass="com.auction.database.migration.RemoveUserIdArraysMigration"
+ */
+public class RemoveUserIdArraysMigration {
+    
+    public static void main(String[] args) {
+        try {
+            System.out.println("=== Removing id arrays from user documents ===");
+            
+            MongoDatabase database = DatabaseConnection.getDatabase();
+            MongoCollection<Document> users = database.getCollection("users");
+            
+            Bson withArrays = or(exists("bidIds"), exists("purchaseIds"), exists("transactionIds"), exists("productIds"));
+            Document unset = new Document()
+                .append("bidIds", "")
+                .append("purchaseIds", "")
+                .append("transactionIds", "")
+                .append("productIds", "");
+            
+            System.out.println("Users carrying id arrays: " + users.countDocuments(withArrays));
+            long stripped = users.updateMany(withArrays, new Document("$unset", unset)).getModifiedCount();
+            System.out.println("Users stripped: " + stripped);
+            
+            System.out.println("Migration complete.");
+            
+        } catch (Exception e) {
+            System.err.println("Migration failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.auction.engine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.AuctionException;
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+import com.auction.services.AuctionService;
+
+/**
+ * In-memory bid engine.
+ *
+ * Live auction state is split across a fixed number of shards. Each shard is a
+ * single thread that exclusively owns the auctions hashed to it, so bids for one
+ * auction are validated and ordered without locks or database round trips.
+ * Accepted bids go to the {@link GroupCommitter}, and the caller's future completes
+ * once the batch holding the bid has been written to MongoDB.
+ *
+ * Enabled with -Dbidengine.enabled=true; tuned with bidengine.shards,
+ * bidengine.batchSize and bidengine.lingerMillis.
+ */
+public class BidEngine {
+    
+    private static volatile BidEngine instance;
+    
+    private final ExecutorService[] shards;
+    private final List<Map<ObjectId, Auction>> liveAuctions;
+    private final GroupCommitter committer;
+    private final Thread committerThread;
+    private final AuctionService loader;
+    
+    BidEngine(AuctionService loader, int shardCount, int batchSize, long lingerMillis) {
+        this.loader = loader;
+        this.shards = new ExecutorService[shardCount];
+        this.liveAuctions = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            final int shard = i;
+            liveAuctions.add(new HashMap<>());
+            shards[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "bid-engine-shard-" + shard);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        
+        this.committer = new GroupCommitter(batchSize, lingerMillis, this::evict);
+        this.committerThread = new Thread(committer, "bid-engine-committer");
+        this.committerThread.setDaemon(true);
+        this.committerThread.start();
+    }
+    
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("bidengine.enabled");
+    }
+    
+    /**
+     * Returns the process-wide engine, starting it on first use
+     * @param loader service used to load an auction the first time it is bid on
+     */
+    public static BidEngine getInstance(AuctionService loader) {
+        if (instance == null) {
+            synchronized (BidEngine.class) {
+                if (instance == null) {
+                    instance = new BidEngine(loader,
+                        Integer.getInteger("bidengine.shards", Runtime.getRuntime().availableProcessors()),
+                        Integer.getInteger("bidengine.batchSize", 256),
+                        Long.getLong("bidengine.lingerMillis", 2L));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Stops the engine if it was started, flushing every accepted bid first
+     */
+    public static void shutdownIfRunning() {
+        BidEngine engine = instance;
+        if (engine != null) {
+            engine.shutdown();
+            instance = null;
+        }
+    }
+    
+    /**
+     * Submits a bid to the shard that owns its auction
+     * @return a future completing with the auction state once the bid is durable,
+     *         or exceptionally with an AuctionException (rejected) or DatabaseException (commit failed)
+     */
+    public CompletableFuture<Auction> submit(Bid bid) {
+        CompletableFuture<Auction> future = new CompletableFuture<>();
+        int shard = shardOf(bid.getAuctionId());
+        try {
+            shards[shard].execute(() -> apply(shard, bid, future));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    /**
+     * Drops the engine's copy of an auction so the next bid reloads it from the database.
+     * Runs on the owning shard, after any bids already queued there.
+     */
+    public void evict(ObjectId auctionId) {
+        int shard = shardOf(auctionId);
+        try {
+            shards[shard].execute(() -> liveAuctions.get(shard).remove(auctionId));
+        } catch (RuntimeException ignored) {
+            // Engine is shutting down; nothing left to evict from
+        }
+    }
+    
+    /**
+     * Runs on the shard thread only, so the shard's map needs no synchronization
+     */
+    private void apply(int shard, Bid bid, CompletableFuture<Auction> future) {
+        try {
+            Map<ObjectId, Auction> auctions = liveAuctions.get(shard);
+            Auction auction = auctions.get(bid.getAuctionId());
+            if (auction == null) {
+                auction = loader.findAuctionById(bid.getAuctionId().toString());
+                if (auction == null) {
+                    throw new AuctionException("Auction not found");
+                }
+                auctions.put(auction.getId(), auction);
+            }
+            
+            if (!auction.isActive()) {
+                auctions.remove(auction.getId());
+                throw new AuctionException("Auction is not active");
+            }
+            
+            if (auction.hasEnded()) {
+                auctions.remove(auction.getId());
+                throw new AuctionException("Auction has ended");
+            }
+            
+            if (bid.getBidAmount() <= auction.getCurrentHighestBid()) {
+                throw new AuctionException("Bid amount must be higher than current highest bid");
+            }
+            
+            LocalDateTime now = LocalDateTime.now();
+            bid.setBidTime(now);
+            
+            auction.setCurrentHighestBid(bid.getBidAmount());
+            auction.setCurrentHighestBidderId(bid.getBidderId());
+            auction.setCurrentHighestBidId(bid.getId());
+            auction.setTotalBids(auction.getTotalBids() + 1);
+            // **AUCTION TIME RESET FEATURE** - same rule as AuctionServiceImpl.acceptBid
+            auction.setEndTime(now.plusMinutes(auction.getDurationMinutes()));
+            
+            committer.enqueue(new PendingBid(bid, snapshot(auction), future));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+    
+    private int shardOf(ObjectId auctionId) {
+        return Math.floorMod(auctionId.hashCode(), shards.length);
+    }
+    
+    /**
+     * Copies the shard-owned auction so the committer and callers never see later mutations
+     */
+    private static Auction snapshot(Auction source) {
+        Auction copy = new Auction();
+        copy.setId(source.getId());
+        copy.setProductId(source.getProductId());
+        copy.setSellerId(source.getSellerId());
+        copy.setStartingPrice(source.getStartingPrice());
+        copy.setCurrentHighestBid(source.getCurrentHighestBid());
+        copy.setCurrentHighestBidderId(source.getCurrentHighestBidderId());
+        copy.setCurrentHighestBidId(source.getCurrentHighestBidId());
+        copy.setStartTime(source.getStartTime());
+        copy.setEndTime(source.getEndTime());
+        copy.setActive(source.isActive());
+        copy.setCompleted(source.isCompleted());
+        copy.setStatus(source.getStatus());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setTotalBids(source.getTotalBids());
+        copy.setDurationMinutes(source.getDurationMinutes());
+        return copy;
+    }
+    
+    private void shutdown() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        try {
+            for (ExecutorService shard : shards) {
+                shard.awaitTermination(5, TimeUnit.SECONDS);
+            }
+            committer.stop();
+            committerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
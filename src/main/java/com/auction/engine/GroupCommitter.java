@@ -0,0 +1,143 @@
+package com.auction.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
+
+import com.auction.cache.EntityCaches;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Bid;
+import com.auction.repository.BidBatchUpdate;
+import com.auction.repository.Repositories;
+
+/**
+ * Drains accepted bids from every shard and writes them to storage in batches.
+ * With MongoDB one batch costs one insertMany on "bids" plus one bulkWrite on
+ * "auctions", however many bids it carries.
+ */
+class GroupCommitter implements Runnable {
+    
+    private final BlockingQueue<PendingBid> queue = new LinkedBlockingQueue<>();
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final Consumer<ObjectId> onConflict;
+    private volatile boolean running = true;
+    
+    GroupCommitter(int maxBatchSize, long lingerMillis, Consumer<ObjectId> onConflict) {
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.onConflict = onConflict;
+    }
+    
+    void enqueue(PendingBid pending) {
+        queue.add(pending);
+    }
+    
+    void stop() {
+        running = false;
+    }
+    
+    @Override
+    public void run() {
+        List<PendingBid> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBid first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // Give concurrent bidders a moment to join this batch
+                if (lingerMillis > 0 && queue.size() < maxBatchSize - 1) {
+                    Thread.sleep(lingerMillis);
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Writes one batch. Bids for the same auction collapse into a single auction update
+     * carrying the latest state, guarded on the highest bid the batch started from, so a
+     * writer outside the engine that got in first makes that auction's bids fail instead
+     * of being overwritten. The guard also checks the stored end time against the first
+     * bid's time, so an auction that ended before it cannot be extended by the batch.
+     *
+     * The bids are inserted before the auctions are updated, so an auction never names a
+     * currentHighestBidId without a bid document; bids of auctions whose update was
+     * rejected are deleted again.
+     */
+    private void commit(List<PendingBid> batch) {
+        Map<ObjectId, List<PendingBid>> byAuction = new LinkedHashMap<>();
+        for (PendingBid pending : batch) {
+            byAuction.computeIfAbsent(pending.bid.getAuctionId(), id -> new ArrayList<>()).add(pending);
+        }
+        
+        try {
+            List<BidBatchUpdate> updates = new ArrayList<>(byAuction.size());
+            for (List<PendingBid> group : byAuction.values()) {
+                Bid first = group.get(0).bid;
+                updates.add(new BidBatchUpdate(group.get(group.size() - 1).auctionAfter,
+                    first.getBidAmount(), first.getBidTime(), group.size()));
+            }
+            
+            List<Bid> bids = new ArrayList<>(batch.size());
+            for (PendingBid pending : batch) {
+                bids.add(pending.bid);
+            }
+            Repositories.BIDS.insertAll(bids);
+            
+            Set<ObjectId> committed = Repositories.AUCTIONS.applyBidBatch(updates);
+            
+            List<ObjectId> rejectedBidIds = new ArrayList<>();
+            for (Map.Entry<ObjectId, List<PendingBid>> entry : byAuction.entrySet()) {
+                if (!committed.contains(entry.getKey())) {
+                    for (PendingBid pending : entry.getValue()) {
+                        rejectedBidIds.add(pending.bid.getId());
+                    }
+                }
+            }
+            Repositories.BIDS.deleteByIds(rejectedBidIds);
+            
+            for (Map.Entry<ObjectId, List<PendingBid>> entry : byAuction.entrySet()) {
+                EntityCaches.AUCTIONS.invalidate(entry.getKey());
+                if (committed.contains(entry.getKey())) {
+                    for (PendingBid pending : entry.getValue()) {
+                        pending.future.complete(pending.auctionAfter);
+                    }
+                } else {
+                    onConflict.accept(entry.getKey());
+                    failAll(entry.getValue(), new DatabaseException(
+                        "Auction was changed outside the bid engine; please retry your bid"));
+                }
+            }
+        } catch (Exception e) {
+            for (Map.Entry<ObjectId, List<PendingBid>> entry : byAuction.entrySet()) {
+                onConflict.accept(entry.getKey());
+                failAll(entry.getValue(), new DatabaseException("Failed to commit bid: " + e.getMessage(), e));
+            }
+        }
+    }
+    
+    private void failAll(List<PendingBid> group, Exception cause) {
+        for (PendingBid pending : group) {
+            pending.future.completeExceptionally(cause);
+        }
+    }
+}
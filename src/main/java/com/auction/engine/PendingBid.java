@@ -0,0 +1,22 @@
+package com.auction.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+
+/**
+ * A bid that has been validated by its auction's owner shard and is waiting
+ * for the group committer to make it durable
+ */
+class PendingBid {
+    final Bid bid;
+    final Auction auctionAfter;
+    final CompletableFuture<Auction> future;
+    
+    PendingBid(Bid bid, Auction auctionAfter, CompletableFuture<Auction> future) {
+        this.bid = bid;
+        this.auctionAfter = auctionAfter;
+        this.future = future;
+    }
+}
@@ -0,0 +1,65 @@
+package com.auction.models;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Transaction activity over a time range, one ActivitySummary per (type, status,
+ * category). The range is widened to whole hours, the resolution of the buckets.
+ */
+public class ActivityReport {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final List<ActivitySummary> rows;
+    
+    public ActivityReport(LocalDateTime from, LocalDateTime to, List<ActivitySummary> rows) {
+        this.from = from;
+        this.to = to;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+    
+    /**
+     * @return the start of the first hour covered
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    /**
+     * @return the end of the last hour covered (exclusive)
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public List<ActivitySummary> getRows() {
+        return rows;
+    }
+    
+    public long getTransactionCount() {
+        return rows.stream().mapToLong(ActivitySummary::getCount).sum();
+    }
+    
+    public double getCompletedRevenue() {
+        return rows.stream()
+            .filter(row -> "COMPLETED".equals(row.getStatus()))
+            .mapToDouble(ActivitySummary::getTotalAmount)
+            .sum();
+    }
+    
+    /**
+     * Rolls the rows up by one dimension, e.g. groupBy(ActivitySummary::getStatus)
+     * @return one merged summary per distinct value, in value order
+     */
+    public Map<String, ActivitySummary> groupBy(Function<ActivitySummary, String> dimension) {
+        Map<String, ActivitySummary> groups = new TreeMap<>();
+        for (ActivitySummary row : rows) {
+            groups.merge(dimension.apply(row), row, ActivitySummary::plus);
+        }
+        return groups;
+    }
+}
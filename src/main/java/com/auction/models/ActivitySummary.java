@@ -0,0 +1,73 @@
+package com.auction.models;
+
+/**
+ * Transaction count and amounts for one (type, status, category) combination over a
+ * time range, summed from the hourly and daily activity buckets.
+ *
+ * minAmount and maxAmount cover every transaction that was ever counted under the
+ * combination in the range: a transaction whose status later changed still widens
+ * the bounds of the status it left.
+ */
+public class ActivitySummary {
+    private final String transactionType;
+    private final String status;
+    private final String category;
+    private final long count;
+    private final double totalAmount;
+    private final double minAmount;
+    private final double maxAmount;
+    
+    public ActivitySummary(String transactionType, String status, String category,
+                           long count, double totalAmount, double minAmount, double maxAmount) {
+        this.transactionType = transactionType;
+        this.status = status;
+        this.category = category;
+        this.count = count;
+        this.totalAmount = totalAmount;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+    
+    public String getTransactionType() {
+        return transactionType;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public double getMinAmount() {
+        return minAmount;
+    }
+    
+    public double getMaxAmount() {
+        return maxAmount;
+    }
+    
+    public double getAverageAmount() {
+        return count > 0 ? totalAmount / count : 0;
+    }
+    
+    /**
+     * @return the two summaries added together, labelled with this one's type, status and category
+     */
+    public ActivitySummary plus(ActivitySummary other) {
+        return new ActivitySummary(transactionType, status, category,
+            count + other.count,
+            totalAmount + other.totalAmount,
+            Math.min(minAmount, other.minAmount),
+            Math.max(maxAmount, other.maxAmount));
+    }
+}
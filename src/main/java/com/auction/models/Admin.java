@@ -37,6 +37,7 @@ public class Admin extends User {
         System.out.println("8. Search Transactions by Date");
         System.out.println("9. Search Transaction by ID");
         System.out.println("10. System Statistics");
+        System.out.println("11. Revenue & Activity Report");
         System.out.println("0. Logout");
         System.out.println("========================");
     }
@@ -46,7 +47,7 @@ public class Admin extends User {
         boolean running = true;
         
         // Show winner announcements when admin first logs in
-        WinnerAnnouncementUtils.showPendingWinnerAnnouncements("ADMIN");
+        WinnerAnnouncementUtils.showPendingWinnerAnnouncements(this);
         
         while (running) {
             try {
@@ -86,6 +87,9 @@ public class Admin extends User {
                     case 10:
                         adminService.showSystemStatistics();
                         break;
+                    case 11:
+                        adminService.viewActivityReport();
+                        break;
                     case 0:
                         System.out.println("Logging out...");
                         running = false;
@@ -14,6 +14,7 @@ public class Auction {
     private double startingPrice;
     private double currentHighestBid;
     private ObjectId currentHighestBidderId;
+    private ObjectId currentHighestBidId;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private boolean isActive;
@@ -45,6 +46,19 @@ public class Auction {
         this.endTime = endTime;
     }
     
+    // Codec constructor: no generated id or timestamp, the decoder sets what is stored
+    private Auction(long durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+    
+    /**
+     * Creates an empty auction for a decoder to fill in, skipping the id generation and
+     * clock read of the default constructor. Status and createdAt stay null until set.
+     */
+    public static Auction forDecoding() {
+        return new Auction(60L);
+    }
+    
     // Getters and setters
     public ObjectId getId() {
         return id;
@@ -94,6 +108,17 @@ public class Auction {
         this.currentHighestBidderId = currentHighestBidderId;
     }
     
+    /**
+     * Reference to the bid currently winning this auction; bids derive isWinning from it
+     */
+    public ObjectId getCurrentHighestBidId() {
+        return currentHighestBidId;
+    }
+    
+    public void setCurrentHighestBidId(ObjectId currentHighestBidId) {
+        this.currentHighestBidId = currentHighestBidId;
+    }
+    
     public LocalDateTime getStartTime() {
         return startTime;
     }
@@ -205,6 +230,7 @@ public class Auction {
                 ", startingPrice=" + startingPrice +
                 ", currentHighestBid=" + currentHighestBid +
                 ", currentHighestBidderId=" + currentHighestBidderId +
+                ", currentHighestBidId=" + currentHighestBidId +
                 ", startTime=" + startTime +
                 ", endTime=" + endTime +
                 ", isActive=" + isActive +
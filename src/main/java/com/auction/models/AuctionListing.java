@@ -0,0 +1,160 @@
+package com.auction.models;
+
+import java.time.LocalDateTime;
+
+import org.bson.types.ObjectId;
+
+/**
+ * One row of an auction listing screen: the auction joined with the name and category
+ * of its product and the name of its current highest bidder. Read-only view, built by
+ * the listing query rather than stored.
+ */
+public class AuctionListing {
+    private ObjectId auctionId;
+    private ObjectId productId;
+    private String productName;
+    private String productCategory;
+    private double startingPrice;
+    private double currentHighestBid;
+    private int totalBids;
+    private String status;
+    private ObjectId currentBidderId;
+    private String currentBidderFirstName;
+    private String currentBidderLastName;
+    private LocalDateTime endTime;
+    private LocalDateTime createdAt;
+    private long timeLeftMillis;
+    
+    public ObjectId getAuctionId() {
+        return auctionId;
+    }
+    
+    public void setAuctionId(ObjectId auctionId) {
+        this.auctionId = auctionId;
+    }
+    
+    public ObjectId getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(ObjectId productId) {
+        this.productId = productId;
+    }
+    
+    /**
+     * @return the product name, or null if the product no longer exists
+     */
+    public String getProductName() {
+        return productName;
+    }
+    
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+    
+    public String getProductCategory() {
+        return productCategory;
+    }
+    
+    public void setProductCategory(String productCategory) {
+        this.productCategory = productCategory;
+    }
+    
+    public double getStartingPrice() {
+        return startingPrice;
+    }
+    
+    public void setStartingPrice(double startingPrice) {
+        this.startingPrice = startingPrice;
+    }
+    
+    public double getCurrentHighestBid() {
+        return currentHighestBid;
+    }
+    
+    public void setCurrentHighestBid(double currentHighestBid) {
+        this.currentHighestBid = currentHighestBid;
+    }
+    
+    public int getTotalBids() {
+        return totalBids;
+    }
+    
+    public void setTotalBids(int totalBids) {
+        this.totalBids = totalBids;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public ObjectId getCurrentBidderId() {
+        return currentBidderId;
+    }
+    
+    public void setCurrentBidderId(ObjectId currentBidderId) {
+        this.currentBidderId = currentBidderId;
+    }
+    
+    public String getCurrentBidderFirstName() {
+        return currentBidderFirstName;
+    }
+    
+    public void setCurrentBidderFirstName(String currentBidderFirstName) {
+        this.currentBidderFirstName = currentBidderFirstName;
+    }
+    
+    public String getCurrentBidderLastName() {
+        return currentBidderLastName;
+    }
+    
+    public void setCurrentBidderLastName(String currentBidderLastName) {
+        this.currentBidderLastName = currentBidderLastName;
+    }
+    
+    /**
+     * @return the current highest bidder's full name, or null if nobody has bid (or the user is gone)
+     */
+    public String getCurrentBidderName() {
+        if (currentBidderFirstName == null && currentBidderLastName == null) {
+            return null;
+        }
+        return ((currentBidderFirstName != null ? currentBidderFirstName : "") + " "
+            + (currentBidderLastName != null ? currentBidderLastName : "")).trim();
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    /**
+     * @return milliseconds until the end time when the listing was read; 0 once ended
+     */
+    public long getTimeLeftMillis() {
+        return timeLeftMillis;
+    }
+    
+    public void setTimeLeftMillis(long timeLeftMillis) {
+        this.timeLeftMillis = timeLeftMillis;
+    }
+    
+    public boolean hasEnded() {
+        return timeLeftMillis <= 0;
+    }
+}
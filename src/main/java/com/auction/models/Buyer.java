@@ -1,10 +1,5 @@
 package com.auction.models;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.bson.types.ObjectId;
-
 import com.auction.services.BuyerService;
 import com.auction.services.impl.BuyerServiceImpl;
 import com.auction.utils.InputUtils;
@@ -12,9 +7,6 @@ import com.auction.utils.WinnerAnnouncementUtils;
 
 
 public class Buyer extends User {
-    private List<ObjectId> purchaseIds;
-    private List<ObjectId> transactionIds;
-    private List<ObjectId> bidIds;
     private double totalSpent;
     private int totalPurchases;
     private BuyerService buyerService;
@@ -22,9 +14,6 @@ public class Buyer extends User {
     public Buyer() {
         super();
         this.setRole("BUYER");
-        this.purchaseIds = new ArrayList<>();
-        this.transactionIds = new ArrayList<>();
-        this.bidIds = new ArrayList<>();
         this.totalSpent = 0.0;
         this.totalPurchases = 0;
         this.buyerService = new BuyerServiceImpl();
@@ -33,9 +22,6 @@ public class Buyer extends User {
     public Buyer(String username, String email, String password, 
                  String firstName, String lastName, String phoneNumber) {
         super(username, email, password, "BUYER", firstName, lastName, phoneNumber);
-        this.purchaseIds = new ArrayList<>();
-        this.transactionIds = new ArrayList<>();
-        this.bidIds = new ArrayList<>();
         this.totalSpent = 0.0;
         this.totalPurchases = 0;
         this.buyerService = new BuyerServiceImpl();
@@ -60,6 +46,7 @@ public class Buyer extends User {
         System.out.println("10. Update Personal Details");
         System.out.println("11. View Profile Summary");
         System.out.println("12. Delete Account");
+        System.out.println("13. Search Products");
         System.out.println("0. Logout");
         System.out.println("========================");
     }
@@ -69,7 +56,7 @@ public class Buyer extends User {
         boolean running = true;
         
         // Show winner announcements when buyer first logs in
-        WinnerAnnouncementUtils.showPendingWinnerAnnouncements("BUYER");
+        WinnerAnnouncementUtils.showPendingWinnerAnnouncements(this);
         
         while (running) {
             try {
@@ -118,6 +105,9 @@ public class Buyer extends User {
                             running = false;
                         }
                         break;
+                    case 13:
+                        buyerService.searchProducts(this);
+                        break;
                     case 0:
                         System.out.println("Logging out...");
                         running = false;
@@ -138,36 +128,13 @@ public class Buyer extends User {
     }
     
     // Getters and setters
-    public List<ObjectId> getPurchaseIds() {
-        return purchaseIds;
-    }
-    
-    public void setPurchaseIds(List<ObjectId> purchaseIds) {
-        this.purchaseIds = purchaseIds;
-    }
-    
-    public List<ObjectId> getTransactionIds() {
-        return transactionIds;
-    }
-    
-    public void setTransactionIds(List<ObjectId> transactionIds) {
-        this.transactionIds = transactionIds;
-    }
-    
-    public List<ObjectId> getBidIds() {
-        return bidIds;
-    }
-    
-    public void setBidIds(List<ObjectId> bidIds) {
-        this.bidIds = bidIds;
-    }
-    
     public double getTotalSpent() {
         return totalSpent;
     }
     
     public void setTotalSpent(double totalSpent) {
         this.totalSpent = totalSpent;
+        getChanges().set("totalSpent", totalSpent);
     }
     
     public int getTotalPurchases() {
@@ -176,25 +143,26 @@ public class Buyer extends User {
     
     public void setTotalPurchases(int totalPurchases) {
         this.totalPurchases = totalPurchases;
+        getChanges().set("totalPurchases", totalPurchases);
     }
     
-    public void addPurchaseId(ObjectId purchaseId) {
-        this.purchaseIds.add(purchaseId);
-    }
-    
-    public void addTransactionId(ObjectId transactionId) {
-        this.transactionIds.add(transactionId);
-    }
-    
-    public void addBidId(ObjectId bidId) {
-        this.bidIds.add(bidId);
+    /**
+     * Counts a purchase whose totals were already written by the checkout. Unlike
+     * updateSpent and incrementPurchases this records no change, so the next save does
+     * not apply it a second time.
+     */
+    public void addStoredPurchase(double amount) {
+        this.totalSpent += amount;
+        this.totalPurchases++;
     }
     
     public void updateSpent(double amount) {
         this.totalSpent += amount;
+        getChanges().increment("totalSpent", amount, totalSpent);
     }
     
     public void incrementPurchases() {
         this.totalPurchases++;
+        getChanges().increment("totalPurchases", 1, totalPurchases);
     }
 }
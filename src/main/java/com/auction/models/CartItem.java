@@ -0,0 +1,35 @@
+package com.auction.models;
+
+/**
+ * One line of a checkout: a product, how many units of it, and its seller
+ */
+public class CartItem {
+    private final Product product;
+    private final int quantity;
+    private final Seller seller;
+    
+    public CartItem(Product product, int quantity, Seller seller) {
+        this.product = product;
+        this.quantity = quantity;
+        this.seller = seller;
+    }
+    
+    public Product getProduct() {
+        return product;
+    }
+    
+    public int getQuantity() {
+        return quantity;
+    }
+    
+    /**
+     * @return the seller, or null if the seller account no longer exists
+     */
+    public Seller getSeller() {
+        return seller;
+    }
+    
+    public double getItemTotal() {
+        return product.getPrice() * quantity;
+    }
+}
@@ -0,0 +1,32 @@
+package com.auction.models;
+
+/**
+ * One entry of the category dictionary: a product category with how many products
+ * are listed in it and how many of those are still on sale
+ */
+public class CategoryCount {
+    private final String category;
+    private final long productCount;
+    private final long availableCount;
+    
+    public CategoryCount(String category, long productCount, long availableCount) {
+        this.category = category;
+        this.productCount = productCount;
+        this.availableCount = availableCount;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public long getProductCount() {
+        return productCount;
+    }
+    
+    /**
+     * @return products in the category that are available and not sold
+     */
+    public long getAvailableCount() {
+        return availableCount;
+    }
+}
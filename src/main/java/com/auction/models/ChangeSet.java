@@ -0,0 +1,52 @@
+package com.auction.models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Field-level changes made to a model since it was loaded or last saved, keyed by
+ * stored field name. Lets an update write only what changed ($set, $inc) instead of
+ * replacing the whole document.
+ *
+ * A field gets one kind of change. An increment recorded after a set of the same field
+ * falls back to a $set of its current value.
+ */
+public class ChangeSet {
+    private final Map<String, Object> sets = new LinkedHashMap<>();
+    private final Map<String, Number> increments = new LinkedHashMap<>();
+    
+    public void set(String field, Object value) {
+        increments.remove(field);
+        sets.put(field, value);
+    }
+    
+    /**
+     * @param currentValue the field's value after the increment, used if it falls back to $set
+     */
+    public void increment(String field, Number delta, Object currentValue) {
+        if (sets.containsKey(field)) {
+            set(field, currentValue);
+        } else if (delta instanceof Double || increments.get(field) instanceof Double) {
+            increments.merge(field, delta, (a, b) -> a.doubleValue() + b.doubleValue());
+        } else {
+            increments.merge(field, delta, (a, b) -> a.intValue() + b.intValue());
+        }
+    }
+    
+    public Map<String, Object> getSets() {
+        return sets;
+    }
+    
+    public Map<String, Number> getIncrements() {
+        return increments;
+    }
+    
+    public boolean isEmpty() {
+        return sets.isEmpty() && increments.isEmpty();
+    }
+    
+    public void clear() {
+        sets.clear();
+        increments.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.auction.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a whole checkout. A cart is bought completely or not at all,
+ * so there is one result per cart rather than one per item.
+ */
+public class CheckoutResult {
+    private final boolean successful;
+    private final List<Transaction> transactions;
+    private final String message;
+    
+    private CheckoutResult(boolean successful, List<Transaction> transactions, String message) {
+        this.successful = successful;
+        this.transactions = transactions;
+        this.message = message;
+    }
+    
+    public static CheckoutResult completed(List<Transaction> transactions) {
+        return new CheckoutResult(true, transactions, "Purchase completed");
+    }
+    
+    public static CheckoutResult rejected(String reason) {
+        return new CheckoutResult(false, Collections.emptyList(), reason);
+    }
+    
+    /**
+     * A checkout that failed while writing
+     * @param reason what went wrong, including anything that was left written
+     */
+    public static CheckoutResult failed(String reason) {
+        return new CheckoutResult(false, Collections.emptyList(), "Checkout failed: " + reason);
+    }
+    
+    public boolean isSuccessful() {
+        return successful;
+    }
+    
+    /**
+     * @return one transaction per cart item; empty if the checkout was rejected
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+    
+    public double getTotalAmount() {
+        double total = 0;
+        for (Transaction transaction : transactions) {
+            total += transaction.getAmount();
+        }
+        return total;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
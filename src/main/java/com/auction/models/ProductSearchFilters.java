@@ -0,0 +1,57 @@
+package com.auction.models;
+
+/**
+ * Optional restrictions on a product search. Unset filters match every product;
+ * by default only products that are available and not sold are returned.
+ */
+public class ProductSearchFilters {
+    private String category;
+    private Double minPrice;
+    private Double maxPrice;
+    private boolean availableOnly = true;
+    
+    /**
+     * @return the exact category to search in, or null for any category
+     */
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public Double getMinPrice() {
+        return minPrice;
+    }
+    
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+    
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+    
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+    
+    public boolean isAvailableOnly() {
+        return availableOnly;
+    }
+    
+    public void setAvailableOnly(boolean availableOnly) {
+        this.availableOnly = availableOnly;
+    }
+    
+    /**
+     * @return true if the product passes every filter that is set
+     */
+    public boolean matches(Product product) {
+        return (category == null || category.equals(product.getCategory()))
+            && (minPrice == null || product.getPrice() >= minPrice)
+            && (maxPrice == null || product.getPrice() <= maxPrice)
+            && (!availableOnly || (product.isAvailable() && !product.isSold()));
+    }
+}
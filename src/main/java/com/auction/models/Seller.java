@@ -1,18 +1,14 @@
 package com.auction.models;
 
+import com.auction.exceptions.DatabaseException;
 import com.auction.services.SellerService;
 import com.auction.services.impl.SellerServiceImpl;
 import com.auction.utils.InputUtils;
-import java.util.ArrayList;
-import java.util.List;
-import org.bson.types.ObjectId;
 
 /**
  * Seller class extending User - demonstrates inheritance
  */
 public class Seller extends User {
-    private List<ObjectId> productIds;
-    private List<ObjectId> transactionIds;
     private double totalEarnings;
     private int totalProductsSold;
     private double rating;
@@ -22,8 +18,6 @@ public class Seller extends User {
     public Seller() {
         super();
         this.setRole("SELLER");
-        this.productIds = new ArrayList<>();
-        this.transactionIds = new ArrayList<>();
         this.totalEarnings = 0.0;
         this.totalProductsSold = 0;
         this.rating = 0.0;
@@ -34,8 +28,6 @@ public class Seller extends User {
     public Seller(String username, String email, String password, 
                   String firstName, String lastName, String phoneNumber) {
         super(username, email, password, "SELLER", firstName, lastName, phoneNumber);
-        this.productIds = new ArrayList<>();
-        this.transactionIds = new ArrayList<>();
         this.totalEarnings = 0.0;
         this.totalProductsSold = 0;
         this.rating = 0.0;
@@ -47,7 +39,11 @@ public class Seller extends User {
     public void showDashboard() {
         System.out.println("\n=== SELLER DASHBOARD ===");
         System.out.println("Welcome, " + getFullName() + "!");
-        System.out.println("Total Products: " + productIds.size());
+        try {
+            System.out.println("Total Products: " + sellerService.countProducts(this));
+        } catch (DatabaseException e) {
+            System.out.println("Total Products: unavailable");
+        }
         System.out.println("Total Earnings: $" + String.format("%.2f", totalEarnings));
         System.out.println("Products Sold: " + totalProductsSold);
         System.out.println("Rating: " + String.format("%.1f", rating) + "/5.0");
@@ -123,28 +119,13 @@ public class Seller extends User {
     }
     
     // Getters and setters
-    public List<ObjectId> getProductIds() {
-        return productIds;
-    }
-    
-    public void setProductIds(List<ObjectId> productIds) {
-        this.productIds = productIds;
-    }
-    
-    public List<ObjectId> getTransactionIds() {
-        return transactionIds;
-    }
-    
-    public void setTransactionIds(List<ObjectId> transactionIds) {
-        this.transactionIds = transactionIds;
-    }
-    
     public double getTotalEarnings() {
         return totalEarnings;
     }
     
     public void setTotalEarnings(double totalEarnings) {
         this.totalEarnings = totalEarnings;
+        getChanges().set("totalEarnings", totalEarnings);
     }
     
     public int getTotalProductsSold() {
@@ -153,6 +134,7 @@ public class Seller extends User {
     
     public void setTotalProductsSold(int totalProductsSold) {
         this.totalProductsSold = totalProductsSold;
+        getChanges().set("totalProductsSold", totalProductsSold);
     }
     
     public double getRating() {
@@ -161,6 +143,7 @@ public class Seller extends User {
     
     public void setRating(double rating) {
         this.rating = rating;
+        getChanges().set("rating", rating);
     }
     
     public int getTotalRatings() {
@@ -169,25 +152,16 @@ public class Seller extends User {
     
     public void setTotalRatings(int totalRatings) {
         this.totalRatings = totalRatings;
-    }
-    
-    public void addProductId(ObjectId productId) {
-        this.productIds.add(productId);
-    }
-    
-    public void removeProductId(ObjectId productId) {
-        this.productIds.remove(productId);
-    }
-    
-    public void addTransactionId(ObjectId transactionId) {
-        this.transactionIds.add(transactionId);
+        getChanges().set("totalRatings", totalRatings);
     }
     
     public void updateEarnings(double amount) {
         this.totalEarnings += amount;
+        getChanges().increment("totalEarnings", amount, totalEarnings);
     }
     
     public void incrementProductsSold() {
         this.totalProductsSold++;
+        getChanges().increment("totalProductsSold", 1, totalProductsSold);
     }
 }
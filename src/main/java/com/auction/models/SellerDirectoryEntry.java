@@ -0,0 +1,101 @@
+package com.auction.models;
+
+import java.time.LocalDateTime;
+
+import org.bson.types.ObjectId;
+
+/**
+ * One row of the seller directory: the seller's contact details and rating with the
+ * number of products they have listed. Read-only view, built by the directory query
+ * rather than stored.
+ */
+public class SellerDirectoryEntry {
+    private ObjectId sellerId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private double rating;
+    private int totalRatings;
+    private LocalDateTime registrationDate;
+    private long productCount;
+    
+    public ObjectId getSellerId() {
+        return sellerId;
+    }
+    
+    public void setSellerId(ObjectId sellerId) {
+        this.sellerId = sellerId;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+    
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+    
+    public double getRating() {
+        return rating;
+    }
+    
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+    
+    public int getTotalRatings() {
+        return totalRatings;
+    }
+    
+    public void setTotalRatings(int totalRatings) {
+        this.totalRatings = totalRatings;
+    }
+    
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+    
+    public void setRegistrationDate(LocalDateTime registrationDate) {
+        this.registrationDate = registrationDate;
+    }
+    
+    /**
+     * @return the number of products the seller has listed, sold ones included
+     */
+    public long getProductCount() {
+        return productCount;
+    }
+    
+    public void setProductCount(long productCount) {
+        this.productCount = productCount;
+    }
+}
@@ -0,0 +1,138 @@
+package com.auction.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counts and totals for the admin dashboard, computed by the database rather than by
+ * loading the collections. Read-only snapshot: instances may be shared from a cache.
+ */
+public class SystemStatistics {
+    private long totalBuyers;
+    private long totalSellers;
+    private long totalProducts;
+    private long soldProducts;
+    private long availableProducts;
+    private long totalAuctions;
+    private long activeAuctions;
+    private long completedAuctions;
+    private long totalTransactions;
+    private long completedTransactions;
+    private long pendingTransactions;
+    private double completedRevenue;
+    private LocalDateTime computedAt;
+    
+    public long getTotalBuyers() {
+        return totalBuyers;
+    }
+    
+    public void setTotalBuyers(long totalBuyers) {
+        this.totalBuyers = totalBuyers;
+    }
+    
+    public long getTotalSellers() {
+        return totalSellers;
+    }
+    
+    public void setTotalSellers(long totalSellers) {
+        this.totalSellers = totalSellers;
+    }
+    
+    public long getTotalUsers() {
+        return totalBuyers + totalSellers;
+    }
+    
+    public long getTotalProducts() {
+        return totalProducts;
+    }
+    
+    public void setTotalProducts(long totalProducts) {
+        this.totalProducts = totalProducts;
+    }
+    
+    public long getSoldProducts() {
+        return soldProducts;
+    }
+    
+    public void setSoldProducts(long soldProducts) {
+        this.soldProducts = soldProducts;
+    }
+    
+    public long getAvailableProducts() {
+        return availableProducts;
+    }
+    
+    public void setAvailableProducts(long availableProducts) {
+        this.availableProducts = availableProducts;
+    }
+    
+    public long getTotalAuctions() {
+        return totalAuctions;
+    }
+    
+    public void setTotalAuctions(long totalAuctions) {
+        this.totalAuctions = totalAuctions;
+    }
+    
+    public long getActiveAuctions() {
+        return activeAuctions;
+    }
+    
+    public void setActiveAuctions(long activeAuctions) {
+        this.activeAuctions = activeAuctions;
+    }
+    
+    public long getCompletedAuctions() {
+        return completedAuctions;
+    }
+    
+    public void setCompletedAuctions(long completedAuctions) {
+        this.completedAuctions = completedAuctions;
+    }
+    
+    public long getTotalTransactions() {
+        return totalTransactions;
+    }
+    
+    public void setTotalTransactions(long totalTransactions) {
+        this.totalTransactions = totalTransactions;
+    }
+    
+    public long getCompletedTransactions() {
+        return completedTransactions;
+    }
+    
+    public void setCompletedTransactions(long completedTransactions) {
+        this.completedTransactions = completedTransactions;
+    }
+    
+    public long getPendingTransactions() {
+        return pendingTransactions;
+    }
+    
+    public void setPendingTransactions(long pendingTransactions) {
+        this.pendingTransactions = pendingTransactions;
+    }
+    
+    /**
+     * @return the summed amount of completed transactions
+     */
+    public double getCompletedRevenue() {
+        return completedRevenue;
+    }
+    
+    public void setCompletedRevenue(double completedRevenue) {
+        this.completedRevenue = completedRevenue;
+    }
+    
+    public double getAverageCompletedTransaction() {
+        return completedTransactions > 0 ? completedRevenue / completedTransactions : 0;
+    }
+    
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+    
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -22,6 +22,7 @@ public class Transaction {
     private String buyerName;
     private String sellerName;
     private String productName;
+    private String productCategory;
     private String notes;
     
     // Default constructor
@@ -156,6 +157,17 @@ public class Transaction {
         this.productName = productName;
     }
     
+    /**
+     * @return the product's category when the transaction was written; null on older transactions
+     */
+    public String getProductCategory() {
+        return productCategory;
+    }
+    
+    public void setProductCategory(String productCategory) {
+        this.productCategory = productCategory;
+    }
+    
     public String getNotes() {
         return notes;
     }
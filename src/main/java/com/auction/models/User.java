@@ -18,6 +18,7 @@ public abstract class User {
     private String phoneNumber;
     private LocalDateTime registrationDate;
     private boolean isActive;
+    private final ChangeSet changes = new ChangeSet();
     
     // Default constructor
     public User() {
@@ -58,6 +59,7 @@ public abstract class User {
     
     public void setUsername(String username) {
         this.username = username;
+        changes.set("username", username);
     }
     
     public String getEmail() {
@@ -66,6 +68,7 @@ public abstract class User {
     
     public void setEmail(String email) {
         this.email = email;
+        changes.set("email", email);
     }
     
     public String getPassword() {
@@ -74,6 +77,7 @@ public abstract class User {
     
     public void setPassword(String password) {
         this.password = password;
+        changes.set("password", password);
     }
     
     public String getRole() {
@@ -82,6 +86,7 @@ public abstract class User {
     
     public void setRole(String role) {
         this.role = role;
+        changes.set("role", role);
     }
     
     public String getFirstName() {
@@ -90,6 +95,7 @@ public abstract class User {
     
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        changes.set("firstName", firstName);
     }
     
     public String getLastName() {
@@ -98,6 +104,7 @@ public abstract class User {
     
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        changes.set("lastName", lastName);
     }
     
     public String getPhoneNumber() {
@@ -106,6 +113,7 @@ public abstract class User {
     
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = phoneNumber;
+        changes.set("phoneNumber", phoneNumber);
     }
     
     public LocalDateTime getRegistrationDate() {
@@ -114,6 +122,7 @@ public abstract class User {
     
     public void setRegistrationDate(LocalDateTime registrationDate) {
         this.registrationDate = registrationDate;
+        changes.set("registrationDate", registrationDate);
     }
     
     public boolean isActive() {
@@ -122,6 +131,14 @@ public abstract class User {
     
     public void setActive(boolean active) {
         isActive = active;
+        changes.set("isActive", active);
+    }
+    
+    /**
+     * @return the fields changed since this user was loaded or last saved
+     */
+    public ChangeSet getChanges() {
+        return changes;
     }
     
     public String getFullName() {
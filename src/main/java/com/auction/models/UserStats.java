@@ -0,0 +1,93 @@
+package com.auction.models;
+
+import org.bson.types.ObjectId;
+
+/**
+ * One user's row of the user_stats rollup: how many transactions they took part in as
+ * buyer and as seller, and the count and amount of the completed ones. Maintained by
+ * atomic increments on every transaction write, so reading it is a single lookup.
+ */
+public class UserStats {
+    private ObjectId userId;
+    private long purchases;
+    private long completedPurchases;
+    private double amountSpent;
+    private long sales;
+    private long completedSales;
+    private double amountEarned;
+    
+    public UserStats() {
+    }
+    
+    public UserStats(ObjectId userId) {
+        this.userId = userId;
+    }
+    
+    public ObjectId getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(ObjectId userId) {
+        this.userId = userId;
+    }
+    
+    /**
+     * @return transactions with the user as buyer, whatever their status
+     */
+    public long getPurchases() {
+        return purchases;
+    }
+    
+    public void setPurchases(long purchases) {
+        this.purchases = purchases;
+    }
+    
+    public long getCompletedPurchases() {
+        return completedPurchases;
+    }
+    
+    public void setCompletedPurchases(long completedPurchases) {
+        this.completedPurchases = completedPurchases;
+    }
+    
+    /**
+     * @return total amount of the completed transactions with the user as buyer
+     */
+    public double getAmountSpent() {
+        return amountSpent;
+    }
+    
+    public void setAmountSpent(double amountSpent) {
+        this.amountSpent = amountSpent;
+    }
+    
+    /**
+     * @return transactions with the user as seller, whatever their status
+     */
+    public long getSales() {
+        return sales;
+    }
+    
+    public void setSales(long sales) {
+        this.sales = sales;
+    }
+    
+    public long getCompletedSales() {
+        return completedSales;
+    }
+    
+    public void setCompletedSales(long completedSales) {
+        this.completedSales = completedSales;
+    }
+    
+    /**
+     * @return total amount of the completed transactions with the user as seller
+     */
+    public double getAmountEarned() {
+        return amountEarned;
+    }
+    
+    public void setAmountEarned(double amountEarned) {
+        this.amountEarned = amountEarned;
+    }
+}
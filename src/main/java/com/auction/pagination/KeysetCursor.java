@@ -0,0 +1,55 @@
+package com.auction.pagination;
+
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Position of the last row of a page sorted on (sortValue, _id).
+ * The next page starts strictly after it, so pages stay stable while rows are
+ * inserted and no rows are skipped over server-side.
+ *
+ * Encoded as "epochMillis:hexId" for Date sort keys, or just "hexId" when the
+ * page is ordered by _id alone.
+ */
+public class KeysetCursor {
+    private final Date sortValue;
+    private final ObjectId id;
+    
+    public KeysetCursor(Date sortValue, ObjectId id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+    
+    public Date getSortValue() {
+        return sortValue;
+    }
+    
+    public ObjectId getId() {
+        return id;
+    }
+    
+    public String encode() {
+        return sortValue != null ? sortValue.getTime() + ":" + id.toHexString() : id.toHexString();
+    }
+    
+    /**
+     * @return the decoded cursor, or null for a null/empty token (first page)
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            int separator = token.indexOf(':');
+            if (separator < 0) {
+                return new KeysetCursor(null, new ObjectId(token));
+            }
+            return new KeysetCursor(new Date(Long.parseLong(token.substring(0, separator))),
+                new ObjectId(token.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.auction.pagination;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query
+ * @param <T> the item type
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+    
+    public Page(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+    
+    public static <T> Page<T> empty() {
+        return new Page<>(Collections.emptyList(), null);
+    }
+    
+    /**
+     * Checks a requested page size at the service boundary; the paged queries read
+     * limit + 1 rows to find out whether a next page exists
+     * @return the limit
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public static int checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+        return limit;
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    /**
+     * @return opaque token to pass back for the following page, or null on the last page
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+    
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    public int size() {
+        return items.size();
+    }
+}
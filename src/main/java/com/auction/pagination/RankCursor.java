@@ -0,0 +1,48 @@
+package com.auction.pagination;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Position of the last row of a page sorted descending on a numeric rank
+ * (a count or a rating), then _id. The KeysetCursor counterpart for rankings.
+ *
+ * Encoded as "rank:hexId".
+ */
+public class RankCursor {
+    private final double rank;
+    private final ObjectId id;
+    
+    public RankCursor(double rank, ObjectId id) {
+        this.rank = rank;
+        this.id = id;
+    }
+    
+    public double getRank() {
+        return rank;
+    }
+    
+    public ObjectId getId() {
+        return id;
+    }
+    
+    public String encode() {
+        return rank + ":" + id.toHexString();
+    }
+    
+    /**
+     * @return the decoded cursor, or null for a null/empty token (first page)
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static RankCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            int separator = token.indexOf(':');
+            return new RankCursor(Double.parseDouble(token.substring(0, separator)),
+                new ObjectId(token.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.auction.repository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.auction.models.Transaction;
+
+/**
+ * Bucketing rules shared by the activity repositories. A transaction is counted in the
+ * hour and the day (local time) of its transactionDate, under its type, status and
+ * product category; missing values are counted under UNKNOWN / UNCATEGORIZED.
+ */
+public final class ActivityBuckets {
+    
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    public static final String[] GRANULARITIES = { HOUR, DAY };
+    
+    public static final String UNKNOWN = "UNKNOWN";
+    public static final String UNCATEGORIZED = "UNCATEGORIZED";
+    
+    private ActivityBuckets() {
+    }
+    
+    /**
+     * @return the start of the hour or day holding the moment
+     */
+    public static LocalDateTime start(String granularity, LocalDateTime moment) {
+        return DAY.equals(granularity) ? moment.truncatedTo(ChronoUnit.DAYS) : moment.truncatedTo(ChronoUnit.HOURS);
+    }
+    
+    public static String type(Transaction transaction) {
+        return transaction.getTransactionType() != null ? transaction.getTransactionType() : UNKNOWN;
+    }
+    
+    public static String status(String status) {
+        return status != null ? status : UNKNOWN;
+    }
+    
+    public static String category(Transaction transaction) {
+        return transaction.getProductCategory() != null ? transaction.getProductCategory() : UNCATEGORIZED;
+    }
+    
+    /**
+     * Covers every hour touched by [from, to] with as few buckets as possible: daily
+     * buckets for the whole days inside, hourly buckets for the partial days at the edges
+     */
+    public static List<Span> cover(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = start(HOUR, from);
+        LocalDateTime end = start(HOUR, to).plusHours(1);
+        LocalDateTime firstDay = start.equals(start(DAY, start)) ? start : start(DAY, start).plusDays(1);
+        LocalDateTime lastDay = start(DAY, end);
+        
+        List<Span> spans = new ArrayList<>(3);
+        if (firstDay.isBefore(lastDay)) {
+            if (start.isBefore(firstDay)) {
+                spans.add(new Span(HOUR, start, firstDay));
+            }
+            spans.add(new Span(DAY, firstDay, lastDay));
+            if (lastDay.isBefore(end)) {
+                spans.add(new Span(HOUR, lastDay, end));
+            }
+        } else if (start.isBefore(end)) {
+            spans.add(new Span(HOUR, start, end));
+        }
+        return spans;
+    }
+    
+    /**
+     * The buckets of one granularity starting in [start, end)
+     */
+    public static final class Span {
+        private final String granularity;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        
+        Span(String granularity, LocalDateTime start, LocalDateTime end) {
+            this.granularity = granularity;
+            this.start = start;
+            this.end = end;
+        }
+        
+        public String getGranularity() {
+            return granularity;
+        }
+        
+        public LocalDateTime getStart() {
+            return start;
+        }
+        
+        public LocalDateTime getEnd() {
+            return end;
+        }
+        
+        public boolean contains(String granularity, LocalDateTime bucketStart) {
+            return this.granularity.equals(granularity) && !bucketStart.isBefore(start) && bucketStart.isBefore(end);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.auction.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.ActivitySummary;
+import com.auction.models.Transaction;
+
+/**
+ * Storage for the "activity_buckets" analytics collection: per hour and per day, the
+ * count, sum, minimum and maximum transaction amount for each (type, status, category).
+ * See ActivityBuckets for how transactions are assigned to buckets.
+ *
+ * Like the user_stats rollup, new transactions are counted by the checkout write
+ * itself (CheckoutRepository) and status changes are applied here.
+ */
+public interface ActivityRepository {
+    
+    /**
+     * Sums the buckets covering every hour touched by [from, to]
+     * @return one row per (type, status, category) with at least one transaction
+     */
+    List<ActivitySummary> summarize(LocalDateTime from, LocalDateTime to) throws DatabaseException;
+    
+    /**
+     * Moves the transaction from the buckets of its old status to those of the new one
+     * @param before the transaction before its status changed
+     * @param status the new status
+     */
+    void recordStatusChange(Transaction before, String status) throws DatabaseException;
+    
+    /**
+     * Recomputes every bucket from the "transactions" collection, for backfilling and
+     * for repairing drift. Checkouts and status changes made while it runs can be lost,
+     * so run it with the application stopped.
+     */
+    void rebuild() throws DatabaseException;
+}
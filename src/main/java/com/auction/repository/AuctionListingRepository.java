@@ -0,0 +1,18 @@
+package com.auction.repository;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.AuctionListing;
+import com.auction.pagination.Page;
+
+/**
+ * Read model for the auction listing screens: auctions joined with their product and
+ * current highest bidder, newest first (by creation time, then id)
+ */
+public interface AuctionListingRepository {
+    
+    /**
+     * @param activeOnly true for running auctions only, false for every auction
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<AuctionListing> findPage(boolean activeOnly, int limit, String pageToken) throws DatabaseException;
+}
@@ -0,0 +1,94 @@
+package com.auction.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+
+/**
+ * Storage for the "auctions" collection
+ */
+public interface AuctionRepository {
+    
+    void insert(Auction auction) throws DatabaseException;
+    
+    void replace(Auction auction) throws DatabaseException;
+    
+    void delete(ObjectId auctionId) throws DatabaseException;
+    
+    Auction findById(ObjectId auctionId) throws DatabaseException;
+    
+    /**
+     * @return the auctions found, in no particular order; ids with no match are skipped
+     */
+    List<Auction> findByIds(Collection<ObjectId> auctionIds) throws DatabaseException;
+    
+    /**
+     * @return every auction, newest first
+     */
+    List<Auction> findAll() throws DatabaseException;
+    
+    /**
+     * One page of every auction, newest first by (createdAt, _id)
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<Auction> findPage(int limit, String pageToken) throws DatabaseException;
+    
+    List<Auction> findActive() throws DatabaseException;
+    
+    /**
+     * findActive() read batchSize rows at a time, in no particular order.
+     * The stream holds a cursor and must be closed.
+     */
+    Stream<Auction> streamActive(int batchSize) throws DatabaseException;
+    
+    List<Auction> findByStatus(String status) throws DatabaseException;
+    
+    List<Auction> findBySellerId(ObjectId sellerId) throws DatabaseException;
+    
+    /**
+     * @return auction id to currentHighestBidId (auctions without bids are absent). The id
+     *         can name a bid whose insert has not landed yet, so callers only use it to mark
+     *         bids they loaded, never to look the bid up.
+     */
+    Map<ObjectId, ObjectId> findWinningBidIds(Collection<ObjectId> auctionIds) throws DatabaseException;
+    
+    /**
+     * Compare-and-set: makes the bid the auction's highest bid only if the auction is still
+     * active, has not ended at now, and the bid beats the stored highest bid. On success the
+     * end time is reset to now plus the auction's original duration.
+     * @return the auction after the update, or null if the guard did not match
+     */
+    Auction acceptBid(Bid bid, LocalDateTime now) throws DatabaseException;
+    
+    /**
+     * Applies the bid-engine's batched highest-bid states, each guarded the way acceptBid
+     * is for the batch's first bid: the auction is still active, had not ended when that
+     * bid was placed, and its highest bid is below it
+     * @return ids of the auctions whose update was applied
+     */
+    Set<ObjectId> applyBidBatch(List<BidBatchUpdate> updates) throws DatabaseException;
+    
+    /**
+     * Marks the auction completed, touching only isActive, isCompleted and status, and only
+     * while it is still active; bids accepted in the meantime are kept
+     * @return false if the auction does not exist or is no longer active
+     */
+    boolean end(ObjectId auctionId) throws DatabaseException;
+    
+    /**
+     * Marks every active auction whose end time is before now as completed. An auction is
+     * completed by exactly one caller, however many sweep concurrently.
+     * @return the auctions this call completed
+     */
+    List<Auction> completeExpired(LocalDateTime now) throws DatabaseException;
+}
@@ -0,0 +1,39 @@
+package com.auction.repository;
+
+import java.time.LocalDateTime;
+
+import com.auction.models.Auction;
+
+/**
+ * One auction's share of a bid-engine commit: the state after the batch's last bid,
+ * the amount and time of its first bid, and how many bids the batch carries
+ */
+public class BidBatchUpdate {
+    private final Auction latest;
+    private final double firstBidAmount;
+    private final LocalDateTime firstBidTime;
+    private final int bidCount;
+    
+    public BidBatchUpdate(Auction latest, double firstBidAmount, LocalDateTime firstBidTime, int bidCount) {
+        this.latest = latest;
+        this.firstBidAmount = firstBidAmount;
+        this.firstBidTime = firstBidTime;
+        this.bidCount = bidCount;
+    }
+    
+    public Auction getLatest() {
+        return latest;
+    }
+    
+    public double getFirstBidAmount() {
+        return firstBidAmount;
+    }
+    
+    public LocalDateTime getFirstBidTime() {
+        return firstBidTime;
+    }
+    
+    public int getBidCount() {
+        return bidCount;
+    }
+}
@@ -0,0 +1,35 @@
+package com.auction.repository;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+
+/**
+ * Storage for the "bids" collection. Bid lists are ordered newest first.
+ */
+public interface BidRepository {
+    
+    void insert(Bid bid) throws DatabaseException;
+    
+    void insertAll(List<Bid> bids) throws DatabaseException;
+    
+    /**
+     * Removes bids that were stored ahead of an auction update that then rejected them
+     */
+    void deleteByIds(List<ObjectId> bidIds) throws DatabaseException;
+    
+    List<Bid> findByAuctionId(ObjectId auctionId) throws DatabaseException;
+    
+    List<Bid> findByBidderId(ObjectId bidderId) throws DatabaseException;
+    
+    /**
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<Bid> findPageByAuctionId(ObjectId auctionId, int limit, String pageToken) throws DatabaseException;
+    
+    Page<Bid> findPageByBidderId(ObjectId bidderId, int limit, String pageToken) throws DatabaseException;
+}
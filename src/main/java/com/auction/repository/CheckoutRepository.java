@@ -0,0 +1,26 @@
+package com.auction.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Transaction;
+
+/**
+ * Writes a whole checkout as one unit: the stock taken from every product, the
+ * purchase transactions, and the buyer's and sellers' purchase statistics
+ * (user totals, the user_stats rollup and the activity_buckets analytics)
+ */
+public interface CheckoutRepository {
+    
+    /**
+     * @param transactions one per cart item, all from the same buyer
+     * @param quantities units taken per product; each must still be in stock
+     * @return false if some product no longer has enough stock, in which case nothing is written
+     * @throws DatabaseException if the write failed; when it could not be undone completely
+     *         the message says what was left written
+     */
+    boolean commit(List<Transaction> transactions, Map<ObjectId, Integer> quantities) throws DatabaseException;
+}
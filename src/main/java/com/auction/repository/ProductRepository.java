@@ -0,0 +1,94 @@
+package com.auction.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.CategoryCount;
+import com.auction.models.Product;
+import com.auction.models.ProductSearchFilters;
+import com.auction.pagination.Page;
+
+/**
+ * Storage for the "products" collection
+ */
+public interface ProductRepository {
+    
+    void insert(Product product) throws DatabaseException;
+    
+    void replace(Product product) throws DatabaseException;
+    
+    void delete(ObjectId productId) throws DatabaseException;
+    
+    Product findById(ObjectId productId) throws DatabaseException;
+    
+    /**
+     * @return the products found, in no particular order; ids with no match are skipped
+     */
+    List<Product> findByIds(Collection<ObjectId> productIds) throws DatabaseException;
+    
+    List<Product> findAll() throws DatabaseException;
+    
+    /**
+     * One page of every product, newest first by (dateAdded, _id)
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<Product> findPage(int limit, String pageToken) throws DatabaseException;
+    
+    /**
+     * Every product after pageToken in findPage() order, read batchSize rows at a time.
+     * The stream holds a cursor and must be closed.
+     * @param pageToken next-page token of a page already shown, or null to stream from the start
+     */
+    Stream<Product> streamAll(String pageToken, int batchSize) throws DatabaseException;
+    
+    List<Product> findByCategory(String category) throws DatabaseException;
+    
+    /**
+     * Full-text search over name, category and description, most relevant first
+     * (a name match outranks a category match, which outranks a description match)
+     * @param query one or more words; a product matching any of them is returned
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<Product> search(String query, ProductSearchFilters filters, int limit, String pageToken) throws DatabaseException;
+    
+    List<Product> findBySellerId(ObjectId sellerId) throws DatabaseException;
+    
+    long countBySellerId(ObjectId sellerId) throws DatabaseException;
+    
+    /**
+     * @return products that are available and not sold
+     */
+    List<Product> findAvailable() throws DatabaseException;
+    
+    /**
+     * One page of findAvailable(), newest first by (dateAdded, _id)
+     */
+    Page<Product> findAvailablePage(int limit, String pageToken) throws DatabaseException;
+    
+    List<Product> findSold() throws DatabaseException;
+    
+    /**
+     * One page of findSold(), most recently sold first by (dateSold, _id)
+     */
+    Page<Product> findSoldPage(int limit, String pageToken) throws DatabaseException;
+    
+    void markSold(ObjectId productId, LocalDateTime dateSold) throws DatabaseException;
+    
+    /**
+     * Atomically takes quantity units, guarded on the product being available and unsold
+     * with at least that much stock. A product whose stock reaches zero is marked sold.
+     * @return the quantity left, or -1 if the guard did not match (nothing was taken)
+     * @throws IllegalArgumentException if quantity is not positive
+     */
+    int takeStock(ObjectId productId, int quantity, LocalDateTime now) throws DatabaseException;
+    
+    /**
+     * @return every product category with its product counts, sorted by category
+     */
+    List<CategoryCount> countByCategory() throws DatabaseException;
+}
@@ -0,0 +1,95 @@
+package com.auction.repository;
+
+import com.auction.repository.memory.MemoryActivityRepository;
+import com.auction.repository.memory.MemoryAuctionListingRepository;
+import com.auction.repository.memory.MemoryAuctionRepository;
+import com.auction.repository.memory.MemoryBidRepository;
+import com.auction.repository.memory.MemoryCheckoutRepository;
+import com.auction.repository.memory.MemoryProductRepository;
+import com.auction.repository.memory.MemorySellerDirectoryRepository;
+import com.auction.repository.memory.MemoryStatisticsRepository;
+import com.auction.repository.memory.MemoryTransactionRepository;
+import com.auction.repository.memory.MemoryUserRepository;
+import com.auction.repository.memory.MemoryUserStatsRepository;
+import com.auction.repository.mongo.MongoActivityRepository;
+import com.auction.repository.mongo.MongoAuctionListingRepository;
+import com.auction.repository.mongo.MongoAuctionRepository;
+import com.auction.repository.mongo.MongoBidRepository;
+import com.auction.repository.mongo.MongoCheckoutRepository;
+import com.auction.repository.mongo.MongoProductRepository;
+import com.auction.repository.mongo.MongoSellerDirectoryRepository;
+import com.auction.repository.mongo.MongoStatisticsRepository;
+import com.auction.repository.mongo.MongoTransactionRepository;
+import com.auction.repository.mongo.MongoUserRepository;
+import com.auction.repository.mongo.MongoUserStatsRepository;
+
+/**
+ * Process-wide repositories shared by every service instance.
+ *
+ * The storage engine is chosen once at startup with -Dstorage: "mongo" (default) or
+ * "memory". The in-memory engine keeps everything in indexed concurrent maps and needs
+ * no mongod, which makes it suitable for benchmarks and load simulations; its data is
+ * gone when the process exits.
+ */
+public final class Repositories {
+    
+    public static final String STORAGE = System.getProperty("storage", "mongo");
+    
+    public static final AuctionRepository AUCTIONS;
+    public static final BidRepository BIDS;
+    public static final ProductRepository PRODUCTS;
+    public static final UserRepository USERS;
+    public static final TransactionRepository TRANSACTIONS;
+    public static final CheckoutRepository CHECKOUTS;
+    public static final AuctionListingRepository AUCTION_LISTINGS;
+    public static final SellerDirectoryRepository SELLER_DIRECTORY;
+    public static final StatisticsRepository STATISTICS;
+    public static final UserStatsRepository USER_STATS;
+    public static final ActivityRepository ACTIVITY;
+    
+    static {
+        switch (STORAGE) {
+            case "mongo":
+                AUCTIONS = new MongoAuctionRepository();
+                BIDS = new MongoBidRepository();
+                PRODUCTS = new MongoProductRepository();
+                USERS = new MongoUserRepository();
+                TRANSACTIONS = new MongoTransactionRepository();
+                CHECKOUTS = new MongoCheckoutRepository();
+                AUCTION_LISTINGS = new MongoAuctionListingRepository();
+                SELLER_DIRECTORY = new MongoSellerDirectoryRepository();
+                STATISTICS = new MongoStatisticsRepository();
+                USER_STATS = new MongoUserStatsRepository();
+                ACTIVITY = new MongoActivityRepository();
+                break;
+            case "memory":
+                MemoryAuctionRepository auctions = new MemoryAuctionRepository();
+                MemoryProductRepository products = new MemoryProductRepository();
+                MemoryUserRepository users = new MemoryUserRepository();
+                MemoryTransactionRepository transactions = new MemoryTransactionRepository();
+                MemoryUserStatsRepository userStats = new MemoryUserStatsRepository(transactions);
+                MemoryActivityRepository activity = new MemoryActivityRepository(transactions);
+                AUCTIONS = auctions;
+                BIDS = new MemoryBidRepository();
+                PRODUCTS = products;
+                USERS = users;
+                TRANSACTIONS = transactions;
+                CHECKOUTS = new MemoryCheckoutRepository(products, users, transactions, userStats, activity);
+                AUCTION_LISTINGS = new MemoryAuctionListingRepository(auctions, products, users);
+                SELLER_DIRECTORY = new MemorySellerDirectoryRepository(products, users);
+                STATISTICS = new MemoryStatisticsRepository(auctions, products, users, transactions);
+                USER_STATS = userStats;
+                ACTIVITY = activity;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown storage engine: " + STORAGE + " (expected mongo or memory)");
+        }
+    }
+    
+    private Repositories() {
+    }
+    
+    public static boolean isInMemory() {
+        return "memory".equals(STORAGE);
+    }
+}
@@ -0,0 +1,18 @@
+package com.auction.repository;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.SellerDirectoryEntry;
+import com.auction.pagination.Page;
+
+/**
+ * Read model for the seller directory: sellers with their product counts, ranked by
+ * product count or by rating (highest first, then id)
+ */
+public interface SellerDirectoryRepository {
+    
+    /**
+     * @param byRating true to rank by rating, false to rank by number of products
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<SellerDirectoryEntry> findPage(boolean byRating, int limit, String pageToken) throws DatabaseException;
+}
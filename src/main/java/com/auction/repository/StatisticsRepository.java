@@ -0,0 +1,12 @@
+package com.auction.repository;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.SystemStatistics;
+
+/**
+ * Read model for the admin dashboard: counts and totals across every collection
+ */
+public interface StatisticsRepository {
+    
+    SystemStatistics computeSystemStatistics() throws DatabaseException;
+}
@@ -0,0 +1,64 @@
+package com.auction.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Transaction;
+import com.auction.pagination.Page;
+
+/**
+ * Storage for the "transactions" collection. Transaction lists are ordered newest first.
+ */
+public interface TransactionRepository {
+    
+    void insert(Transaction transaction) throws DatabaseException;
+    
+    void replace(Transaction transaction) throws DatabaseException;
+    
+    void delete(ObjectId transactionId) throws DatabaseException;
+    
+    Transaction findById(ObjectId transactionId) throws DatabaseException;
+    
+    List<Transaction> findAll() throws DatabaseException;
+    
+    /**
+     * One page of every transaction, newest first by (transactionDate, _id)
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<Transaction> findPage(int limit, String pageToken) throws DatabaseException;
+    
+    /**
+     * Every transaction after pageToken in findPage() order, read batchSize rows at a time.
+     * The stream holds a cursor and must be closed.
+     * @param pageToken next-page token of a page already shown, or null to stream from the start
+     */
+    Stream<Transaction> streamAll(String pageToken, int batchSize) throws DatabaseException;
+    
+    List<Transaction> findByBuyerId(ObjectId buyerId) throws DatabaseException;
+    
+    List<Transaction> findBySellerId(ObjectId sellerId) throws DatabaseException;
+    
+    List<Transaction> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) throws DatabaseException;
+    
+    /**
+     * One page of findByDateRange(), newest first by (transactionDate, _id)
+     */
+    Page<Transaction> findPageByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit, String pageToken)
+        throws DatabaseException;
+    
+    List<Transaction> findByType(String transactionType) throws DatabaseException;
+    
+    List<Transaction> findByStatus(String status) throws DatabaseException;
+    
+    /**
+     * Sets the status and completion date
+     * @param notes replaces the notes, or null to leave them unchanged
+     * @return the transaction as it was before the change, or null if there is none
+     */
+    Transaction updateStatus(ObjectId transactionId, String status, LocalDateTime completedDate, String notes)
+        throws DatabaseException;
+}
@@ -0,0 +1,56 @@
+package com.auction.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.ChangeSet;
+import com.auction.models.User;
+import com.auction.pagination.Page;
+
+/**
+ * Storage for the "users" collection
+ */
+public interface UserRepository {
+    
+    void insert(User user) throws DatabaseException;
+    
+    void replace(User user) throws DatabaseException;
+    
+    /**
+     * Writes only the changed fields of a user
+     */
+    void applyChanges(ObjectId userId, ChangeSet changes) throws DatabaseException;
+    
+    void delete(ObjectId userId) throws DatabaseException;
+    
+    User findById(ObjectId userId) throws DatabaseException;
+    
+    /**
+     * @return the users found, in no particular order; ids with no match are skipped
+     */
+    List<User> findByIds(Collection<ObjectId> userIds) throws DatabaseException;
+    
+    User findByUsername(String username) throws DatabaseException;
+    
+    boolean existsByUsername(String username) throws DatabaseException;
+    
+    boolean existsByEmail(String email) throws DatabaseException;
+    
+    List<User> findAll() throws DatabaseException;
+    
+    /**
+     * One page of every user, newest first by (registrationDate, _id)
+     * @param pageToken next-page token of the previous page, or null for the first page
+     */
+    Page<User> findPage(int limit, String pageToken) throws DatabaseException;
+    
+    List<User> findByRole(String role) throws DatabaseException;
+    
+    /**
+     * One page of findByRole(), newest first by (registrationDate, _id)
+     */
+    Page<User> findPageByRole(String role, int limit, String pageToken) throws DatabaseException;
+}
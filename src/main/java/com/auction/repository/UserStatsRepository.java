@@ -0,0 +1,36 @@
+package com.auction.repository;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Transaction;
+import com.auction.models.UserStats;
+
+/**
+ * Storage for the "user_stats" rollup, one row per user keyed by user id.
+ *
+ * New transactions are counted by the checkout write itself (CheckoutRepository);
+ * status changes are applied here with the transaction as it was before the change,
+ * so a transaction moves in or out of the completed totals exactly once.
+ */
+public interface UserStatsRepository {
+    
+    /**
+     * @return the user's row; all zeros if the user has no transactions
+     */
+    UserStats findByUserId(ObjectId userId) throws DatabaseException;
+    
+    /**
+     * Moves the transaction's amount in or out of its buyer's and seller's completed totals
+     * @param before the transaction before its status changed
+     * @param status the new status
+     */
+    void recordStatusChange(Transaction before, String status) throws DatabaseException;
+    
+    /**
+     * Recomputes every row from the "transactions" collection, for backfilling and
+     * for repairing drift. Checkouts and status changes made while it runs can be lost,
+     * so run it with the application stopped.
+     */
+    void rebuild() throws DatabaseException;
+}
@@ -0,0 +1,98 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.auction.models.ActivitySummary;
+import com.auction.models.Transaction;
+import com.auction.repository.ActivityBuckets;
+import com.auction.repository.ActivityRepository;
+
+/**
+ * In-memory ActivityRepository. Each bucket is an immutable ActivitySummary replaced
+ * inside ConcurrentHashMap.merge, so updates to one bucket never interleave. Keys are
+ * (granularity, start, type, status, category) lists.
+ */
+public class MemoryActivityRepository implements ActivityRepository {
+    
+    private final Map<List<Object>, ActivitySummary> buckets = new ConcurrentHashMap<>();
+    private final MemoryTransactionRepository transactions;
+    
+    public MemoryActivityRepository(MemoryTransactionRepository transactions) {
+        this.transactions = transactions;
+    }
+    
+    @Override
+    public List<ActivitySummary> summarize(LocalDateTime from, LocalDateTime to) {
+        List<ActivityBuckets.Span> spans = ActivityBuckets.cover(from, to);
+        Map<List<Object>, ActivitySummary> rows = new TreeMap<>(Comparator.comparing(Object::toString));
+        for (Map.Entry<List<Object>, ActivitySummary> bucket : buckets.entrySet()) {
+            List<Object> key = bucket.getKey();
+            if (spans.stream().anyMatch(span -> span.contains((String) key.get(0), (LocalDateTime) key.get(1)))) {
+                rows.merge(key.subList(2, 5), bucket.getValue(), ActivitySummary::plus);
+            }
+        }
+        
+        List<ActivitySummary> summaries = new ArrayList<>(rows.size());
+        for (ActivitySummary row : rows.values()) {
+            if (row.getCount() > 0) {
+                summaries.add(row);
+            }
+        }
+        return summaries;
+    }
+    
+    @Override
+    public void recordStatusChange(Transaction before, String status) {
+        String oldStatus = ActivityBuckets.status(before.getStatus());
+        String newStatus = ActivityBuckets.status(status);
+        if (oldStatus.equals(newStatus) || before.getTransactionDate() == null) {
+            return;
+        }
+        for (String granularity : ActivityBuckets.GRANULARITIES) {
+            buckets.computeIfPresent(key(granularity, before, oldStatus), (key, bucket) -> new ActivitySummary(
+                bucket.getTransactionType(), bucket.getStatus(), bucket.getCategory(),
+                bucket.getCount() - 1, bucket.getTotalAmount() - before.getAmount(),
+                bucket.getMinAmount(), bucket.getMaxAmount()));
+            add(granularity, before, newStatus);
+        }
+    }
+    
+    @Override
+    public void rebuild() {
+        buckets.clear();
+        for (Transaction transaction : transactions.findAll()) {
+            record(transaction);
+        }
+    }
+    
+    /**
+     * Counts a newly written transaction in its hour and day buckets
+     */
+    void record(Transaction transaction) {
+        if (transaction.getTransactionDate() != null) {
+            for (String granularity : ActivityBuckets.GRANULARITIES) {
+                add(granularity, transaction, ActivityBuckets.status(transaction.getStatus()));
+            }
+        }
+    }
+    
+    private void add(String granularity, Transaction transaction, String status) {
+        double amount = transaction.getAmount();
+        buckets.merge(key(granularity, transaction, status),
+            new ActivitySummary(ActivityBuckets.type(transaction), status, ActivityBuckets.category(transaction),
+                1, amount, amount, amount),
+            ActivitySummary::plus);
+    }
+    
+    private static List<Object> key(String granularity, Transaction transaction, String status) {
+        return Arrays.asList(granularity, ActivityBuckets.start(granularity, transaction.getTransactionDate()),
+            ActivityBuckets.type(transaction), status, ActivityBuckets.category(transaction));
+    }
+}
@@ -0,0 +1,118 @@
+package com.auction.repository.memory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.BsonDates;
+import com.auction.models.Auction;
+import com.auction.models.AuctionListing;
+import com.auction.models.Product;
+import com.auction.models.User;
+import com.auction.pagination.KeysetCursor;
+import com.auction.pagination.Page;
+import com.auction.repository.AuctionListingRepository;
+
+/**
+ * In-memory AuctionListingRepository: cuts the page from the auction store, then
+ * resolves the page's products and bidders by id
+ */
+public class MemoryAuctionListingRepository implements AuctionListingRepository {
+    
+    private static final Comparator<Auction> LISTING_ORDER = Comparator.comparing(Auction::getCreatedAt,
+            Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing(Auction::getId, Comparator.reverseOrder());
+    
+    private final MemoryAuctionRepository auctions;
+    private final MemoryProductRepository products;
+    private final MemoryUserRepository users;
+    
+    public MemoryAuctionListingRepository(MemoryAuctionRepository auctions, MemoryProductRepository products,
+                                          MemoryUserRepository users) {
+        this.auctions = auctions;
+        this.products = products;
+        this.users = users;
+    }
+    
+    @Override
+    public Page<AuctionListing> findPage(boolean activeOnly, int limit, String pageToken) {
+        List<Auction> sorted = MemoryStore.sorted(activeOnly ? auctions.findActive() : auctions.findAll(), LISTING_ORDER);
+        
+        KeysetCursor after = KeysetCursor.decode(pageToken);
+        int start = 0;
+        if (after != null) {
+            Auction position = new Auction();
+            position.setCreatedAt(after.getSortValue() != null ? BsonDates.toLocalDateTime(after.getSortValue()) : null);
+            position.setId(after.getId());
+            while (start < sorted.size() && LISTING_ORDER.compare(sorted.get(start), position) <= 0) {
+                start++;
+            }
+        }
+        int end = Math.min(start + limit, sorted.size());
+        List<Auction> page = sorted.subList(start, end);
+        
+        Set<ObjectId> productIds = new HashSet<>();
+        Set<ObjectId> bidderIds = new HashSet<>();
+        for (Auction auction : page) {
+            if (auction.getProductId() != null) {
+                productIds.add(auction.getProductId());
+            }
+            if (auction.getCurrentHighestBidderId() != null) {
+                bidderIds.add(auction.getCurrentHighestBidderId());
+            }
+        }
+        Map<ObjectId, Product> productsById = products.findByIds(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<ObjectId, User> biddersById = users.findByIds(bidderIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<AuctionListing> listings = new ArrayList<>(page.size());
+        for (Auction auction : page) {
+            listings.add(toListing(auction, productsById.get(auction.getProductId()),
+                biddersById.get(auction.getCurrentHighestBidderId()), now));
+        }
+        
+        String nextPageToken = null;
+        if (end < sorted.size()) {
+            Auction last = page.get(page.size() - 1);
+            nextPageToken = new KeysetCursor(
+                last.getCreatedAt() != null ? BsonDates.toDate(last.getCreatedAt()) : null, last.getId()).encode();
+        }
+        return new Page<>(listings, nextPageToken);
+    }
+    
+    private static AuctionListing toListing(Auction auction, Product product, User bidder, LocalDateTime now) {
+        AuctionListing listing = new AuctionListing();
+        listing.setAuctionId(auction.getId());
+        listing.setProductId(auction.getProductId());
+        listing.setStartingPrice(auction.getStartingPrice());
+        listing.setCurrentHighestBid(auction.getCurrentHighestBid());
+        listing.setTotalBids(auction.getTotalBids());
+        listing.setStatus(auction.getStatus());
+        listing.setCurrentBidderId(auction.getCurrentHighestBidderId());
+        listing.setEndTime(auction.getEndTime());
+        listing.setCreatedAt(auction.getCreatedAt());
+        listing.setTimeLeftMillis(auction.getEndTime() != null
+            ? Math.max(0, Duration.between(now, auction.getEndTime()).toMillis()) : 0);
+        
+        if (product != null) {
+            listing.setProductName(product.getName());
+            listing.setProductCategory(product.getCategory());
+        }
+        if (bidder != null) {
+            listing.setCurrentBidderFirstName(bidder.getFirstName());
+            listing.setCurrentBidderLastName(bidder.getLastName());
+        }
+        return listing;
+    }
+}
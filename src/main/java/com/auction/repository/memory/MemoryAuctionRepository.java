@@ -0,0 +1,183 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+import com.auction.repository.AuctionRepository;
+import com.auction.repository.BidBatchUpdate;
+
+/**
+ * In-memory AuctionRepository. The compare-and-set operations run as atomic
+ * per-auction updates, so they keep the guarantees of the MongoDB implementation.
+ */
+public class MemoryAuctionRepository implements AuctionRepository {
+    
+    private static final Comparator<Auction> NEWEST_FIRST = Comparator.comparing(Auction::getCreatedAt,
+        Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+    
+    private final MemoryStore<Auction> store = new MemoryStore<>(ModelCodecs.AUCTION, Auction::getId)
+        .index("sellerId", Auction::getSellerId)
+        .index("status", Auction::getStatus)
+        .index("isActive", Auction::isActive);
+    
+    @Override
+    public void insert(Auction auction) {
+        store.insert(auction);
+    }
+    
+    @Override
+    public void replace(Auction auction) {
+        store.replace(auction);
+    }
+    
+    @Override
+    public void delete(ObjectId auctionId) {
+        store.delete(auctionId);
+    }
+    
+    @Override
+    public Auction findById(ObjectId auctionId) {
+        return store.findById(auctionId);
+    }
+    
+    @Override
+    public List<Auction> findByIds(Collection<ObjectId> auctionIds) {
+        return store.findByIds(auctionIds);
+    }
+    
+    @Override
+    public List<Auction> findAll() {
+        return MemoryStore.sorted(store.findAll(auction -> true), NEWEST_FIRST);
+    }
+    
+    @Override
+    public Page<Auction> findPage(int limit, String pageToken) {
+        return MemoryStore.page(store.findAll(auction -> true), Auction::getCreatedAt, Auction::getId, limit, pageToken);
+    }
+    
+    /**
+     * Number of stored auctions, without decoding them
+     */
+    int count() {
+        return store.size();
+    }
+    
+    @Override
+    public List<Auction> findActive() {
+        return store.findBy("isActive", true, auction -> "ACTIVE".equals(auction.getStatus()));
+    }
+    
+    @Override
+    public Stream<Auction> streamActive(int batchSize) {
+        return findActive().stream();
+    }
+    
+    @Override
+    public List<Auction> findByStatus(String status) {
+        return store.findBy("status", status);
+    }
+    
+    @Override
+    public List<Auction> findBySellerId(ObjectId sellerId) {
+        return store.findBy("sellerId", sellerId);
+    }
+    
+    @Override
+    public Map<ObjectId, ObjectId> findWinningBidIds(Collection<ObjectId> auctionIds) {
+        Map<ObjectId, ObjectId> winningBidIds = new HashMap<>();
+        for (ObjectId auctionId : auctionIds) {
+            Auction auction = store.findById(auctionId);
+            if (auction != null && auction.getCurrentHighestBidId() != null) {
+                winningBidIds.put(auctionId, auction.getCurrentHighestBidId());
+            }
+        }
+        return winningBidIds;
+    }
+    
+    @Override
+    public Auction acceptBid(Bid bid, LocalDateTime now) {
+        return store.update(bid.getAuctionId(), auction -> {
+            if (!auction.isActive() || !auction.getEndTime().isAfter(now)
+                    || auction.getCurrentHighestBid() >= bid.getBidAmount()) {
+                return null;
+            }
+            auction.setCurrentHighestBid(bid.getBidAmount());
+            auction.setCurrentHighestBidderId(bid.getBidderId());
+            auction.setCurrentHighestBidId(bid.getId());
+            auction.setTotalBids(auction.getTotalBids() + 1);
+            auction.setEndTime(now.plusMinutes(auction.getDurationMinutes()));
+            return auction;
+        });
+    }
+    
+    @Override
+    public boolean end(ObjectId auctionId) {
+        return store.update(auctionId, auction -> {
+            if (!auction.isActive()) {
+                return null;
+            }
+            auction.setActive(false);
+            auction.setCompleted(true);
+            auction.setStatus("COMPLETED");
+            return auction;
+        }) != null;
+    }
+    
+    @Override
+    public Set<ObjectId> applyBidBatch(List<BidBatchUpdate> updates) {
+        Set<ObjectId> applied = new HashSet<>();
+        for (BidBatchUpdate update : updates) {
+            Auction latest = update.getLatest();
+            Auction stored = store.update(latest.getId(), auction -> {
+                if (!auction.isActive() || !auction.getEndTime().isAfter(update.getFirstBidTime())
+                        || auction.getCurrentHighestBid() >= update.getFirstBidAmount()) {
+                    return null;
+                }
+                auction.setCurrentHighestBid(latest.getCurrentHighestBid());
+                auction.setCurrentHighestBidderId(latest.getCurrentHighestBidderId());
+                auction.setCurrentHighestBidId(latest.getCurrentHighestBidId());
+                auction.setEndTime(latest.getEndTime());
+                auction.setTotalBids(auction.getTotalBids() + update.getBidCount());
+                return auction;
+            });
+            if (stored != null) {
+                applied.add(latest.getId());
+            }
+        }
+        return applied;
+    }
+    
+    @Override
+    public List<Auction> completeExpired(LocalDateTime now) {
+        List<Auction> newlyCompleted = new ArrayList<>();
+        for (Auction expired : store.findBy("isActive", true, auction -> auction.getEndTime().isBefore(now))) {
+            Auction completed = store.update(expired.getId(), auction -> {
+                if (!auction.isActive() || !auction.getEndTime().isBefore(now)) {
+                    return null;
+                }
+                auction.setActive(false);
+                auction.setCompleted(true);
+                auction.setStatus("COMPLETED");
+                return auction;
+            });
+            if (completed != null) {
+                newlyCompleted.add(completed);
+            }
+        }
+        return newlyCompleted;
+    }
+}
@@ -0,0 +1,62 @@
+package com.auction.repository.memory;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+import com.auction.repository.BidRepository;
+
+/**
+ * In-memory BidRepository, indexed by auction and by bidder
+ */
+public class MemoryBidRepository implements BidRepository {
+    
+    private static final Comparator<Bid> NEWEST_FIRST = MemoryStore.newestFirst(Bid::getBidTime, Bid::getId);
+    
+    private final MemoryStore<Bid> store = new MemoryStore<>(ModelCodecs.BID, Bid::getId)
+        .index("auctionId", Bid::getAuctionId)
+        .index("bidderId", Bid::getBidderId);
+    
+    @Override
+    public void insert(Bid bid) {
+        store.insert(bid);
+    }
+    
+    @Override
+    public void insertAll(List<Bid> bids) {
+        for (Bid bid : bids) {
+            store.insert(bid);
+        }
+    }
+    
+    @Override
+    public void deleteByIds(List<ObjectId> bidIds) {
+        for (ObjectId bidId : bidIds) {
+            store.delete(bidId);
+        }
+    }
+    
+    @Override
+    public List<Bid> findByAuctionId(ObjectId auctionId) {
+        return MemoryStore.sorted(store.findBy("auctionId", auctionId), NEWEST_FIRST);
+    }
+    
+    @Override
+    public List<Bid> findByBidderId(ObjectId bidderId) {
+        return MemoryStore.sorted(store.findBy("bidderId", bidderId), NEWEST_FIRST);
+    }
+    
+    @Override
+    public Page<Bid> findPageByAuctionId(ObjectId auctionId, int limit, String pageToken) {
+        return MemoryStore.page(store.findBy("auctionId", auctionId), Bid::getBidTime, Bid::getId, limit, pageToken);
+    }
+    
+    @Override
+    public Page<Bid> findPageByBidderId(ObjectId bidderId, int limit, String pageToken) {
+        return MemoryStore.page(store.findBy("bidderId", bidderId), Bid::getBidTime, Bid::getId, limit, pageToken);
+    }
+}
@@ -0,0 +1,76 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+import com.auction.models.Buyer;
+import com.auction.models.Seller;
+import com.auction.models.Transaction;
+import com.auction.repository.CheckoutRepository;
+
+/**
+ * In-memory CheckoutRepository. Stock is taken product by product with atomic
+ * guarded updates and given back if any product runs short, so a cart is bought
+ * completely or not at all; concurrent readers may briefly see the stock taken
+ * by a checkout that is about to fail.
+ */
+public class MemoryCheckoutRepository implements CheckoutRepository {
+    
+    private final MemoryProductRepository products;
+    private final MemoryUserRepository users;
+    private final MemoryTransactionRepository transactions;
+    private final MemoryUserStatsRepository userStats;
+    private final MemoryActivityRepository activity;
+    
+    public MemoryCheckoutRepository(MemoryProductRepository products, MemoryUserRepository users,
+                                    MemoryTransactionRepository transactions, MemoryUserStatsRepository userStats,
+                                    MemoryActivityRepository activity) {
+        this.products = products;
+        this.users = users;
+        this.transactions = transactions;
+        this.userStats = userStats;
+        this.activity = activity;
+    }
+    
+    @Override
+    public boolean commit(List<Transaction> purchases, Map<ObjectId, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<ObjectId, Integer>> taken = new ArrayList<>(quantities.size());
+        for (Map.Entry<ObjectId, Integer> entry : quantities.entrySet()) {
+            if (products.takeStock(entry.getKey(), entry.getValue(), now) < 0) {
+                for (Map.Entry<ObjectId, Integer> undo : taken) {
+                    products.giveBackStock(undo.getKey(), undo.getValue());
+                }
+                return false;
+            }
+            taken.add(entry);
+        }
+        
+        for (Transaction purchase : purchases) {
+            transactions.insert(purchase);
+            userStats.record(purchase);
+            activity.record(purchase);
+            
+            users.update(purchase.getBuyerId(), user -> {
+                Buyer buyer = (Buyer) user;
+                buyer.updateSpent(purchase.getAmount());
+                buyer.incrementPurchases();
+                return buyer;
+            });
+            
+            if (purchase.getSellerId() != null) {
+                users.update(purchase.getSellerId(), user -> {
+                    Seller seller = (Seller) user;
+                    seller.updateEarnings(purchase.getAmount());
+                    seller.incrementProductsSold();
+                    return seller;
+                });
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,212 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.models.CategoryCount;
+import com.auction.models.Product;
+import com.auction.models.ProductSearchFilters;
+import com.auction.pagination.Page;
+import com.auction.pagination.RankCursor;
+import com.auction.repository.ProductRepository;
+
+/**
+ * In-memory ProductRepository
+ */
+public class MemoryProductRepository implements ProductRepository {
+    
+    private final MemoryStore<Product> store = new MemoryStore<>(ModelCodecs.PRODUCT, Product::getId)
+        .index("category", Product::getCategory)
+        .index("sellerId", Product::getSellerId)
+        .index("isSold", Product::isSold);
+    
+    private static final Comparator<Map.Entry<ObjectId, Integer>> RELEVANCE =
+        Map.Entry.<ObjectId, Integer>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+    
+    private final ProductTextIndex textIndex = new ProductTextIndex();
+    
+    @Override
+    public void insert(Product product) {
+        store.insert(product);
+        textIndex.index(product);
+    }
+    
+    @Override
+    public void replace(Product product) {
+        if (store.replace(product)) {
+            textIndex.index(product);
+        }
+    }
+    
+    @Override
+    public void delete(ObjectId productId) {
+        store.delete(productId);
+        textIndex.remove(productId);
+    }
+    
+    @Override
+    public Product findById(ObjectId productId) {
+        return store.findById(productId);
+    }
+    
+    @Override
+    public List<Product> findByIds(Collection<ObjectId> productIds) {
+        return store.findByIds(productIds);
+    }
+    
+    @Override
+    public List<Product> findAll() {
+        return store.findAll(product -> true);
+    }
+    
+    @Override
+    public Page<Product> findPage(int limit, String pageToken) {
+        return MemoryStore.page(findAll(), Product::getDateAdded, Product::getId, limit, pageToken);
+    }
+    
+    /**
+     * Number of stored products, without decoding them
+     */
+    int count() {
+        return store.size();
+    }
+    
+    @Override
+    public List<Product> findByCategory(String category) {
+        return store.findBy("category", category);
+    }
+    
+    @Override
+    public List<Product> findBySellerId(ObjectId sellerId) {
+        return store.findBy("sellerId", sellerId);
+    }
+    
+    @Override
+    public long countBySellerId(ObjectId sellerId) {
+        return findBySellerId(sellerId).size();
+    }
+    
+    /**
+     * Ranks the products sharing a term with the query from the inverted index, then
+     * decodes them in rank order only until the page (plus one) passes the filters
+     */
+    @Override
+    public Page<Product> search(String query, ProductSearchFilters filters, int limit, String pageToken) {
+        List<Map.Entry<ObjectId, Integer>> ranked = new ArrayList<>(textIndex.search(query).entrySet());
+        ranked.sort(RELEVANCE);
+        
+        RankCursor after = RankCursor.decode(pageToken);
+        List<Product> page = new ArrayList<>(limit);
+        int lastScore = 0;
+        for (Map.Entry<ObjectId, Integer> match : ranked) {
+            if (after != null && (match.getValue() > after.getRank()
+                    || (match.getValue() == after.getRank() && match.getKey().compareTo(after.getId()) >= 0))) {
+                continue;
+            }
+            Product product = store.findById(match.getKey());
+            if (product == null || !filters.matches(product)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                Product last = page.get(limit - 1);
+                return new Page<>(page, new RankCursor(lastScore, last.getId()).encode());
+            }
+            page.add(product);
+            lastScore = match.getValue();
+        }
+        return new Page<>(page, null);
+    }
+    
+    @Override
+    public List<Product> findAvailable() {
+        return store.findBy("isSold", false, Product::isAvailable);
+    }
+    
+    @Override
+    public Stream<Product> streamAll(String pageToken, int batchSize) {
+        return MemoryStore.streamAfter(findAll(), Product::getDateAdded, Product::getId, pageToken);
+    }
+    
+    @Override
+    public Page<Product> findAvailablePage(int limit, String pageToken) {
+        return MemoryStore.page(findAvailable(), Product::getDateAdded, Product::getId, limit, pageToken);
+    }
+    
+    @Override
+    public List<Product> findSold() {
+        return store.findBy("isSold", true);
+    }
+    
+    @Override
+    public Page<Product> findSoldPage(int limit, String pageToken) {
+        return MemoryStore.page(findSold(), Product::getDateSold, Product::getId, limit, pageToken);
+    }
+    
+    @Override
+    public void markSold(ObjectId productId, LocalDateTime dateSold) {
+        store.update(productId, product -> {
+            product.setSold(true);
+            product.setAvailable(false);
+            product.setDateSold(dateSold);
+            return product;
+        });
+    }
+    
+    @Override
+    public List<CategoryCount> countByCategory() {
+        TreeMap<String, long[]> counts = new TreeMap<>();
+        for (Product product : store.findAll(product -> product.getCategory() != null)) {
+            long[] count = counts.computeIfAbsent(product.getCategory(), category -> new long[2]);
+            count[0]++;
+            if (product.isAvailable() && !product.isSold()) {
+                count[1]++;
+            }
+        }
+        List<CategoryCount> categories = new ArrayList<>(counts.size());
+        counts.forEach((category, count) -> categories.add(new CategoryCount(category, count[0], count[1])));
+        return categories;
+    }
+    
+    @Override
+    public int takeStock(ObjectId productId, int quantity, LocalDateTime now) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to take must be positive: " + quantity);
+        }
+        Product updated = store.update(productId, product -> {
+            if (product.isSold() || !product.isAvailable() || product.getQuantity() < quantity) {
+                return null;
+            }
+            product.setQuantity(product.getQuantity() - quantity);
+            if (product.getQuantity() == 0) {
+                product.setSold(true);
+                product.setAvailable(false);
+                product.setDateSold(now);
+            }
+            return product;
+        });
+        return updated != null ? updated.getQuantity() : -1;
+    }
+    
+    /**
+     * Undoes {@link #takeStock}
+     */
+    void giveBackStock(ObjectId productId, int n) {
+        store.update(productId, product -> {
+            product.setQuantity(product.getQuantity() + n);
+            product.setSold(false);
+            product.setAvailable(true);
+            product.setDateSold(null);
+            return product;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.auction.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+import com.auction.models.Product;
+import com.auction.models.Seller;
+import com.auction.models.SellerDirectoryEntry;
+import com.auction.models.User;
+import com.auction.pagination.Page;
+import com.auction.pagination.RankCursor;
+import com.auction.repository.SellerDirectoryRepository;
+
+/**
+ * In-memory SellerDirectoryRepository: counts products per seller, ranks the sellers
+ * and cuts the page
+ */
+public class MemorySellerDirectoryRepository implements SellerDirectoryRepository {
+    
+    private static final Comparator<SellerDirectoryEntry> BY_RATING = Comparator
+        .comparingDouble(SellerDirectoryEntry::getRating).reversed()
+        .thenComparing(SellerDirectoryEntry::getSellerId, Comparator.reverseOrder());
+    
+    private static final Comparator<SellerDirectoryEntry> BY_PRODUCT_COUNT = Comparator
+        .comparingLong(SellerDirectoryEntry::getProductCount).reversed()
+        .thenComparing(SellerDirectoryEntry::getSellerId, Comparator.reverseOrder());
+    
+    private final MemoryProductRepository products;
+    private final MemoryUserRepository users;
+    
+    public MemorySellerDirectoryRepository(MemoryProductRepository products, MemoryUserRepository users) {
+        this.products = products;
+        this.users = users;
+    }
+    
+    @Override
+    public Page<SellerDirectoryEntry> findPage(boolean byRating, int limit, String pageToken) {
+        Map<ObjectId, Long> counts = new HashMap<>();
+        for (Product product : products.findAll()) {
+            if (product.getSellerId() != null) {
+                counts.merge(product.getSellerId(), 1L, Long::sum);
+            }
+        }
+        
+        List<SellerDirectoryEntry> entries = new ArrayList<>();
+        for (User user : users.findByRole("SELLER")) {
+            if (user instanceof Seller) {
+                entries.add(toEntry((Seller) user, counts.getOrDefault(user.getId(), 0L)));
+            }
+        }
+        Comparator<SellerDirectoryEntry> order = byRating ? BY_RATING : BY_PRODUCT_COUNT;
+        List<SellerDirectoryEntry> sorted = MemoryStore.sorted(entries, order);
+        
+        RankCursor after = RankCursor.decode(pageToken);
+        int start = 0;
+        if (after != null) {
+            SellerDirectoryEntry position = new SellerDirectoryEntry();
+            position.setSellerId(after.getId());
+            position.setRating(after.getRank());
+            position.setProductCount((long) after.getRank());
+            while (start < sorted.size() && order.compare(sorted.get(start), position) <= 0) {
+                start++;
+            }
+        }
+        int end = Math.min(start + limit, sorted.size());
+        List<SellerDirectoryEntry> page = new ArrayList<>(sorted.subList(start, end));
+        
+        String nextPageToken = null;
+        if (end < sorted.size()) {
+            SellerDirectoryEntry last = page.get(page.size() - 1);
+            nextPageToken = new RankCursor(byRating ? last.getRating() : last.getProductCount(), last.getSellerId()).encode();
+        }
+        return new Page<>(page, nextPageToken);
+    }
+    
+    private static SellerDirectoryEntry toEntry(Seller seller, long productCount) {
+        SellerDirectoryEntry entry = new SellerDirectoryEntry();
+        entry.setSellerId(seller.getId());
+        entry.setFirstName(seller.getFirstName());
+        entry.setLastName(seller.getLastName());
+        entry.setEmail(seller.getEmail());
+        entry.setPhoneNumber(seller.getPhoneNumber());
+        entry.setRating(seller.getRating());
+        entry.setTotalRatings(seller.getTotalRatings());
+        entry.setRegistrationDate(seller.getRegistrationDate());
+        entry.setProductCount(productCount);
+        return entry;
+    }
+}
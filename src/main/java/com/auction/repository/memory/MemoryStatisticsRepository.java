@@ -0,0 +1,51 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.auction.models.SystemStatistics;
+import com.auction.models.Transaction;
+import com.auction.repository.StatisticsRepository;
+
+/**
+ * In-memory StatisticsRepository. Totals are store sizes; filtered counts go through the store indexes
+ */
+public class MemoryStatisticsRepository implements StatisticsRepository {
+    
+    private final MemoryAuctionRepository auctions;
+    private final MemoryProductRepository products;
+    private final MemoryUserRepository users;
+    private final MemoryTransactionRepository transactions;
+    
+    public MemoryStatisticsRepository(MemoryAuctionRepository auctions, MemoryProductRepository products,
+                                      MemoryUserRepository users, MemoryTransactionRepository transactions) {
+        this.auctions = auctions;
+        this.products = products;
+        this.users = users;
+        this.transactions = transactions;
+    }
+    
+    @Override
+    public SystemStatistics computeSystemStatistics() {
+        SystemStatistics stats = new SystemStatistics();
+        stats.setTotalBuyers(users.findByRole("BUYER").size());
+        stats.setTotalSellers(users.findByRole("SELLER").size());
+        
+        stats.setTotalProducts(products.count());
+        stats.setSoldProducts(products.findSold().size());
+        stats.setAvailableProducts(products.findAvailable().size());
+        
+        stats.setTotalAuctions(auctions.count());
+        stats.setActiveAuctions(auctions.findActive().size());
+        stats.setCompletedAuctions(auctions.findByStatus("COMPLETED").size());
+        
+        List<Transaction> completed = transactions.findByStatus("COMPLETED");
+        stats.setTotalTransactions(transactions.count());
+        stats.setCompletedTransactions(completed.size());
+        stats.setPendingTransactions(transactions.findByStatus("PENDING").size());
+        stats.setCompletedRevenue(completed.stream().mapToDouble(Transaction::getAmount).sum());
+        
+        stats.setComputedAt(LocalDateTime.now());
+        return stats;
+    }
+}
@@ -0,0 +1,306 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.Codec;
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.BsonDates;
+import com.auction.pagination.KeysetCursor;
+import com.auction.pagination.Page;
+
+/**
+ * One in-memory collection: rows keyed by _id plus secondary indexes on chosen fields.
+ *
+ * Rows are kept as BSON encoded with the model codec, so callers always get their own
+ * copy (as they would from MongoDB) and can mutate it freely. Every write to a row,
+ * including its index entries, runs inside ConcurrentHashMap.compute for that _id, so
+ * writes to one row are atomic and writes to different rows never block each other.
+ * Index lookups re-check the key on the decoded row, which hides the short window in
+ * which an index entry can be stale.
+ */
+class MemoryStore<T> {
+    
+    private final Map<ObjectId, RawBsonDocument> rows = new ConcurrentHashMap<>();
+    private final Map<String, Index<T>> indexes = new LinkedHashMap<>();
+    private final Codec<T> codec;
+    private final Function<T, ObjectId> idOf;
+    
+    MemoryStore(Codec<T> codec, Function<T, ObjectId> idOf) {
+        this.codec = codec;
+        this.idOf = idOf;
+    }
+    
+    /**
+     * Adds a secondary index. Must be called before the store is used.
+     * @param keyOf extracts the indexed value; rows where it is null are not indexed
+     */
+    MemoryStore<T> index(String name, Function<T, Object> keyOf) {
+        indexes.put(name, new Index<>(keyOf));
+        return this;
+    }
+    
+    /**
+     * @throws IllegalStateException if a row with the same _id exists
+     */
+    void insert(T entity) {
+        ObjectId id = idOf.apply(entity);
+        RawBsonDocument raw = new RawBsonDocument(entity, codec);
+        rows.compute(id, (key, existing) -> {
+            if (existing != null) {
+                throw new IllegalStateException("Duplicate key: _id " + id);
+            }
+            reindex(id, null, entity);
+            return raw;
+        });
+    }
+    
+    /**
+     * @return false if there was no row to replace
+     */
+    boolean replace(T entity) {
+        ObjectId id = idOf.apply(entity);
+        RawBsonDocument raw = new RawBsonDocument(entity, codec);
+        return rows.computeIfPresent(id, (key, existing) -> {
+            reindex(id, existing.decode(codec), entity);
+            return raw;
+        }) != null;
+    }
+    
+    boolean delete(ObjectId id) {
+        AtomicReference<RawBsonDocument> removed = new AtomicReference<>();
+        rows.computeIfPresent(id, (key, existing) -> {
+            reindex(id, existing.decode(codec), null);
+            removed.set(existing);
+            return null;
+        });
+        return removed.get() != null;
+    }
+    
+    /**
+     * Atomically applies change to one row
+     * @param change mutates and returns the row, or returns null to leave it untouched
+     * @return the row after the change, or null if the row is missing or was left untouched
+     */
+    T update(ObjectId id, UnaryOperator<T> change) {
+        return apply(id, change, false);
+    }
+    
+    /**
+     * Like update, but returns the row as it was before the change
+     * @return the row before the change, or null if the row is missing or was left untouched
+     */
+    T getAndUpdate(ObjectId id, UnaryOperator<T> change) {
+        return apply(id, change, true);
+    }
+    
+    private T apply(ObjectId id, UnaryOperator<T> change, boolean returnBefore) {
+        AtomicReference<T> result = new AtomicReference<>();
+        rows.computeIfPresent(id, (key, existing) -> {
+            T before = existing.decode(codec);
+            T after = change.apply(existing.decode(codec));
+            if (after == null) {
+                return existing;
+            }
+            reindex(id, before, after);
+            result.set(returnBefore ? before : after);
+            return new RawBsonDocument(after, codec);
+        });
+        return result.get();
+    }
+    
+    /**
+     * Atomically applies change to the stored BSON of one row, for updates expressed on
+     * stored fields rather than on the model
+     */
+    void updateDocument(ObjectId id, Consumer<BsonDocument> change) {
+        rows.computeIfPresent(id, (key, existing) -> {
+            BsonDocument document = existing.decode(new BsonDocumentCodec());
+            change.accept(document);
+            RawBsonDocument updated = new RawBsonDocument(document, new BsonDocumentCodec());
+            reindex(id, existing.decode(codec), updated.decode(codec));
+            return updated;
+        });
+    }
+    
+    T findById(ObjectId id) {
+        RawBsonDocument raw = rows.get(id);
+        return raw != null ? raw.decode(codec) : null;
+    }
+    
+    /**
+     * @return the entities found, in no particular order; unknown ids are skipped
+     */
+    List<T> findByIds(Collection<ObjectId> ids) {
+        List<T> found = new ArrayList<>(ids.size());
+        for (ObjectId id : ids) {
+            T entity = findById(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+    
+    int size() {
+        return rows.size();
+    }
+    
+    List<T> findAll(Predicate<T> filter) {
+        List<T> matches = new ArrayList<>();
+        for (RawBsonDocument raw : rows.values()) {
+            T entity = raw.decode(codec);
+            if (filter.test(entity)) {
+                matches.add(entity);
+            }
+        }
+        return matches;
+    }
+    
+    List<T> findBy(String indexName, Object key, Predicate<T> filter) {
+        Index<T> index = indexes.get(indexName);
+        if (key == null) {
+            // Null keys are not indexed; like eq(field, null) this matches rows without a value
+            return findAll(entity -> index.keyOf.apply(entity) == null && filter.test(entity));
+        }
+        Set<ObjectId> ids = index.entries.get(key);
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        
+        List<T> matches = new ArrayList<>(ids.size());
+        for (ObjectId id : ids) {
+            RawBsonDocument raw = rows.get(id);
+            if (raw != null) {
+                T entity = raw.decode(codec);
+                if (Objects.equals(index.keyOf.apply(entity), key) && filter.test(entity)) {
+                    matches.add(entity);
+                }
+            }
+        }
+        return matches;
+    }
+    
+    List<T> findBy(String indexName, Object key) {
+        return findBy(indexName, key, entity -> true);
+    }
+    
+    boolean exists(String indexName, Object key) {
+        return !findBy(indexName, key).isEmpty();
+    }
+    
+    static <T> List<T> sorted(List<T> entities, Comparator<T> order) {
+        Collections.sort(entities, order);
+        return entities;
+    }
+    
+    /**
+     * Newest first on (sortValue, _id); rows without a sort value last, as MongoDB orders them
+     */
+    static <T> Comparator<T> newestFirst(Function<T, LocalDateTime> sortValueOf, Function<T, ObjectId> idOf) {
+        return Comparator.comparing(sortValueOf, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(idOf, Comparator.reverseOrder());
+    }
+    
+    /**
+     * Sorts the entities newest first on (sortValue, _id) and cuts out the page that
+     * follows pageToken, with the same tokens as the MongoDB repositories
+     */
+    static <T> Page<T> page(List<T> entities, Function<T, LocalDateTime> sortValueOf, Function<T, ObjectId> idOf,
+                            int limit, String pageToken) {
+        sorted(entities, newestFirst(sortValueOf, idOf));
+        int start = startAfter(entities, sortValueOf, idOf, pageToken);
+        int end = Math.min(start + limit, entities.size());
+        List<T> rows = new ArrayList<>(entities.subList(start, end));
+        
+        String nextPageToken = null;
+        if (end < entities.size()) {
+            T last = rows.get(rows.size() - 1);
+            LocalDateTime sortValue = sortValueOf.apply(last);
+            nextPageToken = new KeysetCursor(sortValue != null ? BsonDates.toDate(sortValue) : null, idOf.apply(last)).encode();
+        }
+        return new Page<>(rows, nextPageToken);
+    }
+    
+    /**
+     * Every entity that follows pageToken (all of them for a null token), in page order
+     */
+    static <T> Stream<T> streamAfter(List<T> entities, Function<T, LocalDateTime> sortValueOf, Function<T, ObjectId> idOf,
+                                     String pageToken) {
+        sorted(entities, newestFirst(sortValueOf, idOf));
+        return entities.subList(startAfter(entities, sortValueOf, idOf, pageToken), entities.size()).stream();
+    }
+    
+    /**
+     * @return the index of the first of the sorted entities that follows pageToken
+     */
+    private static <T> int startAfter(List<T> sorted, Function<T, LocalDateTime> sortValueOf, Function<T, ObjectId> idOf,
+                                      String pageToken) {
+        KeysetCursor after = KeysetCursor.decode(pageToken);
+        int start = 0;
+        if (after != null) {
+            LocalDateTime afterValue = after.getSortValue() != null ? BsonDates.toLocalDateTime(after.getSortValue()) : null;
+            Comparator<LocalDateTime> valueOrder = Comparator.nullsLast(Comparator.reverseOrder());
+            while (start < sorted.size()) {
+                T entity = sorted.get(start);
+                int byValue = valueOrder.compare(sortValueOf.apply(entity), afterValue);
+                if (byValue > 0 || (byValue == 0 && idOf.apply(entity).compareTo(after.getId()) < 0)) {
+                    break;
+                }
+                start++;
+            }
+        }
+        return start;
+    }
+    
+    private void reindex(ObjectId id, T before, T after) {
+        for (Index<T> index : indexes.values()) {
+            Object oldKey = before != null ? index.keyOf.apply(before) : null;
+            Object newKey = after != null ? index.keyOf.apply(after) : null;
+            if (Objects.equals(oldKey, newKey)) {
+                continue;
+            }
+            if (oldKey != null) {
+                index.entries.computeIfPresent(oldKey, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            if (newKey != null) {
+                index.entries.compute(newKey, (key, ids) -> {
+                    Set<ObjectId> updated = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    updated.add(id);
+                    return updated;
+                });
+            }
+        }
+    }
+    
+    private static final class Index<T> {
+        private final Function<T, Object> keyOf;
+        private final Map<Object, Set<ObjectId>> entries = new ConcurrentHashMap<>();
+        
+        private Index(Function<T, Object> keyOf) {
+            this.keyOf = keyOf;
+        }
+    }
+}
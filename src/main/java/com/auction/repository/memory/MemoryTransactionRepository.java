@@ -0,0 +1,118 @@
+package com.auction.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.models.Transaction;
+import com.auction.pagination.Page;
+import com.auction.repository.TransactionRepository;
+
+/**
+ * In-memory TransactionRepository
+ */
+public class MemoryTransactionRepository implements TransactionRepository {
+    
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator.comparing(Transaction::getTransactionDate,
+        Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+    
+    private final MemoryStore<Transaction> store = new MemoryStore<>(ModelCodecs.TRANSACTION, Transaction::getId)
+        .index("buyerId", Transaction::getBuyerId)
+        .index("sellerId", Transaction::getSellerId)
+        .index("transactionType", Transaction::getTransactionType)
+        .index("status", Transaction::getStatus);
+    
+    @Override
+    public void insert(Transaction transaction) {
+        store.insert(transaction);
+    }
+    
+    @Override
+    public void replace(Transaction transaction) {
+        store.replace(transaction);
+    }
+    
+    @Override
+    public void delete(ObjectId transactionId) {
+        store.delete(transactionId);
+    }
+    
+    @Override
+    public Transaction findById(ObjectId transactionId) {
+        return store.findById(transactionId);
+    }
+    
+    @Override
+    public List<Transaction> findAll() {
+        return MemoryStore.sorted(store.findAll(transaction -> true), NEWEST_FIRST);
+    }
+    
+    @Override
+    public Page<Transaction> findPage(int limit, String pageToken) {
+        return MemoryStore.page(store.findAll(transaction -> true), Transaction::getTransactionDate, Transaction::getId,
+            limit, pageToken);
+    }
+    
+    @Override
+    public Stream<Transaction> streamAll(String pageToken, int batchSize) {
+        return MemoryStore.streamAfter(store.findAll(transaction -> true), Transaction::getTransactionDate,
+            Transaction::getId, pageToken);
+    }
+    
+    /**
+     * Number of stored transactions, without decoding them
+     */
+    int count() {
+        return store.size();
+    }
+    
+    @Override
+    public List<Transaction> findByBuyerId(ObjectId buyerId) {
+        return MemoryStore.sorted(store.findBy("buyerId", buyerId), NEWEST_FIRST);
+    }
+    
+    @Override
+    public List<Transaction> findBySellerId(ObjectId sellerId) {
+        return MemoryStore.sorted(store.findBy("sellerId", sellerId), NEWEST_FIRST);
+    }
+    
+    @Override
+    public List<Transaction> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return MemoryStore.sorted(store.findAll(transaction -> transaction.getTransactionDate() != null
+            && !transaction.getTransactionDate().isBefore(startDate)
+            && !transaction.getTransactionDate().isAfter(endDate)), NEWEST_FIRST);
+    }
+    
+    @Override
+    public Page<Transaction> findPageByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit,
+                                                 String pageToken) {
+        return MemoryStore.page(findByDateRange(startDate, endDate), Transaction::getTransactionDate, Transaction::getId,
+            limit, pageToken);
+    }
+    
+    @Override
+    public List<Transaction> findByType(String transactionType) {
+        return MemoryStore.sorted(store.findBy("transactionType", transactionType), NEWEST_FIRST);
+    }
+    
+    @Override
+    public List<Transaction> findByStatus(String status) {
+        return MemoryStore.sorted(store.findBy("status", status), NEWEST_FIRST);
+    }
+    
+    @Override
+    public Transaction updateStatus(ObjectId transactionId, String status, LocalDateTime completedDate, String notes) {
+        return store.getAndUpdate(transactionId, transaction -> {
+            transaction.setStatus(status);
+            transaction.setCompletedDate(completedDate);
+            if (notes != null) {
+                transaction.setNotes(notes);
+            }
+            return transaction;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.auction.repository.memory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.models.ChangeSet;
+import com.auction.models.User;
+import com.auction.pagination.Page;
+import com.auction.repository.UserRepository;
+
+/**
+ * In-memory UserRepository
+ */
+public class MemoryUserRepository implements UserRepository {
+    
+    private final MemoryStore<User> store = new MemoryStore<>(ModelCodecs.USER, User::getId)
+        .index("username", User::getUsername)
+        .index("email", User::getEmail)
+        .index("role", User::getRole);
+    
+    @Override
+    public void insert(User user) {
+        store.insert(user);
+    }
+    
+    @Override
+    public void replace(User user) {
+        store.replace(user);
+    }
+    
+    /**
+     * Mirrors the MongoDB update operators on the stored document
+     */
+    @Override
+    public void applyChanges(ObjectId userId, ChangeSet changes) {
+        store.updateDocument(userId, document -> {
+            changes.getSets().forEach((field, value) -> document.put(field, toBson(value)));
+            changes.getIncrements().forEach((field, delta) -> {
+                BsonValue current = document.get(field);
+                double sum = (current != null && current.isNumber() ? current.asNumber().doubleValue() : 0) + delta.doubleValue();
+                document.put(field, current != null && current.isDouble() || delta instanceof Double
+                    ? new BsonDouble(sum) : new BsonInt32((int) sum));
+            });
+        });
+    }
+    
+    private static BsonValue toBson(Object value) {
+        return new Document("v", value).toBsonDocument(BsonDocument.class, ModelCodecs.REGISTRY).get("v");
+    }
+    
+    @Override
+    public void delete(ObjectId userId) {
+        store.delete(userId);
+    }
+    
+    @Override
+    public User findById(ObjectId userId) {
+        return store.findById(userId);
+    }
+    
+    @Override
+    public List<User> findByIds(Collection<ObjectId> userIds) {
+        return store.findByIds(userIds);
+    }
+    
+    @Override
+    public User findByUsername(String username) {
+        List<User> users = store.findBy("username", username);
+        return users.isEmpty() ? null : users.get(0);
+    }
+    
+    @Override
+    public boolean existsByUsername(String username) {
+        return store.exists("username", username);
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        return store.exists("email", email);
+    }
+    
+    @Override
+    public List<User> findAll() {
+        return store.findAll(user -> true);
+    }
+    
+    @Override
+    public Page<User> findPage(int limit, String pageToken) {
+        return MemoryStore.page(findAll(), User::getRegistrationDate, User::getId, limit, pageToken);
+    }
+    
+    @Override
+    public List<User> findByRole(String role) {
+        return store.findBy("role", role);
+    }
+    
+    @Override
+    public Page<User> findPageByRole(String role, int limit, String pageToken) {
+        return MemoryStore.page(findByRole(role), User::getRegistrationDate, User::getId, limit, pageToken);
+    }
+    
+    /**
+     * Atomically applies change to one user
+     */
+    void update(ObjectId userId, UnaryOperator<User> change) {
+        store.update(userId, change);
+    }
+}
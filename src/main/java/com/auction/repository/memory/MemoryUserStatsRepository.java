@@ -0,0 +1,102 @@
+package com.auction.repository.memory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
+
+import com.auction.models.Transaction;
+import com.auction.models.UserStats;
+import com.auction.repository.UserStatsRepository;
+
+/**
+ * In-memory UserStatsRepository. Each change replaces the user's row with an updated
+ * copy inside ConcurrentHashMap.compute, so increments for one user never interleave
+ * and readers only ever see whole rows.
+ */
+public class MemoryUserStatsRepository implements UserStatsRepository {
+    
+    private static final String COMPLETED = "COMPLETED";
+    
+    private final Map<ObjectId, UserStats> rows = new ConcurrentHashMap<>();
+    private final MemoryTransactionRepository transactions;
+    
+    public MemoryUserStatsRepository(MemoryTransactionRepository transactions) {
+        this.transactions = transactions;
+    }
+    
+    @Override
+    public UserStats findByUserId(ObjectId userId) {
+        UserStats row = rows.get(userId);
+        return row != null ? copy(row) : new UserStats(userId);
+    }
+    
+    @Override
+    public void recordStatusChange(Transaction before, String status) {
+        boolean wasCompleted = COMPLETED.equals(before.getStatus());
+        if (wasCompleted == COMPLETED.equals(status)) {
+            return;
+        }
+        int sign = wasCompleted ? -1 : 1;
+        
+        increment(before.getBuyerId(), stats -> {
+            stats.setCompletedPurchases(stats.getCompletedPurchases() + sign);
+            stats.setAmountSpent(stats.getAmountSpent() + sign * before.getAmount());
+        });
+        increment(before.getSellerId(), stats -> {
+            stats.setCompletedSales(stats.getCompletedSales() + sign);
+            stats.setAmountEarned(stats.getAmountEarned() + sign * before.getAmount());
+        });
+    }
+    
+    @Override
+    public void rebuild() {
+        rows.clear();
+        for (Transaction transaction : transactions.findAll()) {
+            record(transaction);
+        }
+    }
+    
+    /**
+     * Counts a newly written transaction for its buyer and seller
+     */
+    void record(Transaction transaction) {
+        boolean completed = COMPLETED.equals(transaction.getStatus());
+        increment(transaction.getBuyerId(), stats -> {
+            stats.setPurchases(stats.getPurchases() + 1);
+            if (completed) {
+                stats.setCompletedPurchases(stats.getCompletedPurchases() + 1);
+                stats.setAmountSpent(stats.getAmountSpent() + transaction.getAmount());
+            }
+        });
+        increment(transaction.getSellerId(), stats -> {
+            stats.setSales(stats.getSales() + 1);
+            if (completed) {
+                stats.setCompletedSales(stats.getCompletedSales() + 1);
+                stats.setAmountEarned(stats.getAmountEarned() + transaction.getAmount());
+            }
+        });
+    }
+    
+    private void increment(ObjectId userId, Consumer<UserStats> change) {
+        if (userId != null) {
+            rows.compute(userId, (id, row) -> {
+                UserStats updated = row != null ? copy(row) : new UserStats(id);
+                change.accept(updated);
+                return updated;
+            });
+        }
+    }
+    
+    private static UserStats copy(UserStats row) {
+        UserStats copy = new UserStats(row.getUserId());
+        copy.setPurchases(row.getPurchases());
+        copy.setCompletedPurchases(row.getCompletedPurchases());
+        copy.setAmountSpent(row.getAmountSpent());
+        copy.setSales(row.getSales());
+        copy.setCompletedSales(row.getCompletedSales());
+        copy.setAmountEarned(row.getAmountEarned());
+        return copy;
+    }
+}
@@ -0,0 +1,93 @@
+package com.auction.repository.memory;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.types.ObjectId;
+
+import com.auction.models.Product;
+
+/**
+ * Inverted index over product name, category and description for the in-memory engine.
+ *
+ * Each term maps to the products containing it with a field weight (name 10,
+ * category 5, description 1 - the weights of the MongoDB text index), so a search
+ * only touches the postings of its own terms. A product's score is the summed weight
+ * of the query terms it contains.
+ */
+class ProductTextIndex {
+    
+    static final int NAME_WEIGHT = 10;
+    static final int CATEGORY_WEIGHT = 5;
+    static final int DESCRIPTION_WEIGHT = 1;
+    
+    private final Map<String, Map<ObjectId, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<ObjectId, Set<String>> termsByProduct = new ConcurrentHashMap<>();
+    
+    /**
+     * Indexes the product, replacing whatever was indexed for it before
+     */
+    synchronized void index(Product product) {
+        remove(product.getId());
+        
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        addTerms(weights, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        
+        weights.forEach((term, weight) ->
+            postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+        termsByProduct.put(product.getId(), weights.keySet());
+    }
+    
+    synchronized void remove(ObjectId productId) {
+        Set<String> terms = termsByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            postings.computeIfPresent(term, (key, products) -> {
+                products.remove(productId);
+                return products.isEmpty() ? null : products;
+            });
+        }
+    }
+    
+    /**
+     * @return every product containing at least one query term, with its score
+     */
+    Map<ObjectId, Integer> search(String query) {
+        Map<ObjectId, Integer> scores = new HashMap<>();
+        for (String term : tokenize(query)) {
+            Map<ObjectId, Integer> products = postings.get(term);
+            if (products != null) {
+                products.forEach((productId, weight) -> scores.merge(productId, weight, Integer::sum));
+            }
+        }
+        return scores;
+    }
+    
+    private static void addTerms(Map<String, Integer> weights, String text, int fieldWeight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, fieldWeight, Integer::sum);
+        }
+    }
+    
+    /**
+     * Lower-cased runs of letters and digits, each term once
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            for (String term : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+}
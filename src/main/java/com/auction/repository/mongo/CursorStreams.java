@@ -0,0 +1,34 @@
+package com.auction.repository.mongo;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Streams over a server cursor. Rows arrive batchSize at a time as raw BSON and are
+ * decoded one by one as the stream is consumed, so at most one batch is held in memory
+ * and decoding a row overlaps with whatever the caller does with the previous one.
+ *
+ * The stream owns the cursor: callers must close it (try-with-resources), which kills
+ * the cursor on the server if the stream was not read to the end.
+ */
+final class CursorStreams {
+    
+    private CursorStreams() {
+    }
+    
+    static <T> Stream<T> stream(FindIterable<RawBsonDocument> find, Codec<T> codec, int batchSize) {
+        MongoCursor<RawBsonDocument> cursor = find.batchSize(batchSize).iterator();
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .map(row -> row.decode(codec))
+            .onClose(cursor::close);
+    }
+}
@@ -0,0 +1,84 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.BsonDates;
+import com.auction.pagination.KeysetCursor;
+import com.auction.pagination.Page;
+import com.mongodb.client.MongoCollection;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Sorts.orderBy;
+
+/**
+ * Keyset paging on (date field, _id), newest first. With an index of the form
+ * {scope..., field: -1, _id: -1} a page reads limit + 1 index entries and documents,
+ * however deep into the listing it is.
+ */
+final class KeysetPages {
+    
+    private KeysetPages() {
+    }
+    
+    /**
+     * Filter for the rows strictly after the cursor. Rows without the field sort after
+     * every dated one, as MongoDB orders them.
+     */
+    static Bson after(String field, KeysetCursor cursor) {
+        Date value = cursor.getSortValue();
+        return value != null
+            ? or(lt(field, value), and(eq(field, value), lt("_id", cursor.getId())), eq(field, null))
+            : and(eq(field, null), lt("_id", cursor.getId()));
+    }
+    
+    /**
+     * Streams every row within scope that follows pageToken (all of them for a null token),
+     * in page order; see CursorStreams
+     */
+    static <T> Stream<T> stream(MongoCollection<?> collection, Bson scope, String field, String pageToken,
+                                Codec<T> codec, int batchSize) {
+        KeysetCursor after = KeysetCursor.decode(pageToken);
+        Bson filter = after != null ? and(scope, after(field, after)) : scope;
+        return CursorStreams.stream(
+            collection.withDocumentClass(RawBsonDocument.class).find(filter).sort(order(field)), codec, batchSize);
+    }
+    
+    /**
+     * Reads the page of rows within scope that follows pageToken
+     */
+    static <T> Page<T> find(MongoCollection<T> collection, Bson scope, String field, int limit, String pageToken,
+                            Function<T, LocalDateTime> sortValueOf, Function<T, ObjectId> idOf) {
+        KeysetCursor after = KeysetCursor.decode(pageToken);
+        Bson filter = after != null ? and(scope, after(field, after)) : scope;
+        
+        List<T> rows = new ArrayList<>(limit + 1);
+        collection.find(filter).sort(order(field)).limit(limit + 1).into(rows);
+        
+        String nextPageToken = null;
+        if (rows.size() > limit) {
+            rows.remove(limit);
+            T last = rows.get(limit - 1);
+            LocalDateTime sortValue = sortValueOf.apply(last);
+            nextPageToken = new KeysetCursor(sortValue != null ? BsonDates.toDate(sortValue) : null, idOf.apply(last)).encode();
+        }
+        return new Page<>(rows, nextPageToken);
+    }
+    
+    private static Bson order(String field) {
+        return orderBy(descending(field), descending("_id"));
+    }
+}
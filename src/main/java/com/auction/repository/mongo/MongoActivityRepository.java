@@ -0,0 +1,252 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.BsonDates;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.ActivitySummary;
+import com.auction.models.Transaction;
+import com.auction.repository.ActivityBuckets;
+import com.auction.repository.ActivityRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.or;
+
+/**
+ * ActivityRepository on the "activity_buckets" collection, one document per
+ * (granularity, start, transactionType, status, category) under a unique index.
+ * Buckets are only changed with upserting $inc / $min / $max updates, so concurrent
+ * checkouts landing in the same hour add up. A report reads at most a few hundred
+ * bucket documents (a year of days plus two partial days of hours), however many
+ * transactions the range holds.
+ */
+public class MongoActivityRepository implements ActivityRepository {
+    
+    public static final String COLLECTION = "activity_buckets";
+    
+    // Fields of the unique index that identifies a bucket
+    private static final List<String> BUCKET_KEY = Arrays.asList("granularity", "start", "transactionType", "status", "category");
+    
+    @Override
+    public List<ActivitySummary> summarize(LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        List<Bson> spans = new ArrayList<>(3);
+        for (ActivityBuckets.Span span : ActivityBuckets.cover(from, to)) {
+            spans.add(and(eq("granularity", span.getGranularity()),
+                gte("start", BsonDates.toDate(span.getStart())),
+                lt("start", BsonDates.toDate(span.getEnd()))));
+        }
+        List<ActivitySummary> rows = new ArrayList<>();
+        if (spans.isEmpty()) {
+            return rows;
+        }
+        
+        List<Bson> pipeline = Arrays.asList(
+            new Document("$match", or(spans)),
+            new Document("$group", new Document("_id", new Document()
+                    .append("transactionType", "$transactionType")
+                    .append("status", "$status")
+                    .append("category", "$category"))
+                .append("count", new Document("$sum", "$count"))
+                .append("totalAmount", new Document("$sum", "$totalAmount"))
+                .append("minAmount", new Document("$min", "$minAmount"))
+                .append("maxAmount", new Document("$max", "$maxAmount"))),
+            new Document("$match", new Document("count", new Document("$gt", 0))),
+            new Document("$sort", new Document("_id.transactionType", 1).append("_id.status", 1).append("_id.category", 1)));
+        
+        for (Document row : getCollection().aggregate(pipeline)) {
+            Document key = row.get("_id", Document.class);
+            rows.add(new ActivitySummary(
+                key.getString("transactionType"),
+                key.getString("status"),
+                key.getString("category"),
+                number(row, "count").longValue(),
+                number(row, "totalAmount").doubleValue(),
+                number(row, "minAmount").doubleValue(),
+                number(row, "maxAmount").doubleValue()));
+        }
+        return rows;
+    }
+    
+    @Override
+    public void recordStatusChange(Transaction before, String status) throws DatabaseException {
+        String oldStatus = ActivityBuckets.status(before.getStatus());
+        String newStatus = ActivityBuckets.status(status);
+        if (oldStatus.equals(newStatus) || before.getTransactionDate() == null) {
+            return;
+        }
+        
+        List<WriteModel<Document>> writes = new ArrayList<>(4);
+        for (String granularity : ActivityBuckets.GRANULARITIES) {
+            Bucket leaving = new Bucket(key(granularity, before, oldStatus));
+            leaving.count = -1;
+            leaving.totalAmount = -before.getAmount();
+            writes.add(leaving.toUpdate(false));
+            
+            Bucket entering = new Bucket(key(granularity, before, newStatus));
+            entering.add(before.getAmount());
+            writes.add(entering.toUpdate(true));
+        }
+        getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+    }
+    
+    @Override
+    public void rebuild() throws DatabaseException {
+        List<List<Bson>> pipelines = new ArrayList<>();
+        for (String granularity : ActivityBuckets.GRANULARITIES) {
+            pipelines.add(rollup(granularity));
+        }
+        // The $merge matches on the bucket key, which needs its unique index on the target
+        StagedRebuild.run(COLLECTION, staging -> staging.createIndex(Indexes.ascending(BUCKET_KEY),
+            new IndexOptions().unique(true)), pipelines);
+    }
+    
+    /**
+     * The bucket updates for newly written transactions: one upsert per bucket touched.
+     * Run by the checkout in the same session as the transaction inserts.
+     */
+    static List<WriteModel<Document>> increments(List<Transaction> transactions) {
+        Map<Document, Bucket> buckets = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionDate() == null) {
+                continue;
+            }
+            for (String granularity : ActivityBuckets.GRANULARITIES) {
+                Document key = key(granularity, transaction, ActivityBuckets.status(transaction.getStatus()));
+                buckets.computeIfAbsent(key, Bucket::new).add(transaction.getAmount());
+            }
+        }
+        
+        List<WriteModel<Document>> writes = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets.values()) {
+            writes.add(bucket.toUpdate(true));
+        }
+        return writes;
+    }
+    
+    private static MongoCollection<Document> getCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection(COLLECTION, Document.class);
+    }
+    
+    private static Document key(String granularity, Transaction transaction, String status) {
+        return new Document()
+            .append("granularity", granularity)
+            .append("start", BsonDates.toDate(ActivityBuckets.start(granularity, transaction.getTransactionDate())))
+            .append("transactionType", ActivityBuckets.type(transaction))
+            .append("status", status)
+            .append("category", ActivityBuckets.category(transaction));
+    }
+    
+    /**
+     * Groups the transactions into buckets of one granularity and merges them into
+     * the staging collection. Transactions written before productCategory was stored take
+     * the category from their product.
+     */
+    private static List<Bson> rollup(String granularity) {
+        String zone = ZoneId.systemDefault().getId();
+        Document parts = new Document("year", "$$parts.year")
+            .append("month", "$$parts.month")
+            .append("day", "$$parts.day")
+            .append("timezone", zone);
+        if (ActivityBuckets.HOUR.equals(granularity)) {
+            parts.append("hour", "$$parts.hour");
+        }
+        Document bucketStart = new Document("$let", new Document()
+            .append("vars", new Document("parts", new Document("$dateToParts",
+                new Document("date", "$transactionDate").append("timezone", zone))))
+            .append("in", new Document("$dateFromParts", parts)));
+        
+        Document category = new Document("$ifNull", Arrays.asList("$productCategory",
+            new Document("$ifNull", Arrays.asList(
+                new Document("$arrayElemAt", Arrays.asList("$product.category", 0)), ActivityBuckets.UNCATEGORIZED))));
+        
+        return Arrays.asList(
+            new Document("$match", new Document("transactionDate", new Document("$ne", null))),
+            new Document("$lookup", new Document()
+                .append("from", "products")
+                .append("localField", "productId")
+                .append("foreignField", "_id")
+                .append("as", "product")),
+            new Document("$group", new Document("_id", new Document()
+                    .append("start", bucketStart)
+                    .append("transactionType", new Document("$ifNull", Arrays.asList("$transactionType", ActivityBuckets.UNKNOWN)))
+                    .append("status", new Document("$ifNull", Arrays.asList("$status", ActivityBuckets.UNKNOWN)))
+                    .append("category", category))
+                .append("count", new Document("$sum", 1))
+                .append("totalAmount", new Document("$sum", "$amount"))
+                .append("minAmount", new Document("$min", "$amount"))
+                .append("maxAmount", new Document("$max", "$amount"))),
+            new Document("$project", new Document("_id", 0)
+                .append("granularity", new Document("$literal", granularity))
+                .append("start", "$_id.start")
+                .append("transactionType", "$_id.transactionType")
+                .append("status", "$_id.status")
+                .append("category", "$_id.category")
+                .append("count", 1)
+                .append("totalAmount", 1)
+                .append("minAmount", 1)
+                .append("maxAmount", 1)),
+            new Document("$merge", new Document("into", StagedRebuild.stagingName(COLLECTION))
+                .append("on", BUCKET_KEY)
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert")));
+    }
+    
+    private static Number number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number ? (Number) value : 0;
+    }
+    
+    /**
+     * The change to one bucket document
+     */
+    private static final class Bucket {
+        private final Document key;
+        private long count;
+        private double totalAmount;
+        private double minAmount = Double.POSITIVE_INFINITY;
+        private double maxAmount = Double.NEGATIVE_INFINITY;
+        
+        Bucket(Document key) {
+            this.key = key;
+        }
+        
+        void add(double amount) {
+            count++;
+            totalAmount += amount;
+            minAmount = Math.min(minAmount, amount);
+            maxAmount = Math.max(maxAmount, amount);
+        }
+        
+        /**
+         * @param upsert whether to create the bucket if missing; false for pure decrements
+         */
+        WriteModel<Document> toUpdate(boolean upsert) {
+            Document update = new Document("$inc", new Document("count", count).append("totalAmount", totalAmount));
+            if (count > 0) {
+                update.append("$min", new Document("minAmount", minAmount))
+                    .append("$max", new Document("maxAmount", maxAmount));
+            }
+            return new UpdateOneModel<>(key, update, new UpdateOptions().upsert(upsert));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.BsonDates;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.AuctionListing;
+import com.auction.pagination.KeysetCursor;
+import com.auction.pagination.Page;
+import com.auction.repository.AuctionListingRepository;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * AuctionListingRepository answered by one aggregation on "auctions": the page is cut
+ * first ($match, $sort, $limit on the {createdAt, _id} order), then only those rows are
+ * joined with "products" and "users" by _id, each $lookup projecting just the names needed.
+ */
+public class MongoAuctionListingRepository implements AuctionListingRepository {
+    
+    private static final Document LISTING_ORDER = new Document("createdAt", -1).append("_id", -1);
+    
+    private static final Document PRODUCT_LOOKUP = new Document("$lookup", new Document()
+        .append("from", "products")
+        .append("let", new Document("productId", "$productId"))
+        .append("pipeline", Arrays.asList(
+            new Document("$match", new Document("$expr", new Document("$eq", Arrays.asList("$_id", "$$productId")))),
+            new Document("$project", new Document("_id", 0).append("name", 1).append("category", 1))))
+        .append("as", "product"));
+    
+    private static final Document BIDDER_LOOKUP = new Document("$lookup", new Document()
+        .append("from", "users")
+        .append("let", new Document("bidderId", "$currentHighestBidderId"))
+        .append("pipeline", Arrays.asList(
+            new Document("$match", new Document("$expr", new Document("$eq", Arrays.asList("$_id", "$$bidderId")))),
+            new Document("$project", new Document("_id", 0).append("firstName", 1).append("lastName", 1))))
+        .append("as", "bidder"));
+    
+    private static final Document LISTING_PROJECTION = new Document("$project", new Document()
+        .append("productId", 1)
+        .append("startingPrice", 1)
+        .append("currentHighestBid", 1)
+        .append("totalBids", 1)
+        .append("status", 1)
+        .append("currentHighestBidderId", 1)
+        .append("endTime", 1)
+        .append("createdAt", 1)
+        .append("product", new Document("$arrayElemAt", Arrays.asList("$product", 0)))
+        .append("bidder", new Document("$arrayElemAt", Arrays.asList("$bidder", 0)))
+        .append("timeLeftMillis", new Document("$max", Arrays.asList(0L,
+            new Document("$subtract", Arrays.asList("$endTime", "$$NOW"))))));
+    
+    @Override
+    public Page<AuctionListing> findPage(boolean activeOnly, int limit, String pageToken) throws DatabaseException {
+        Bson filter = activeOnly ? and(eq("isActive", true), eq("status", "ACTIVE")) : new Document();
+        
+        KeysetCursor after = KeysetCursor.decode(pageToken);
+        if (after != null) {
+            filter = and(filter, KeysetPages.after("createdAt", after));
+        }
+        
+        List<Bson> pipeline = Arrays.asList(
+            new Document("$match", filter),
+            new Document("$sort", LISTING_ORDER),
+            new Document("$limit", limit + 1),
+            PRODUCT_LOOKUP,
+            BIDDER_LOOKUP,
+            LISTING_PROJECTION);
+        
+        List<AuctionListing> listings = new ArrayList<>(limit + 1);
+        for (Document row : DatabaseConnection.getCollection("auctions", Document.class).aggregate(pipeline)) {
+            listings.add(toListing(row));
+        }
+        
+        String nextPageToken = null;
+        if (listings.size() > limit) {
+            listings.remove(limit);
+            AuctionListing last = listings.get(limit - 1);
+            nextPageToken = new KeysetCursor(
+                last.getCreatedAt() != null ? BsonDates.toDate(last.getCreatedAt()) : null, last.getAuctionId()).encode();
+        }
+        return new Page<>(listings, nextPageToken);
+    }
+    
+    private static AuctionListing toListing(Document row) {
+        AuctionListing listing = new AuctionListing();
+        listing.setAuctionId(row.getObjectId("_id"));
+        listing.setProductId(row.getObjectId("productId"));
+        listing.setStartingPrice(number(row, "startingPrice").doubleValue());
+        listing.setCurrentHighestBid(number(row, "currentHighestBid").doubleValue());
+        listing.setTotalBids(number(row, "totalBids").intValue());
+        listing.setStatus(row.getString("status"));
+        listing.setCurrentBidderId(row.getObjectId("currentHighestBidderId"));
+        listing.setEndTime(date(row, "endTime"));
+        listing.setCreatedAt(date(row, "createdAt"));
+        listing.setTimeLeftMillis(number(row, "timeLeftMillis").longValue());
+        
+        Document product = row.get("product", Document.class);
+        if (product != null) {
+            listing.setProductName(product.getString("name"));
+            listing.setProductCategory(product.getString("category"));
+        }
+        Document bidder = row.get("bidder", Document.class);
+        if (bidder != null) {
+            listing.setCurrentBidderFirstName(bidder.getString("firstName"));
+            listing.setCurrentBidderLastName(bidder.getString("lastName"));
+        }
+        return listing;
+    }
+    
+    private static Number number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number ? (Number) value : 0;
+    }
+    
+    private static LocalDateTime date(Document row, String field) {
+        Date value = row.getDate(field);
+        return value != null ? BsonDates.toLocalDateTime(value) : null;
+    }
+}
@@ -0,0 +1,315 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.BsonDates;
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+import com.auction.repository.AuctionRepository;
+import com.auction.repository.BidBatchUpdate;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Sorts.descending;
+
+/**
+ * AuctionRepository backed by the MongoDB "auctions" collection
+ */
+public class MongoAuctionRepository implements AuctionRepository {
+    
+    private static final Document HIGHEST_BID_PROJECTION = new Document("currentHighestBidId", 1);
+    private static final int SWEEP_BATCH_SIZE = 500;
+    private static final long STALE_CLAIM_MINUTES = 5;
+    
+    private MongoCollection<Auction> getAuctionCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection("auctions", Auction.class);
+    }
+    
+    @Override
+    public void insert(Auction auction) throws DatabaseException {
+        getAuctionCollection().insertOne(auction);
+    }
+    
+    @Override
+    public void replace(Auction auction) throws DatabaseException {
+        getAuctionCollection().replaceOne(eq("_id", auction.getId()), auction);
+    }
+    
+    @Override
+    public void delete(ObjectId auctionId) throws DatabaseException {
+        getAuctionCollection().deleteOne(eq("_id", auctionId));
+    }
+    
+    @Override
+    public Auction findById(ObjectId auctionId) throws DatabaseException {
+        return getAuctionCollection().find(eq("_id", auctionId)).first();
+    }
+    
+    @Override
+    public List<Auction> findByIds(Collection<ObjectId> auctionIds) throws DatabaseException {
+        if (auctionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return getAuctionCollection().find(in("_id", auctionIds)).into(new ArrayList<>(auctionIds.size()));
+    }
+    
+    @Override
+    public List<Auction> findAll() throws DatabaseException {
+        return getAuctionCollection().find().sort(descending("createdAt")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<Auction> findPage(int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getAuctionCollection(), new Document(), "createdAt", limit, pageToken,
+            Auction::getCreatedAt, Auction::getId);
+    }
+    
+    @Override
+    public List<Auction> findActive() throws DatabaseException {
+        return getAuctionCollection().find(and(eq("isActive", true), eq("status", "ACTIVE"))).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Stream<Auction> streamActive(int batchSize) throws DatabaseException {
+        return CursorStreams.stream(getAuctionCollection().withDocumentClass(RawBsonDocument.class)
+            .find(and(eq("isActive", true), eq("status", "ACTIVE"))), ModelCodecs.AUCTION, batchSize);
+    }
+    
+    @Override
+    public List<Auction> findByStatus(String status) throws DatabaseException {
+        return getAuctionCollection().find(eq("status", status)).into(new ArrayList<>());
+    }
+    
+    @Override
+    public List<Auction> findBySellerId(ObjectId sellerId) throws DatabaseException {
+        return getAuctionCollection().find(eq("sellerId", sellerId)).into(new ArrayList<>());
+    }
+    
+    /**
+     * Looks up the winning bid reference of each auction with one $in query
+     */
+    @Override
+    public Map<ObjectId, ObjectId> findWinningBidIds(Collection<ObjectId> auctionIds) throws DatabaseException {
+        Map<ObjectId, ObjectId> winningBidIds = new HashMap<>();
+        if (auctionIds.isEmpty()) {
+            return winningBidIds;
+        }
+        
+        for (Document doc : getAuctionCollection().find(in("_id", auctionIds), Document.class).projection(HIGHEST_BID_PROJECTION)) {
+            ObjectId winningBidId = doc.getObjectId("currentHighestBidId");
+            if (winningBidId != null) {
+                winningBidIds.put(doc.getObjectId("_id"), winningBidId);
+            }
+        }
+        return winningBidIds;
+    }
+    
+    @Override
+    public Auction acceptBid(Bid bid, LocalDateTime now) throws DatabaseException {
+        java.util.Date nowDate = BsonDates.toDate(now);
+        
+        Bson guard = and(
+            eq("_id", bid.getAuctionId()),
+            eq("isActive", true),
+            gt("endTime", nowDate),
+            lt("currentHighestBid", bid.getBidAmount()));
+        
+        // **AUCTION TIME RESET FEATURE** - endTime becomes now + stored original duration,
+        // computed server-side so the reset is part of the same atomic update
+        Document durationMillis = new Document("$multiply", Arrays.asList(
+            new Document("$ifNull", Arrays.asList("$durationMinutes", 60L)), 60_000L));
+        
+        List<Bson> update = Collections.singletonList(new Document("$set", new Document()
+            .append("currentHighestBid", bid.getBidAmount())
+            .append("currentHighestBidderId", bid.getBidderId())
+            .append("currentHighestBidId", bid.getId())
+            .append("totalBids", new Document("$add", Arrays.asList(
+                new Document("$ifNull", Arrays.asList("$totalBids", 0)), 1)))
+            .append("endTime", new Document("$add", Arrays.asList(nowDate, durationMillis)))));
+        
+        return getAuctionCollection().findOneAndUpdate(guard, update,
+            new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+    }
+    
+    /**
+     * One unordered bulkWrite for the whole batch. When some guarded updates match nothing,
+     * the batch's auctions are re-read and those whose stored state is the one this batch
+     * wrote still count as applied.
+     */
+    @Override
+    public Set<ObjectId> applyBidBatch(List<BidBatchUpdate> updates) throws DatabaseException {
+        MongoCollection<Document> auctions = DatabaseConnection.getCollection("auctions", Document.class);
+        
+        Map<ObjectId, Auction> latestById = new HashMap<>();
+        List<WriteModel<Document>> auctionWrites = new ArrayList<>(updates.size());
+        for (BidBatchUpdate update : updates) {
+            Auction latest = update.getLatest();
+            latestById.put(latest.getId(), latest);
+            auctionWrites.add(new UpdateOneModel<>(
+                and(eq("_id", latest.getId()), eq("isActive", true),
+                    gt("endTime", BsonDates.toDate(update.getFirstBidTime())),
+                    lt("currentHighestBid", update.getFirstBidAmount())),
+                new Document("$set", new Document()
+                    .append("currentHighestBid", latest.getCurrentHighestBid())
+                    .append("currentHighestBidderId", latest.getCurrentHighestBidderId())
+                    .append("currentHighestBidId", latest.getCurrentHighestBidId())
+                    .append("endTime", BsonDates.toDate(latest.getEndTime())))
+                    .append("$inc", new Document("totalBids", update.getBidCount()))));
+        }
+        
+        BulkWriteResult result = auctions.bulkWrite(auctionWrites, new BulkWriteOptions().ordered(false));
+        if (result.getMatchedCount() == auctionWrites.size()) {
+            return new HashSet<>(latestById.keySet());
+        }
+        
+        Set<ObjectId> applied = new HashSet<>();
+        for (Document doc : auctions.find(in("_id", latestById.keySet())).projection(HIGHEST_BID_PROJECTION)) {
+            Auction latest = latestById.get(doc.getObjectId("_id"));
+            if (latest.getCurrentHighestBidId().equals(doc.getObjectId("currentHighestBidId"))) {
+                applied.add(latest.getId());
+            }
+        }
+        return applied;
+    }
+    
+    @Override
+    public boolean end(ObjectId auctionId) throws DatabaseException {
+        return getAuctionCollection().updateOne(
+            and(eq("_id", auctionId), eq("isActive", true)),
+            new Document("$set", new Document()
+                .append("isActive", false)
+                .append("isCompleted", true)
+                .append("status", "COMPLETED"))
+        ).getModifiedCount() > 0;
+    }
+    
+    /**
+     * Completes expired auctions with a claim-then-complete sweep.
+     *
+     * 1. One updateMany stamps every expired, unclaimed auction with this sweep's token.
+     *    Each auction document can be stamped by only one sweep, so concurrent consoles
+     *    never complete (or announce) the same auction twice.
+     * 2. The claimed auctions are read back in batches, and each batch is completed with a
+     *    single bulkWrite guarded on the token. Only auctions whose guarded update matched are
+     *    returned: a sweep that stalled past {@link #STALE_CLAIM_MINUTES} may find some of its
+     *    claims re-claimed and completed by another sweep, which then announces them instead.
+     *    Once the batch is settled its housekeeping fields (completedBySweep, and the claim on
+     *    auctions that ended some other way meanwhile) are removed, so none outlive the sweep.
+     * Claims older than {@link #STALE_CLAIM_MINUTES} (a sweeper that died mid-way) can be re-claimed.
+     */
+    @Override
+    public List<Auction> completeExpired(LocalDateTime now) throws DatabaseException {
+        MongoCollection<Auction> collection = getAuctionCollection();
+        java.util.Date nowDate = BsonDates.toDate(now);
+        java.util.Date staleClaim = BsonDates.toDate(now.minusMinutes(STALE_CLAIM_MINUTES));
+        ObjectId sweepToken = new ObjectId();
+        
+        long claimed = collection.updateMany(
+            and(eq("isActive", true), lt("endTime", nowDate),
+                or(exists("sweepToken", false), lt("sweepClaimedAt", staleClaim))),
+            new Document("$set", new Document("sweepToken", sweepToken).append("sweepClaimedAt", nowDate))
+        ).getModifiedCount();
+        
+        List<Auction> newlyCompleted = new ArrayList<>();
+        if (claimed == 0) {
+            return newlyCompleted;
+        }
+        
+        // completedBySweep tells a partly matched batch which of its auctions this sweep completed;
+        // completeBatch removes it again once the batch has been settled
+        Document completion = new Document("$set", new Document()
+                .append("isActive", false)
+                .append("isCompleted", true)
+                .append("status", "COMPLETED")
+                .append("completedBySweep", sweepToken))
+            .append("$unset", new Document("sweepToken", "").append("sweepClaimedAt", ""));
+        
+        List<Auction> batch = new ArrayList<>(SWEEP_BATCH_SIZE);
+        for (Auction auction : collection.find(eq("sweepToken", sweepToken)).batchSize(SWEEP_BATCH_SIZE)) {
+            batch.add(auction);
+            if (batch.size() == SWEEP_BATCH_SIZE) {
+                completeBatch(collection, batch, sweepToken, completion, newlyCompleted);
+                batch.clear();
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            completeBatch(collection, batch, sweepToken, completion, newlyCompleted);
+        }
+        
+        return newlyCompleted;
+    }
+    
+    /**
+     * Completes one batch of claimed auctions and adds the ones this sweep completed to newlyCompleted
+     */
+    private static void completeBatch(MongoCollection<Auction> collection, List<Auction> batch, ObjectId sweepToken,
+                                      Document completion, List<Auction> newlyCompleted) {
+        List<WriteModel<Auction>> writes = new ArrayList<>(batch.size());
+        for (Auction auction : batch) {
+            writes.add(new UpdateOneModel<>(
+                and(eq("_id", auction.getId()), eq("sweepToken", sweepToken), eq("isActive", true)), completion));
+        }
+        
+        BulkWriteResult result = collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        List<ObjectId> ids = new ArrayList<>(batch.size());
+        for (Auction auction : batch) {
+            ids.add(auction.getId());
+        }
+        
+        Set<ObjectId> completedIds = null;
+        if (result.getModifiedCount() < writes.size()) {
+            // Another sweep took some of these over; keep only the ones stamped with our token
+            completedIds = new HashSet<>();
+            for (Document doc : collection.withDocumentClass(Document.class)
+                    .find(and(in("_id", ids), eq("completedBySweep", sweepToken))).projection(new Document("_id", 1))) {
+                completedIds.add(doc.getObjectId("_id"));
+            }
+        }
+        
+        // Drop this sweep's marker, and its claim on auctions that were no longer active to complete
+        collection.updateMany(
+            and(in("_id", ids), or(eq("completedBySweep", sweepToken), eq("sweepToken", sweepToken))),
+            new Document("$unset", new Document("completedBySweep", "").append("sweepToken", "").append("sweepClaimedAt", "")));
+        
+        for (Auction auction : batch) {
+            if (completedIds == null || completedIds.contains(auction.getId())) {
+                auction.setActive(false);
+                auction.setCompleted(true);
+                auction.setStatus("COMPLETED");
+                newlyCompleted.add(auction);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.auction.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+import com.auction.repository.BidRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Sorts.descending;
+
+/**
+ * BidRepository backed by the MongoDB "bids" collection
+ */
+public class MongoBidRepository implements BidRepository {
+    
+    private MongoCollection<Bid> getBidCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection("bids", Bid.class);
+    }
+    
+    @Override
+    public void insert(Bid bid) throws DatabaseException {
+        getBidCollection().insertOne(bid);
+    }
+    
+    @Override
+    public void insertAll(List<Bid> bids) throws DatabaseException {
+        if (!bids.isEmpty()) {
+            getBidCollection().insertMany(bids, new InsertManyOptions().ordered(false));
+        }
+    }
+    
+    @Override
+    public void deleteByIds(List<ObjectId> bidIds) throws DatabaseException {
+        if (!bidIds.isEmpty()) {
+            getBidCollection().deleteMany(in("_id", bidIds));
+        }
+    }
+    
+    @Override
+    public List<Bid> findByAuctionId(ObjectId auctionId) throws DatabaseException {
+        return getBidCollection().find(eq("auctionId", auctionId)).sort(descending("bidTime")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public List<Bid> findByBidderId(ObjectId bidderId) throws DatabaseException {
+        return getBidCollection().find(eq("bidderId", bidderId)).sort(descending("bidTime")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<Bid> findPageByAuctionId(ObjectId auctionId, int limit, String pageToken) throws DatabaseException {
+        return findBidPage(eq("auctionId", auctionId), limit, pageToken);
+    }
+    
+    @Override
+    public Page<Bid> findPageByBidderId(ObjectId bidderId, int limit, String pageToken) throws DatabaseException {
+        return findBidPage(eq("bidderId", bidderId), limit, pageToken);
+    }
+    
+    /**
+     * Reads one page of bids within scope, ordered by (bidTime, _id) descending.
+     * Served by the {scope, bidTime, _id} compound indexes, so only limit + 1 bids are read
+     * no matter how long the history is.
+     */
+    private Page<Bid> findBidPage(Bson scope, int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getBidCollection(), scope, "bidTime", limit, pageToken, Bid::getBidTime, Bid::getId);
+    }
+}
@@ -0,0 +1,266 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.BsonDates;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Transaction;
+import com.auction.repository.CheckoutRepository;
+import com.mongodb.MongoCommandException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+
+/**
+ * Checkout in a fixed number of round trips, whatever the size of the cart:
+ * one bulkWrite on "products", one insertMany on "transactions" and one bulkWrite
+ * each on "users", "user_stats" and "activity_buckets", all inside a single client
+ * session transaction.
+ *
+ * Transactions need a replica set or sharded cluster. Against a standalone server (told
+ * apart by the cluster topology) the same writes run without a session; products are
+ * written first, and a cart that hits a stock conflict gives back the stock it took
+ * before anything else is written. A later failure cannot be rolled back, so it is
+ * reported as a DatabaseException whose message says what was left written.
+ * Each product it took stock from carries this checkout's token in checkoutTokens
+ * until then, so concurrent checkouts of the same product never hide each other's
+ * units; the token is pulled again once the checkout has either given back or committed.
+ */
+public class MongoCheckoutRepository implements CheckoutRepository {
+    
+    /** IllegalOperation: returned by a standalone mongod for transaction commands */
+    private static final int ILLEGAL_OPERATION = 20;
+    
+    /** Tokens of the standalone checkouts currently holding stock of a product */
+    private static final String CHECKOUT_TOKENS = "checkoutTokens";
+    
+    private static volatile boolean transactionsSupported = true;
+    
+    @Override
+    public boolean commit(List<Transaction> transactions, Map<ObjectId, Integer> quantities) throws DatabaseException {
+        if (transactionsSupported && DatabaseConnection.isStandalone()) {
+            transactionsSupported = false;
+        }
+        if (transactionsSupported) {
+            try (ClientSession session = DatabaseConnection.startSession()) {
+                return session.withTransaction(() -> {
+                    try {
+                        if (!write(session, transactions, quantities, new ObjectId())) {
+                            // Aborts the transaction; withTransaction rethrows
+                            throw new OutOfStock();
+                        }
+                        return true;
+                    } catch (DatabaseException e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                });
+            } catch (OutOfStock e) {
+                return false;
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() != ILLEGAL_OPERATION) {
+                    throw e;
+                }
+                transactionsSupported = false;
+            }
+        }
+        return write(null, transactions, quantities, new ObjectId());
+    }
+    
+    /**
+     * @param session the transaction's session, or null to write without one
+     * @return false if some product did not have enough stock
+     */
+    private boolean write(ClientSession session, List<Transaction> transactions, Map<ObjectId, Integer> quantities,
+                          ObjectId checkoutToken) throws DatabaseException {
+        MongoCollection<Document> products = DatabaseConnection.getCollection("products", Document.class);
+        MongoCollection<Transaction> transactionCollection = DatabaseConnection.getCollection("transactions", Transaction.class);
+        MongoCollection<Document> users = DatabaseConnection.getCollection("users", Document.class);
+        MongoCollection<Document> userStats = DatabaseConnection.getCollection(MongoUserStatsRepository.COLLECTION, Document.class);
+        MongoCollection<Document> activity = DatabaseConnection.getCollection(MongoActivityRepository.COLLECTION, Document.class);
+        
+        Date now = BsonDates.toDate(LocalDateTime.now());
+        List<WriteModel<Document>> stockWrites = new ArrayList<>(quantities.size());
+        for (Map.Entry<ObjectId, Integer> entry : quantities.entrySet()) {
+            List<Bson> takeStock = MongoProductRepository.takeStockUpdate(entry.getValue(), now);
+            if (session == null) {
+                takeStock.add(new Document("$set", new Document(CHECKOUT_TOKENS, new Document("$concatArrays", Arrays.asList(
+                    new Document("$ifNull", Arrays.asList("$" + CHECKOUT_TOKENS, Collections.emptyList())),
+                    Collections.singletonList(checkoutToken))))));
+            }
+            stockWrites.add(new UpdateOneModel<>(
+                MongoProductRepository.takeStockGuard(entry.getKey(), entry.getValue()), takeStock));
+        }
+        
+        BulkWriteResult stock;
+        if (session != null) {
+            stock = products.bulkWrite(session, stockWrites, new BulkWriteOptions().ordered(false));
+        } else {
+            try {
+                stock = products.bulkWrite(stockWrites, new BulkWriteOptions().ordered(false));
+            } catch (RuntimeException e) {
+                // Some products may have been updated before the failure; their token finds them
+                throw undoUnrecorded(products, transactionCollection, Collections.emptyList(), quantities, checkoutToken, e);
+            }
+        }
+        if (stock.getMatchedCount() < stockWrites.size()) {
+            if (session == null) {
+                giveBackStock(products, quantities, checkoutToken);
+            }
+            return false;
+        }
+        
+        List<WriteModel<Document>> userWrites = userStatistics(transactions);
+        List<WriteModel<Document>> statsWrites = MongoUserStatsRepository.increments(transactions);
+        List<WriteModel<Document>> activityWrites = MongoActivityRepository.increments(transactions);
+        if (session != null) {
+            transactionCollection.insertMany(session, transactions, new InsertManyOptions().ordered(false));
+            users.bulkWrite(session, userWrites, new BulkWriteOptions().ordered(false));
+            userStats.bulkWrite(session, statsWrites, new BulkWriteOptions().ordered(false));
+            activity.bulkWrite(session, activityWrites, new BulkWriteOptions().ordered(false));
+        } else {
+            try {
+                transactionCollection.insertMany(transactions, new InsertManyOptions().ordered(false));
+            } catch (RuntimeException e) {
+                throw undoUnrecorded(products, transactionCollection, transactions, quantities, checkoutToken, e);
+            }
+            try {
+                users.bulkWrite(userWrites, new BulkWriteOptions().ordered(false));
+                userStats.bulkWrite(statsWrites, new BulkWriteOptions().ordered(false));
+                activity.bulkWrite(activityWrites, new BulkWriteOptions().ordered(false));
+            } catch (RuntimeException e) {
+                throw new DatabaseException("The purchase was recorded, but the buyer's and sellers' totals were not "
+                    + "updated (" + e.getMessage() + "). Rebuild user_stats and activity_buckets to repair them.", e);
+            }
+            try {
+                products.updateMany(in("_id", quantities.keySet()),
+                    Collections.singletonList(new Document("$set", new Document(CHECKOUT_TOKENS, withoutToken(checkoutToken)))));
+            } catch (RuntimeException e) {
+                // The purchase is complete; a leftover token only names a checkout that no longer gives stock back
+                System.err.println("Checkout " + checkoutToken + " could not clear its product tokens: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Standalone only: taking the stock or inserting the transactions failed. Removes any
+     * of the transactions that did land and gives back whatever stock was taken.
+     * @return the exception to throw, saying whether that cleanup left anything behind
+     */
+    private static DatabaseException undoUnrecorded(MongoCollection<Document> products,
+                                                    MongoCollection<Transaction> transactionCollection,
+                                                    List<Transaction> transactions, Map<ObjectId, Integer> quantities,
+                                                    ObjectId checkoutToken, RuntimeException failure) {
+        List<ObjectId> transactionIds = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            transactionIds.add(transaction.getId());
+        }
+        try {
+            if (!transactionIds.isEmpty()) {
+                transactionCollection.deleteMany(in("_id", transactionIds));
+            }
+            giveBackStock(products, quantities, checkoutToken);
+        } catch (RuntimeException cleanup) {
+            failure.addSuppressed(cleanup);
+            return new DatabaseException("The purchase could not be recorded (" + failure.getMessage() + ") and the stock "
+                + "taken for it could not be given back; products still carrying checkout token " + checkoutToken
+                + " in " + CHECKOUT_TOKENS + " are short of stock. Nothing was charged.", failure);
+        }
+        return new DatabaseException("The purchase could not be recorded (" + failure.getMessage()
+            + "); the stock was given back and nothing was charged.", failure);
+    }
+    
+    /**
+     * Gives the stock back to the products this checkout managed to update, found by its
+     * token in checkoutTokens (standalone servers only)
+     */
+    private static void giveBackStock(MongoCollection<Document> products, Map<ObjectId, Integer> quantities,
+                                      ObjectId checkoutToken) {
+        List<WriteModel<Document>> restores = new ArrayList<>(quantities.size());
+        for (Map.Entry<ObjectId, Integer> entry : quantities.entrySet()) {
+            restores.add(new UpdateOneModel<>(
+                and(eq("_id", entry.getKey()), eq(CHECKOUT_TOKENS, checkoutToken)),
+                Arrays.asList(
+                    new Document("$set", new Document("quantity", new Document("$add", Arrays.asList("$quantity", entry.getValue())))
+                        .append("isSold", false)
+                        .append("isAvailable", true)
+                        .append("dateSold", null)
+                        .append(CHECKOUT_TOKENS, withoutToken(checkoutToken))))));
+        }
+        products.bulkWrite(restores, new BulkWriteOptions().ordered(false));
+    }
+    
+    /**
+     * Pipeline expression for checkoutTokens minus the token; removes the field once empty
+     */
+    private static Document withoutToken(ObjectId checkoutToken) {
+        return new Document("$let", new Document()
+            .append("vars", new Document("rest", new Document("$setDifference", Arrays.asList(
+                new Document("$ifNull", Arrays.asList("$" + CHECKOUT_TOKENS, Collections.emptyList())),
+                Collections.singletonList(checkoutToken)))))
+            .append("in", new Document("$cond", Arrays.asList(
+                new Document("$eq", Arrays.asList(new Document("$size", "$$rest"), 0)), "$$REMOVE", "$$rest"))));
+    }
+    
+    /**
+     * One update for the buyer and one per seller, adding to the totals
+     */
+    private static List<WriteModel<Document>> userStatistics(List<Transaction> transactions) {
+        ObjectId buyerId = transactions.get(0).getBuyerId();
+        double spent = 0;
+        
+        Map<ObjectId, List<Transaction>> bySeller = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            spent += transaction.getAmount();
+            if (transaction.getSellerId() != null) {
+                bySeller.computeIfAbsent(transaction.getSellerId(), id -> new ArrayList<>()).add(transaction);
+            }
+        }
+        
+        List<WriteModel<Document>> writes = new ArrayList<>(bySeller.size() + 1);
+        writes.add(new UpdateOneModel<>(eq("_id", buyerId), new Document()
+            .append("$inc", new Document()
+                .append("totalSpent", spent)
+                .append("totalPurchases", transactions.size()))));
+        
+        for (Map.Entry<ObjectId, List<Transaction>> entry : bySeller.entrySet()) {
+            double earnings = 0;
+            for (Transaction transaction : entry.getValue()) {
+                earnings += transaction.getAmount();
+            }
+            writes.add(new UpdateOneModel<>(eq("_id", entry.getKey()), new Document()
+                .append("$inc", new Document()
+                    .append("totalEarnings", earnings)
+                    .append("totalProductsSold", entry.getValue().size()))));
+        }
+        return writes;
+    }
+    
+    private static final class OutOfStock extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        OutOfStock() {
+            super("Not enough stock", null, false, false);
+        }
+    }
+}
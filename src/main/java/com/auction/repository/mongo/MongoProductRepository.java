@@ -0,0 +1,258 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.BsonDates;
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.CategoryCount;
+import com.auction.models.Product;
+import com.auction.models.ProductSearchFilters;
+import com.auction.pagination.Page;
+import com.auction.pagination.RankCursor;
+import com.auction.repository.ProductRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.expr;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.text;
+
+/**
+ * ProductRepository backed by the MongoDB "products" collection
+ */
+public class MongoProductRepository implements ProductRepository {
+    
+    private static final Document QUANTITY_PROJECTION = new Document("quantity", 1);
+    
+    private MongoCollection<Product> getProductCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection("products", Product.class);
+    }
+    
+    @Override
+    public void insert(Product product) throws DatabaseException {
+        getProductCollection().insertOne(product);
+    }
+    
+    @Override
+    public void replace(Product product) throws DatabaseException {
+        getProductCollection().replaceOne(eq("_id", product.getId()), product);
+    }
+    
+    @Override
+    public void delete(ObjectId productId) throws DatabaseException {
+        getProductCollection().deleteOne(eq("_id", productId));
+    }
+    
+    @Override
+    public Product findById(ObjectId productId) throws DatabaseException {
+        return getProductCollection().find(eq("_id", productId)).first();
+    }
+    
+    @Override
+    public List<Product> findByIds(Collection<ObjectId> productIds) throws DatabaseException {
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return getProductCollection().find(in("_id", productIds)).into(new ArrayList<>(productIds.size()));
+    }
+    
+    @Override
+    public List<Product> findAll() throws DatabaseException {
+        return getProductCollection().find().into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<Product> findPage(int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getProductCollection(), new Document(), "dateAdded", limit, pageToken,
+            Product::getDateAdded, Product::getId);
+    }
+    
+    @Override
+    public List<Product> findByCategory(String category) throws DatabaseException {
+        return getProductCollection().find(eq("category", category)).into(new ArrayList<>());
+    }
+    
+    /**
+     * Answered by the products text index; the server ranks the matches by textScore and
+     * keeps only the top limit + 1 of them
+     */
+    @Override
+    public Page<Product> search(String query, ProductSearchFilters filters, int limit, String pageToken) throws DatabaseException {
+        List<Bson> conditions = new ArrayList<>();
+        conditions.add(text(query));
+        if (filters.getCategory() != null) {
+            conditions.add(eq("category", filters.getCategory()));
+        }
+        if (filters.getMinPrice() != null) {
+            conditions.add(gte("price", filters.getMinPrice()));
+        }
+        if (filters.getMaxPrice() != null) {
+            conditions.add(lte("price", filters.getMaxPrice()));
+        }
+        if (filters.isAvailableOnly()) {
+            conditions.add(eq("isAvailable", true));
+            conditions.add(eq("isSold", false));
+        }
+        
+        List<Bson> pipeline = new ArrayList<>(Arrays.asList(
+            new Document("$match", and(conditions)),
+            new Document("$addFields", new Document("score", new Document("$meta", "textScore")))));
+        RankCursor after = RankCursor.decode(pageToken);
+        if (after != null) {
+            pipeline.add(new Document("$match", or(lt("score", after.getRank()),
+                and(eq("score", after.getRank()), lt("_id", after.getId())))));
+        }
+        pipeline.add(new Document("$sort", new Document("score", -1).append("_id", -1)));
+        pipeline.add(new Document("$limit", limit + 1));
+        
+        List<Product> products = new ArrayList<>(limit + 1);
+        List<Double> scores = new ArrayList<>(limit + 1);
+        for (RawBsonDocument row : getProductCollection().aggregate(pipeline, RawBsonDocument.class)) {
+            products.add(row.decode(ModelCodecs.PRODUCT));
+            scores.add(row.getDouble("score").getValue());
+        }
+        
+        String nextPageToken = null;
+        if (products.size() > limit) {
+            products.remove(limit);
+            nextPageToken = new RankCursor(scores.get(limit - 1), products.get(limit - 1).getId()).encode();
+        }
+        return new Page<>(products, nextPageToken);
+    }
+    
+    @Override
+    public List<Product> findBySellerId(ObjectId sellerId) throws DatabaseException {
+        return getProductCollection().find(eq("sellerId", sellerId)).into(new ArrayList<>());
+    }
+    
+    @Override
+    public long countBySellerId(ObjectId sellerId) throws DatabaseException {
+        return getProductCollection().countDocuments(eq("sellerId", sellerId));
+    }
+    
+    @Override
+    public List<Product> findAvailable() throws DatabaseException {
+        return getProductCollection().find(and(eq("isAvailable", true), eq("isSold", false))).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Stream<Product> streamAll(String pageToken, int batchSize) throws DatabaseException {
+        return KeysetPages.stream(getProductCollection(), new Document(), "dateAdded", pageToken, ModelCodecs.PRODUCT,
+            batchSize);
+    }
+    
+    @Override
+    public Page<Product> findAvailablePage(int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getProductCollection(), and(eq("isSold", false), eq("isAvailable", true)), "dateAdded",
+            limit, pageToken, Product::getDateAdded, Product::getId);
+    }
+    
+    @Override
+    public List<Product> findSold() throws DatabaseException {
+        return getProductCollection().find(eq("isSold", true)).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<Product> findSoldPage(int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getProductCollection(), eq("isSold", true), "dateSold", limit, pageToken,
+            Product::getDateSold, Product::getId);
+    }
+    
+    @Override
+    public void markSold(ObjectId productId, LocalDateTime dateSold) throws DatabaseException {
+        getProductCollection().updateOne(
+            eq("_id", productId),
+            new Document("$set", new Document()
+                .append("isSold", true)
+                .append("isAvailable", false)
+                .append("dateSold", BsonDates.toDate(dateSold)))
+        );
+    }
+    
+    @Override
+    public int takeStock(ObjectId productId, int quantity, LocalDateTime now) throws DatabaseException {
+        // Decoded by the product codec, which reads quantity whatever its numeric type
+        Product remaining = getProductCollection().findOneAndUpdate(
+            takeStockGuard(productId, quantity),
+            takeStockUpdate(quantity, BsonDates.toDate(now)),
+            new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER).projection(QUANTITY_PROJECTION));
+        return remaining != null ? remaining.getQuantity() : -1;
+    }
+    
+    /**
+     * Stored quantity, counting a product saved before the field existed as one unit
+     * (the same default the product codec decodes it with)
+     */
+    private static Document storedQuantity() {
+        return new Document("$ifNull", Arrays.asList("$quantity", 1));
+    }
+    
+    /**
+     * Matches the product only while it is on sale with at least quantity units
+     * @throws IllegalArgumentException if quantity is not positive (the guard would always
+     *         match and the update would add stock)
+     */
+    static Bson takeStockGuard(ObjectId productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to take must be positive: " + quantity);
+        }
+        return and(eq("_id", productId), eq("isSold", false), eq("isAvailable", true),
+            expr(new Document("$gte", Arrays.asList(storedQuantity(), quantity))));
+    }
+    
+    /**
+     * Pipeline update that decrements quantity and marks the product sold when it reaches zero.
+     * Returned as a mutable list so callers can append stages of their own.
+     */
+    static List<Bson> takeStockUpdate(int quantity, Date now) {
+        Document soldOut = new Document("$lte", Arrays.asList("$quantity", 0));
+        return new ArrayList<>(Arrays.asList(
+            new Document("$set", new Document("quantity", new Document("$subtract", Arrays.asList(storedQuantity(), quantity)))),
+            new Document("$set", new Document("isSold", soldOut)
+                .append("isAvailable", new Document("$not", Arrays.asList(soldOut)))
+                .append("dateSold", new Document("$cond", Arrays.asList(soldOut, now, "$dateSold"))))));
+    }
+    
+    /**
+     * One $group over the products, counting per category in the same pass
+     */
+    @Override
+    public List<CategoryCount> countByCategory() throws DatabaseException {
+        List<Bson> pipeline = Arrays.asList(
+            new Document("$match", new Document("category", new Document("$type", "string"))),
+            new Document("$group", new Document("_id", "$category")
+                .append("productCount", new Document("$sum", 1))
+                .append("availableCount", new Document("$sum", new Document("$cond", Arrays.asList(
+                    new Document("$and", Arrays.asList("$isAvailable", new Document("$not", Arrays.asList("$isSold")))),
+                    1, 0))))),
+            new Document("$sort", new Document("_id", 1)));
+        
+        List<CategoryCount> categories = new ArrayList<>();
+        for (Document group : getProductCollection().aggregate(pipeline, Document.class)) {
+            categories.add(new CategoryCount(group.getString("_id"),
+                ((Number) group.get("productCount")).longValue(),
+                ((Number) group.get("availableCount")).longValue()));
+        }
+        return categories;
+    }
+}
@@ -0,0 +1,171 @@
+package com.auction.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.BsonDates;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.SellerDirectoryEntry;
+import com.auction.pagination.Page;
+import com.auction.pagination.RankCursor;
+import com.auction.repository.SellerDirectoryRepository;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Sorts.orderBy;
+
+/**
+ * SellerDirectoryRepository answered with two queries per page, whatever the number
+ * of sellers: a $group of "products" by sellerId for the counts, and a find on "users"
+ * projected to the directory fields.
+ *
+ * Ranked by rating, the users find cuts the page (on the role/rating index) and the
+ * $group only counts that page's sellers. Ranked by product count, the $group cuts the
+ * page - sellers without products are brought in with $unionWith (MongoDB 4.4+) so they
+ * rank last instead of disappearing - and the find loads just those sellers.
+ */
+public class MongoSellerDirectoryRepository implements SellerDirectoryRepository {
+    
+    private static final Bson DIRECTORY_FIELDS = include(
+        "firstName", "lastName", "email", "phoneNumber", "rating", "totalRatings", "registrationDate");
+    
+    private static final Document COUNT_PRODUCTS = new Document("$group",
+        new Document("_id", "$sellerId").append("productCount", new Document("$sum", 1)));
+    
+    @Override
+    public Page<SellerDirectoryEntry> findPage(boolean byRating, int limit, String pageToken) throws DatabaseException {
+        RankCursor after = RankCursor.decode(pageToken);
+        return byRating ? findPageByRating(limit, after) : findPageByProductCount(limit, after);
+    }
+    
+    private Page<SellerDirectoryEntry> findPageByRating(int limit, RankCursor after) throws DatabaseException {
+        Bson filter = eq("role", "SELLER");
+        if (after != null) {
+            filter = and(filter, or(lt("rating", after.getRank()),
+                and(eq("rating", after.getRank()), lt("_id", after.getId()))));
+        }
+        
+        Map<ObjectId, SellerDirectoryEntry> entries = new LinkedHashMap<>();
+        for (Document user : DatabaseConnection.getCollection("users", Document.class)
+                .find(filter)
+                .projection(DIRECTORY_FIELDS)
+                .sort(orderBy(descending("rating"), descending("_id")))
+                .limit(limit + 1)) {
+            entries.put(user.getObjectId("_id"), toEntry(user));
+        }
+        
+        List<SellerDirectoryEntry> page = new ArrayList<>(entries.values());
+        boolean hasNext = page.size() > limit;
+        if (hasNext) {
+            page.remove(limit);
+        }
+        
+        if (!page.isEmpty()) {
+            List<Bson> pipeline = Arrays.asList(
+                new Document("$match", in("sellerId", entries.keySet())),
+                COUNT_PRODUCTS);
+            for (Document count : DatabaseConnection.getCollection("products", Document.class).aggregate(pipeline)) {
+                SellerDirectoryEntry entry = entries.get(count.getObjectId("_id"));
+                if (entry != null) {
+                    entry.setProductCount(number(count, "productCount").longValue());
+                }
+            }
+        }
+        
+        String nextPageToken = null;
+        if (hasNext) {
+            SellerDirectoryEntry last = page.get(limit - 1);
+            nextPageToken = new RankCursor(last.getRating(), last.getSellerId()).encode();
+        }
+        return new Page<>(page, nextPageToken);
+    }
+    
+    private Page<SellerDirectoryEntry> findPageByProductCount(int limit, RankCursor after) throws DatabaseException {
+        List<Bson> pipeline = new ArrayList<>(Arrays.asList(
+            COUNT_PRODUCTS,
+            new Document("$unionWith", new Document("coll", "users").append("pipeline", Arrays.asList(
+                new Document("$match", new Document("role", "SELLER")),
+                new Document("$project", new Document("_id", 1).append("productCount", new Document("$literal", 0)))))),
+            new Document("$group", new Document("_id", "$_id").append("productCount", new Document("$max", "$productCount"))),
+            new Document("$match", ne("_id", null))));
+        if (after != null) {
+            pipeline.add(new Document("$match", or(lt("productCount", after.getRank()),
+                and(eq("productCount", after.getRank()), lt("_id", after.getId())))));
+        }
+        pipeline.add(new Document("$sort", new Document("productCount", -1).append("_id", -1)));
+        pipeline.add(new Document("$limit", limit + 1));
+        
+        Map<ObjectId, Long> counts = new LinkedHashMap<>();
+        for (Document count : DatabaseConnection.getCollection("products", Document.class).aggregate(pipeline)) {
+            counts.put(count.getObjectId("_id"), number(count, "productCount").longValue());
+        }
+        
+        List<ObjectId> pageIds = new ArrayList<>(counts.keySet());
+        boolean hasNext = pageIds.size() > limit;
+        if (hasNext) {
+            pageIds.remove(limit);
+        }
+        
+        Map<ObjectId, Document> users = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            for (Document user : DatabaseConnection.getCollection("users", Document.class)
+                    .find(and(in("_id", pageIds), eq("role", "SELLER")))
+                    .projection(DIRECTORY_FIELDS)) {
+                users.put(user.getObjectId("_id"), user);
+            }
+        }
+        
+        // Products left behind by a deleted seller have no user to show and are skipped
+        List<SellerDirectoryEntry> page = new ArrayList<>(pageIds.size());
+        for (ObjectId sellerId : pageIds) {
+            Document user = users.get(sellerId);
+            if (user != null) {
+                SellerDirectoryEntry entry = toEntry(user);
+                entry.setProductCount(counts.get(sellerId));
+                page.add(entry);
+            }
+        }
+        
+        String nextPageToken = null;
+        if (hasNext) {
+            ObjectId last = pageIds.get(limit - 1);
+            nextPageToken = new RankCursor(counts.get(last), last).encode();
+        }
+        return new Page<>(page, nextPageToken);
+    }
+    
+    private static SellerDirectoryEntry toEntry(Document user) {
+        SellerDirectoryEntry entry = new SellerDirectoryEntry();
+        entry.setSellerId(user.getObjectId("_id"));
+        entry.setFirstName(user.getString("firstName"));
+        entry.setLastName(user.getString("lastName"));
+        entry.setEmail(user.getString("email"));
+        entry.setPhoneNumber(user.getString("phoneNumber"));
+        entry.setRating(number(user, "rating").doubleValue());
+        entry.setTotalRatings(number(user, "totalRatings").intValue());
+        if (user.getDate("registrationDate") != null) {
+            entry.setRegistrationDate(BsonDates.toLocalDateTime(user.getDate("registrationDate")));
+        }
+        return entry;
+    }
+    
+    private static Number number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number ? (Number) value : 0;
+    }
+}
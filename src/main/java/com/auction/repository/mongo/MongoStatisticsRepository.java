@@ -0,0 +1,68 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.SystemStatistics;
+import com.auction.repository.StatisticsRepository;
+import com.mongodb.client.MongoCollection;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+
+/**
+ * StatisticsRepository that never brings a document to the client.
+ *
+ * Collection totals come from the collection metadata (estimatedDocumentCount). The
+ * filtered counts match a prefix of an existing index, so the server answers them
+ * from the index keys alone. Transaction counts and revenue per status come from one
+ * $group.
+ */
+public class MongoStatisticsRepository implements StatisticsRepository {
+    
+    @Override
+    public SystemStatistics computeSystemStatistics() throws DatabaseException {
+        SystemStatistics stats = new SystemStatistics();
+        
+        MongoCollection<Document> users = DatabaseConnection.getCollection("users", Document.class);
+        stats.setTotalBuyers(users.countDocuments(eq("role", "BUYER")));
+        stats.setTotalSellers(users.countDocuments(eq("role", "SELLER")));
+        
+        MongoCollection<Document> products = DatabaseConnection.getCollection("products", Document.class);
+        stats.setTotalProducts(products.estimatedDocumentCount());
+        stats.setSoldProducts(products.countDocuments(eq("isSold", true)));
+        stats.setAvailableProducts(products.countDocuments(and(eq("isSold", false), eq("isAvailable", true))));
+        
+        MongoCollection<Document> auctions = DatabaseConnection.getCollection("auctions", Document.class);
+        stats.setTotalAuctions(auctions.estimatedDocumentCount());
+        stats.setActiveAuctions(auctions.countDocuments(and(eq("status", "ACTIVE"), eq("isActive", true))));
+        stats.setCompletedAuctions(auctions.countDocuments(eq("status", "COMPLETED")));
+        
+        MongoCollection<Document> transactions = DatabaseConnection.getCollection("transactions", Document.class);
+        stats.setTotalTransactions(transactions.estimatedDocumentCount());
+        List<Bson> byStatus = Arrays.asList(
+            new Document("$match", in("status", "COMPLETED", "PENDING")),
+            new Document("$group", new Document("_id", "$status")
+                .append("count", new Document("$sum", 1))
+                .append("amount", new Document("$sum", "$amount"))));
+        for (Document group : transactions.aggregate(byStatus)) {
+            long count = ((Number) group.get("count")).longValue();
+            if ("COMPLETED".equals(group.getString("_id"))) {
+                stats.setCompletedTransactions(count);
+                stats.setCompletedRevenue(((Number) group.get("amount")).doubleValue());
+            } else {
+                stats.setPendingTransactions(count);
+            }
+        }
+        
+        stats.setComputedAt(LocalDateTime.now());
+        return stats;
+    }
+}
@@ -0,0 +1,119 @@
+package com.auction.repository.mongo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Transaction;
+import com.auction.pagination.Page;
+import com.auction.repository.TransactionRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Sorts.descending;
+
+/**
+ * TransactionRepository backed by the MongoDB "transactions" collection
+ */
+public class MongoTransactionRepository implements TransactionRepository {
+    
+    private MongoCollection<Transaction> getTransactionCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection("transactions", Transaction.class);
+    }
+    
+    @Override
+    public void insert(Transaction transaction) throws DatabaseException {
+        getTransactionCollection().insertOne(transaction);
+    }
+    
+    @Override
+    public void replace(Transaction transaction) throws DatabaseException {
+        getTransactionCollection().replaceOne(eq("_id", transaction.getId()), transaction);
+    }
+    
+    @Override
+    public void delete(ObjectId transactionId) throws DatabaseException {
+        getTransactionCollection().deleteOne(eq("_id", transactionId));
+    }
+    
+    @Override
+    public Transaction findById(ObjectId transactionId) throws DatabaseException {
+        return getTransactionCollection().find(eq("_id", transactionId)).first();
+    }
+    
+    @Override
+    public List<Transaction> findAll() throws DatabaseException {
+        return getTransactionCollection().find().sort(descending("transactionDate")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<Transaction> findPage(int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getTransactionCollection(), new Document(), "transactionDate", limit, pageToken,
+            Transaction::getTransactionDate, Transaction::getId);
+    }
+    
+    @Override
+    public Stream<Transaction> streamAll(String pageToken, int batchSize) throws DatabaseException {
+        return KeysetPages.stream(getTransactionCollection(), new Document(), "transactionDate", pageToken,
+            ModelCodecs.TRANSACTION, batchSize);
+    }
+    
+    @Override
+    public List<Transaction> findByBuyerId(ObjectId buyerId) throws DatabaseException {
+        return getTransactionCollection().find(eq("buyerId", buyerId)).sort(descending("transactionDate")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public List<Transaction> findBySellerId(ObjectId sellerId) throws DatabaseException {
+        return getTransactionCollection().find(eq("sellerId", sellerId)).sort(descending("transactionDate")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public List<Transaction> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) throws DatabaseException {
+        return getTransactionCollection().find(and(gte("transactionDate", startDate), lte("transactionDate", endDate)))
+            .sort(descending("transactionDate")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<Transaction> findPageByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit,
+                                                 String pageToken) throws DatabaseException {
+        return KeysetPages.find(getTransactionCollection(),
+            and(gte("transactionDate", startDate), lte("transactionDate", endDate)), "transactionDate", limit, pageToken,
+            Transaction::getTransactionDate, Transaction::getId);
+    }
+    
+    @Override
+    public List<Transaction> findByType(String transactionType) throws DatabaseException {
+        return getTransactionCollection().find(eq("transactionType", transactionType)).sort(descending("transactionDate")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public List<Transaction> findByStatus(String status) throws DatabaseException {
+        return getTransactionCollection().find(eq("status", status)).sort(descending("transactionDate")).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Transaction updateStatus(ObjectId transactionId, String status, LocalDateTime completedDate, String notes)
+            throws DatabaseException {
+        Document fields = new Document()
+            .append("status", status)
+            .append("completedDate", completedDate);
+        if (notes != null) {
+            fields.append("notes", notes);
+        }
+        return getTransactionCollection().findOneAndUpdate(eq("_id", transactionId), new Document("$set", fields),
+            new FindOneAndUpdateOptions().returnDocument(ReturnDocument.BEFORE));
+    }
+}
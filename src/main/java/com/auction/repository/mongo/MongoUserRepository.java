@@ -0,0 +1,110 @@
+package com.auction.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.ChangeSet;
+import com.auction.models.User;
+import com.auction.pagination.Page;
+import com.auction.repository.UserRepository;
+import com.mongodb.client.MongoCollection;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+
+/**
+ * UserRepository backed by the MongoDB "users" collection
+ */
+public class MongoUserRepository implements UserRepository {
+    
+    private MongoCollection<User> getUserCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection("users", User.class);
+    }
+    
+    @Override
+    public void insert(User user) throws DatabaseException {
+        getUserCollection().insertOne(user);
+    }
+    
+    @Override
+    public void replace(User user) throws DatabaseException {
+        getUserCollection().replaceOne(eq("_id", user.getId()), user);
+    }
+    
+    /**
+     * One updateOne with $set/$inc, so its size depends on what changed rather than on the
+     * whole user
+     */
+    @Override
+    public void applyChanges(ObjectId userId, ChangeSet changes) throws DatabaseException {
+        Document update = new Document();
+        if (!changes.getSets().isEmpty()) {
+            update.append("$set", new Document(changes.getSets()));
+        }
+        if (!changes.getIncrements().isEmpty()) {
+            update.append("$inc", new Document(changes.getIncrements()));
+        }
+        getUserCollection().updateOne(eq("_id", userId), update);
+    }
+    
+    @Override
+    public void delete(ObjectId userId) throws DatabaseException {
+        getUserCollection().deleteOne(eq("_id", userId));
+    }
+    
+    @Override
+    public User findById(ObjectId userId) throws DatabaseException {
+        return getUserCollection().find(eq("_id", userId)).first();
+    }
+    
+    @Override
+    public List<User> findByIds(Collection<ObjectId> userIds) throws DatabaseException {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return getUserCollection().find(in("_id", userIds)).into(new ArrayList<>(userIds.size()));
+    }
+    
+    @Override
+    public User findByUsername(String username) throws DatabaseException {
+        return getUserCollection().find(eq("username", username)).first();
+    }
+    
+    @Override
+    public boolean existsByUsername(String username) throws DatabaseException {
+        return getUserCollection().countDocuments(eq("username", username)) > 0;
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) throws DatabaseException {
+        return getUserCollection().countDocuments(eq("email", email)) > 0;
+    }
+    
+    @Override
+    public List<User> findAll() throws DatabaseException {
+        return getUserCollection().find().into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<User> findPage(int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getUserCollection(), new Document(), "registrationDate", limit, pageToken,
+            User::getRegistrationDate, User::getId);
+    }
+    
+    @Override
+    public List<User> findByRole(String role) throws DatabaseException {
+        return getUserCollection().find(eq("role", role)).into(new ArrayList<>());
+    }
+    
+    @Override
+    public Page<User> findPageByRole(String role, int limit, String pageToken) throws DatabaseException {
+        return KeysetPages.find(getUserCollection(), eq("role", role), "registrationDate", limit, pageToken,
+            User::getRegistrationDate, User::getId);
+    }
+}
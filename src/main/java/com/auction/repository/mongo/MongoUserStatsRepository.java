@@ -0,0 +1,153 @@
+package com.auction.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Transaction;
+import com.auction.models.UserStats;
+import com.auction.repository.UserStatsRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * UserStatsRepository on the "user_stats" collection. Rows are only ever changed with
+ * upserting $inc updates, so concurrent checkouts for the same buyer or seller add up
+ * instead of overwriting each other. A rebuild regroups "transactions" by buyer and by
+ * seller into a staging collection that then replaces user_stats (see StagedRebuild).
+ */
+public class MongoUserStatsRepository implements UserStatsRepository {
+    
+    public static final String COLLECTION = "user_stats";
+    
+    private static final String COMPLETED = "COMPLETED";
+    
+    @Override
+    public UserStats findByUserId(ObjectId userId) throws DatabaseException {
+        UserStats stats = new UserStats(userId);
+        Document row = getCollection().find(eq("_id", userId)).first();
+        if (row != null) {
+            stats.setPurchases(number(row, "purchases").longValue());
+            stats.setCompletedPurchases(number(row, "completedPurchases").longValue());
+            stats.setAmountSpent(number(row, "amountSpent").doubleValue());
+            stats.setSales(number(row, "sales").longValue());
+            stats.setCompletedSales(number(row, "completedSales").longValue());
+            stats.setAmountEarned(number(row, "amountEarned").doubleValue());
+        }
+        return stats;
+    }
+    
+    @Override
+    public void recordStatusChange(Transaction before, String status) throws DatabaseException {
+        boolean wasCompleted = COMPLETED.equals(before.getStatus());
+        if (wasCompleted == COMPLETED.equals(status)) {
+            return;
+        }
+        int sign = wasCompleted ? -1 : 1;
+        
+        Map<ObjectId, Document> increments = new LinkedHashMap<>();
+        if (before.getBuyerId() != null) {
+            Document buyer = increments.computeIfAbsent(before.getBuyerId(), id -> new Document());
+            count(buyer, "completedPurchases", sign);
+            sum(buyer, "amountSpent", sign * before.getAmount());
+        }
+        if (before.getSellerId() != null) {
+            Document seller = increments.computeIfAbsent(before.getSellerId(), id -> new Document());
+            count(seller, "completedSales", sign);
+            sum(seller, "amountEarned", sign * before.getAmount());
+        }
+        if (!increments.isEmpty()) {
+            getCollection().bulkWrite(upserts(increments), new BulkWriteOptions().ordered(false));
+        }
+    }
+    
+    @Override
+    public void rebuild() throws DatabaseException {
+        StagedRebuild.run(COLLECTION, staging -> { }, Arrays.asList(
+            rollup("buyerId", "purchases", "completedPurchases", "amountSpent"),
+            rollup("sellerId", "sales", "completedSales", "amountEarned")));
+    }
+    
+    /**
+     * The user_stats updates for newly written transactions: one upsert per buyer and
+     * seller involved. Run by the checkout in the same session as the transaction inserts.
+     */
+    static List<WriteModel<Document>> increments(List<Transaction> transactions) {
+        Map<ObjectId, Document> increments = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            boolean completed = COMPLETED.equals(transaction.getStatus());
+            if (transaction.getBuyerId() != null) {
+                Document buyer = increments.computeIfAbsent(transaction.getBuyerId(), id -> new Document());
+                count(buyer, "purchases", 1);
+                if (completed) {
+                    count(buyer, "completedPurchases", 1);
+                    sum(buyer, "amountSpent", transaction.getAmount());
+                }
+            }
+            if (transaction.getSellerId() != null) {
+                Document seller = increments.computeIfAbsent(transaction.getSellerId(), id -> new Document());
+                count(seller, "sales", 1);
+                if (completed) {
+                    count(seller, "completedSales", 1);
+                    sum(seller, "amountEarned", transaction.getAmount());
+                }
+            }
+        }
+        return upserts(increments);
+    }
+    
+    private static MongoCollection<Document> getCollection() throws DatabaseException {
+        return DatabaseConnection.getCollection(COLLECTION, Document.class);
+    }
+    
+    private static List<WriteModel<Document>> upserts(Map<ObjectId, Document> increments) {
+        List<WriteModel<Document>> writes = new ArrayList<>(increments.size());
+        UpdateOptions upsert = new UpdateOptions().upsert(true);
+        for (Map.Entry<ObjectId, Document> entry : increments.entrySet()) {
+            writes.add(new UpdateOneModel<>(eq("_id", entry.getKey()), new Document("$inc", entry.getValue()), upsert));
+        }
+        return writes;
+    }
+    
+    /**
+     * Groups the transactions by one party and merges the counts into the staging collection
+     */
+    private static List<Bson> rollup(String party, String countField, String completedField, String amountField) {
+        Document isCompleted = new Document("$eq", Arrays.asList("$status", COMPLETED));
+        return Arrays.asList(
+            new Document("$match", new Document(party, new Document("$ne", null))),
+            new Document("$group", new Document("_id", "$" + party)
+                .append(countField, new Document("$sum", 1))
+                .append(completedField, new Document("$sum", new Document("$cond", Arrays.asList(isCompleted, 1, 0))))
+                .append(amountField, new Document("$sum", new Document("$cond", Arrays.asList(isCompleted, "$amount", 0))))),
+            new Document("$merge", new Document("into", StagedRebuild.stagingName(COLLECTION))
+                .append("whenMatched", "merge")
+                .append("whenNotMatched", "insert")));
+    }
+    
+    private static void count(Document increment, String field, int by) {
+        increment.merge(field, by, (a, b) -> (Integer) a + (Integer) b);
+    }
+    
+    private static void sum(Document increment, String field, double by) {
+        increment.merge(field, by, (a, b) -> (Double) a + (Double) b);
+    }
+    
+    private static Number number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number ? (Number) value : 0;
+    }
+}
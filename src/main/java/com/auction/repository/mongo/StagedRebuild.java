@@ -0,0 +1,56 @@
+package com.auction.repository.mongo;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.auction.database.DatabaseConnection;
+import com.auction.exceptions.DatabaseException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+/**
+ * Rebuilds a collection derived from "transactions" without readers ever seeing it empty
+ * or half built. The aggregations $merge into a staging collection, which then replaces
+ * the live one in a single rename.
+ *
+ * Increments applied to the live collection while the rebuild runs are dropped with it,
+ * and transactions written meanwhile may or may not be in the staged copy, so rebuilds
+ * are only exact with the application stopped.
+ */
+final class StagedRebuild {
+    
+    private StagedRebuild() {
+    }
+    
+    static String stagingName(String collection) {
+        return collection + "_rebuild";
+    }
+    
+    /**
+     * @param collection the live collection to replace
+     * @param prepareStaging creates what the pipelines' $merge needs (e.g. a unique index) on the empty staging collection
+     * @param pipelines aggregations over "transactions" that $merge into stagingName(collection)
+     */
+    static void run(String collection, Consumer<MongoCollection<Document>> prepareStaging,
+                    List<List<Bson>> pipelines) throws DatabaseException {
+        MongoDatabase db = DatabaseConnection.getDatabase();
+        String stagingName = stagingName(collection);
+        
+        MongoCollection<Document> staging = db.getCollection(stagingName);
+        staging.drop();
+        db.createCollection(stagingName);
+        prepareStaging.accept(staging);
+        
+        MongoCollection<Document> transactions = db.getCollection("transactions");
+        for (List<Bson> pipeline : pipelines) {
+            transactions.aggregate(pipeline).toCollection();
+        }
+        
+        staging.renameCollection(new MongoNamespace(db.getName(), collection), new RenameCollectionOptions().dropTarget(true));
+    }
+}
@@ -0,0 +1,247 @@
+package com.auction.scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.cache.EntityCaches;
+import com.auction.database.DatabaseConfig;
+import com.auction.database.codecs.BsonDates;
+import com.auction.models.Auction;
+import com.auction.services.AuctionService;
+
+/**
+ * Background scheduler that completes auctions at their deadline.
+ *
+ * Every active auction has one entry in a DelayQueue keyed on its end time. The
+ * scheduler thread sleeps until the earliest deadline, then runs a single expiry
+ * sweep for everything that is due. Bids that move an auction's end time re-arm
+ * it, replacing its entry in the queue. Auctions created or extended by another
+ * process are never armed here, so a fallback sweep also runs every
+ * -Dexpiry.scheduler.sweepSeconds (default 30).
+ *
+ * Sweeps publish what they complete to the CompletedAuctionFeed, so the winner
+ * announcement screens no longer scan the auctions collection themselves.
+ *
+ * On by default; disable with -Dexpiry.scheduler.enabled=false.
+ */
+public class AuctionExpiryScheduler implements Runnable {
+    
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long FALLBACK_SWEEP_MILLIS =
+        TimeUnit.SECONDS.toMillis(Long.getLong("expiry.scheduler.sweepSeconds", 30));
+    
+    private static volatile AuctionExpiryScheduler instance;
+    
+    private final AuctionService auctionService;
+    private final DelayQueue<ExpiryEntry> queue = new DelayQueue<>();
+    // The one live queue entry per armed auction
+    private final Map<ObjectId, ExpiryEntry> armed = new ConcurrentHashMap<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+    
+    private AuctionExpiryScheduler(AuctionService auctionService) {
+        this.auctionService = auctionService;
+        this.worker = new Thread(this, "auction-expiry");
+        this.worker.setDaemon(true);
+    }
+    
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("expiry.scheduler.enabled", "true"));
+    }
+    
+    /**
+     * Starts the process-wide scheduler and seeds it with every active auction
+     * @return false if the scheduler is disabled or could not be seeded
+     */
+    public static synchronized boolean start(AuctionService auctionService) {
+        if (instance != null) {
+            return true;
+        }
+        if (!isEnabled()) {
+            return false;
+        }
+        
+        AuctionExpiryScheduler scheduler = new AuctionExpiryScheduler(auctionService);
+        try {
+            try (Stream<Auction> active = auctionService.streamActiveAuctions(DatabaseConfig.CURSOR_BATCH_SIZE)) {
+                active.forEach(auction -> scheduler.arm(auction.getId(), auction.getEndTime()));
+            }
+        } catch (Exception e) {
+            System.err.println("Auction expiry scheduler not started: " + e.getMessage());
+            return false;
+        }
+        if (FALLBACK_SWEEP_MILLIS > 0) {
+            scheduler.queue.put(ExpiryEntry.fallbackSweep());
+        }
+        
+        scheduler.worker.start();
+        instance = scheduler;
+        return true;
+    }
+    
+    public static synchronized void shutdownIfRunning() {
+        if (instance != null) {
+            instance.running = false;
+            instance.worker.interrupt();
+            instance = null;
+        }
+    }
+    
+    public static boolean isRunning() {
+        return instance != null;
+    }
+    
+    /**
+     * Arms (or re-arms) an auction's deadline; no-op when the scheduler is not running
+     */
+    public static void schedule(ObjectId auctionId, LocalDateTime endTime) {
+        AuctionExpiryScheduler scheduler = instance;
+        if (scheduler != null && auctionId != null && endTime != null) {
+            scheduler.arm(auctionId, endTime);
+        }
+    }
+    
+    /**
+     * Forgets an auction that was ended or deleted by other means
+     */
+    public static void cancel(ObjectId auctionId) {
+        AuctionExpiryScheduler scheduler = instance;
+        if (scheduler != null) {
+            scheduler.disarm(auctionId);
+        }
+    }
+    
+    private void arm(ObjectId auctionId, LocalDateTime endTime) {
+        replace(new ExpiryEntry(auctionId, BsonDates.toEpochMillis(endTime)));
+    }
+    
+    private void replace(ExpiryEntry entry) {
+        ExpiryEntry previous = armed.put(entry.auctionId, entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.put(entry);
+    }
+    
+    private void disarm(ObjectId auctionId) {
+        ExpiryEntry previous = armed.remove(auctionId);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+    
+    @Override
+    public void run() {
+        List<ExpiryEntry> due = new ArrayList<>();
+        while (running) {
+            try {
+                // Deadlines that fall together share one sweep
+                boolean fallbackDue = false;
+                ExpiryEntry next = queue.take();
+                do {
+                    if (next.isFallbackSweep()) {
+                        fallbackDue = true;
+                    } else if (isCurrent(next)) {
+                        due.add(next);
+                    }
+                } while ((next = queue.poll()) != null);
+                
+                if (!due.isEmpty() || fallbackDue) {
+                    sweep(due);
+                }
+                if (fallbackDue) {
+                    queue.put(ExpiryEntry.fallbackSweep());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                due.clear();
+            }
+        }
+    }
+    
+    /**
+     * False for an entry replaced or disarmed while it was being taken off the queue
+     */
+    private boolean isCurrent(ExpiryEntry entry) {
+        return armed.get(entry.auctionId) == entry;
+    }
+    
+    private void sweep(List<ExpiryEntry> due) {
+        try {
+            for (Auction auction : auctionService.completeExpiredAuctions()) {
+                disarm(auction.getId());
+            }
+            
+            // Anything still armed was extended by a bid this process did not see
+            for (ExpiryEntry entry : due) {
+                if (isCurrent(entry)) {
+                    // The cached copy can predate another process's extension or completion,
+                    // which would re-arm a past deadline and sweep again until it expires
+                    EntityCaches.AUCTIONS.invalidate(entry.auctionId);
+                    Auction auction = auctionService.findAuctionById(entry.auctionId.toString());
+                    if (auction != null && auction.isActive()) {
+                        arm(auction.getId(), auction.getEndTime());
+                    } else {
+                        disarm(entry.auctionId);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Auction expiry sweep failed, retrying: " + e.getMessage());
+            for (ExpiryEntry entry : due) {
+                if (isCurrent(entry)) {
+                    replace(new ExpiryEntry(entry.auctionId, entry.deadline, RETRY_DELAY_MILLIS));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Queue entry for one armed deadline, or for the periodic fallback sweep (no auction)
+     */
+    private static class ExpiryEntry implements Delayed {
+        final ObjectId auctionId;
+        final long deadline;
+        final long fireAt;
+        
+        ExpiryEntry(ObjectId auctionId, long deadline) {
+            this(auctionId, deadline, 0);
+        }
+        
+        ExpiryEntry(ObjectId auctionId, long deadline, long retryDelayMillis) {
+            this.auctionId = auctionId;
+            this.deadline = deadline;
+            // An auction ends once now is strictly after its end time, hence the extra millisecond
+            this.fireAt = retryDelayMillis > 0 ? System.currentTimeMillis() + retryDelayMillis : deadline + 1;
+        }
+        
+        static ExpiryEntry fallbackSweep() {
+            return new ExpiryEntry(null, 0, FALLBACK_SWEEP_MILLIS);
+        }
+        
+        boolean isFallbackSweep() {
+            return auctionId == null;
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAt, ((ExpiryEntry) other).fireAt);
+        }
+    }
+}
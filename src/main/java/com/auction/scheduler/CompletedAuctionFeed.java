@@ -0,0 +1,69 @@
+package com.auction.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.auction.models.Auction;
+
+/**
+ * Process-wide feed of auctions completed by expiry sweeps, read by the winner
+ * announcement screens.
+ *
+ * Each subscriber (an admin console, a buyer) keeps its own read position, so one
+ * screen showing an announcement does not hide it from the others. A subscriber seen
+ * for the first time starts at the oldest retained entry.
+ *
+ * At most -Dexpiry.scheduler.maxPendingAnnouncements (default 1000) auctions are
+ * retained. When full the oldest is dropped, and a warning is logged if a known
+ * subscriber had not read it yet.
+ */
+public final class CompletedAuctionFeed {
+    
+    private static final int MAX_RETAINED = Integer.getInteger("expiry.scheduler.maxPendingAnnouncements", 1000);
+    
+    private static final ArrayDeque<Auction> entries = new ArrayDeque<>();
+    // Sequence number of entries.peekFirst(); entries are numbered consecutively from it
+    private static long firstSequence;
+    // Subscriber to the sequence number of the next entry it has not read
+    private static final Map<String, Long> cursors = new HashMap<>();
+    
+    private CompletedAuctionFeed() {
+    }
+    
+    public static synchronized void publish(Auction auction) {
+        if (MAX_RETAINED <= 0) {
+            return;
+        }
+        if (entries.size() >= MAX_RETAINED) {
+            Auction dropped = entries.pollFirst();
+            long unread = cursors.values().stream().filter(next -> next <= firstSequence).count();
+            if (unread > 0) {
+                System.err.println("Winner announcement for auction " + dropped.getId() + " dropped before "
+                    + unread + " subscriber(s) read it; raise -Dexpiry.scheduler.maxPendingAnnouncements");
+            }
+            firstSequence++;
+        }
+        entries.addLast(auction);
+    }
+    
+    /**
+     * Hands the subscriber the auctions completed since its last call, each exactly once
+     */
+    public static synchronized List<Auction> read(String subscriber) {
+        long next = Math.max(cursors.getOrDefault(subscriber, firstSequence), firstSequence);
+        long end = firstSequence + entries.size();
+        
+        List<Auction> unread = new ArrayList<>((int) (end - next));
+        long sequence = firstSequence;
+        for (Auction auction : entries) {
+            if (sequence++ >= next) {
+                unread.add(auction);
+            }
+        }
+        cursors.put(subscriber, end);
+        return unread;
+    }
+}
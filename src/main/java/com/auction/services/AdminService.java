@@ -2,6 +2,7 @@ package com.auction.services;
 
 import com.auction.models.User;
 import com.auction.exceptions.DatabaseException;
+import com.auction.pagination.Page;
 import java.util.List;
 
 /**
@@ -31,6 +32,11 @@ public interface AdminService {
     void viewAllTransactions() throws DatabaseException;
     
     void searchTransactionsByDate() throws DatabaseException;
+    
+    /**
+     * Revenue and activity totals for a date range, read from the analytics buckets
+     */
+    void viewActivityReport() throws DatabaseException;
 
     void searchTransactionById() throws DatabaseException;
     
@@ -42,6 +48,11 @@ public interface AdminService {
      */
     List<User> getUsersByRole(String role) throws DatabaseException;
     
+    /**
+     * Get one page of the users with a role, most recently registered first
+     */
+    Page<User> getUsersByRole(String role, int limit, String pageToken) throws DatabaseException;
+    
     /**
      * Check if any admin user exists in the system
      */
@@ -1,10 +1,17 @@
 package com.auction.services;
 
 import com.auction.models.Auction;
+import com.auction.models.AuctionListing;
 import com.auction.models.Bid;
 import com.auction.exceptions.DatabaseException;
 import com.auction.exceptions.AuctionException;
+import com.auction.pagination.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
 
 /**
  * Interface for auction-related services
@@ -28,24 +35,92 @@ public interface AuctionService {
    
     Auction findAuctionById(String auctionId) throws DatabaseException;
     
+    /**
+     * Looks up many auctions at once: cache hits are served from the cache and all
+     * misses are read with a single query
+     * @param auctionIds the auctions to find; null ids are ignored
+     * @return the auctions found, by id (ids with no auction are absent)
+     * @throws DatabaseException if database operation fails
+     */
+    Map<ObjectId, Auction> findAuctionsByIds(Collection<ObjectId> auctionIds) throws DatabaseException;
+    
    
     List<Auction> getAllAuctions() throws DatabaseException;
     
+    /**
+     * Gets one page of all auctions, newest first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of auctions
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Auction> getAllAuctions(int limit, String pageToken) throws DatabaseException;
+    
    
     List<Auction> getActiveAuctions() throws DatabaseException;
     
+    /**
+     * Streams the running auctions from a database cursor, in no particular order, holding
+     * one batch in memory at a time. Close the stream when done.
+     * @param batchSize rows fetched per round trip
+     * @return the active auctions
+     * @throws DatabaseException if database operation fails
+     */
+    Stream<Auction> streamActiveAuctions(int batchSize) throws DatabaseException;
+    
    
     List<Auction> getCompletedAuctions() throws DatabaseException;
     
    
     List<Auction> getAuctionsBySellerId(String sellerId) throws DatabaseException;
+    
+    /**
+     * Gets one page of listing rows, newest first: each auction with its product's name and
+     * category, the current highest bidder's name and the time left, joined in one query
+     * @param activeOnly true for running auctions only, false for every auction
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of listings
+     * @throws DatabaseException if database operation fails
+     */
+    Page<AuctionListing> getAuctionListings(boolean activeOnly, int limit, String pageToken) throws DatabaseException;
    
     boolean placeBid(Bid bid) throws DatabaseException, AuctionException;
     
+    /**
+     * Accepts a bid with a single conditional update on the auction
+     * (active, not ended, amount above the current highest bid) and then records the bid
+     * @param bid the bid to accept
+     * @return the auction state after the bid was applied
+     * @throws AuctionException if the auction is missing, closed or the bid is too low
+     * @throws DatabaseException if database operation fails
+     */
+    Auction acceptBid(Bid bid) throws DatabaseException, AuctionException;
+    
     
     List<Bid> getBidsByAuctionId(String auctionId) throws DatabaseException;
    
     List<Bid> getBidsByBidderId(String bidderId) throws DatabaseException;
+    
+    /**
+     * Gets one page of an auction's bids, newest first
+     * @param auctionId the auction
+     * @param limit maximum bids to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of bids
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Bid> getBidsByAuctionId(String auctionId, int limit, String pageToken) throws DatabaseException;
+    
+    /**
+     * Gets one page of a bidder's bids, newest first
+     * @param bidderId the bidder
+     * @param limit maximum bids to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of bids
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Bid> getBidsByBidderId(String bidderId, int limit, String pageToken) throws DatabaseException;
  
     boolean endAuction(String auctionId) throws DatabaseException, AuctionException;
     
@@ -53,9 +128,19 @@ public interface AuctionService {
     void checkAndUpdateExpiredAuctions() throws DatabaseException;
     
     /**
-     * Checks for expired auctions and returns newly completed ones
+     * Checks for expired auctions and returns the ones completed since this subscriber
+     * last asked. When the expiry scheduler is running this only reads what it has completed.
+     * @param subscriber who the announcements are for (a user id, or "ADMIN"); each
+     *        subscriber gets every completed auction once, independently of the others
      * @return List of newly completed auctions
      * @throws DatabaseException if database operation fails
      */
-    List<Auction> checkAndGetNewlyCompletedAuctions() throws DatabaseException;
+    List<Auction> checkAndGetNewlyCompletedAuctions(String subscriber) throws DatabaseException;
+    
+    /**
+     * Sweeps the database for active auctions past their end time and completes them
+     * @return the auctions completed by this call
+     * @throws DatabaseException if database operation fails
+     */
+    List<Auction> completeExpiredAuctions() throws DatabaseException;
 }
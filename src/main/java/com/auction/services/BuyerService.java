@@ -46,6 +46,12 @@ public interface BuyerService {
     
     boolean deleteAccount(Buyer buyer) throws DatabaseException;
     
+    /**
+     * Searches available products by keyword, optionally within a category and price
+     * range, and pages through the results by relevance
+     */
+    void searchProducts(Buyer buyer) throws DatabaseException;
+    
 
     List<Product> getProductsByCategory(String category) throws DatabaseException;
     
@@ -0,0 +1,24 @@
+package com.auction.services;
+
+import com.auction.models.Buyer;
+import com.auction.models.CartItem;
+import com.auction.models.CheckoutResult;
+import com.auction.exceptions.DatabaseException;
+import java.util.List;
+
+/**
+ * Interface for buying a cart of products in one step
+ */
+public interface CheckoutService {
+    
+    /**
+     * Buys every item in the cart, or none of them if any product no longer has the
+     * requested stock. On success the buyer's in-memory statistics are updated as well.
+     * @param buyer the buyer paying for the cart
+     * @param items the cart
+     * @param paymentMethod payment method recorded on each transaction
+     * @return the result for the whole cart
+     * @throws DatabaseException if database operation fails
+     */
+    CheckoutResult checkout(Buyer buyer, List<CartItem> items, String paymentMethod) throws DatabaseException;
+}
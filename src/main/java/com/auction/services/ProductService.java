@@ -1,8 +1,16 @@
 package com.auction.services;
 
+import com.auction.models.CategoryCount;
 import com.auction.models.Product;
+import com.auction.models.ProductSearchFilters;
 import com.auction.exceptions.DatabaseException;
+import com.auction.pagination.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
 
 /**
  * Interface for product-related services
@@ -21,23 +29,93 @@ public interface ProductService {
    
     Product findProductById(String productId) throws DatabaseException;
     
+    /**
+     * Looks up many products at once: cache hits are served from the cache and all
+     * misses are read with a single query
+     * @param productIds the products to find; null ids are ignored
+     * @return the products found, by id (ids with no product are absent)
+     * @throws DatabaseException if database operation fails
+     */
+    Map<ObjectId, Product> findProductsByIds(Collection<ObjectId> productIds) throws DatabaseException;
+    
    
     List<Product> getAllProducts() throws DatabaseException;
     
+    /**
+     * Gets one page of all products, newest first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of products
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Product> getAllProducts(int limit, String pageToken) throws DatabaseException;
+    
+    /**
+     * Streams all products in getAllProducts(limit, pageToken) order from a database cursor,
+     * holding one batch in memory at a time. Close the stream when done.
+     * @param pageToken next-page token of a page already shown, or null to stream from the start
+     * @param batchSize rows fetched per round trip
+     * @return the products after pageToken
+     * @throws DatabaseException if database operation fails
+     */
+    Stream<Product> streamAllProducts(String pageToken, int batchSize) throws DatabaseException;
+    
     
     List<Product> getProductsByCategory(String category) throws DatabaseException;
     
+    /**
+     * Searches product names, categories and descriptions, most relevant first
+     * @param query the words to search for; a product matching any of them is returned
+     * @param filters category, price and availability restrictions, or null for the defaults
+     * @param limit maximum results to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of matching products
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Product> search(String query, ProductSearchFilters filters, int limit, String pageToken) throws DatabaseException;
+    
     
     List<Product> getProductsBySellerId(String sellerId) throws DatabaseException;
    
     List<Product> getAvailableProducts() throws DatabaseException;
     
+    /**
+     * Gets one page of the products on sale, newest first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of products
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Product> getAvailableProducts(int limit, String pageToken) throws DatabaseException;
+    
    
     List<Product> getSoldProducts() throws DatabaseException;
     
+    /**
+     * Gets one page of the sold products, most recently sold first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of products
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Product> getSoldProducts(int limit, String pageToken) throws DatabaseException;
+    
    
     boolean markProductAsSold(String productId) throws DatabaseException;
     
-   
+    /**
+     * Gets the names of every product category, sorted, from the category dictionary
+     * @return the category names
+     * @throws DatabaseException if database operation fails
+     */
     List<String> getAllCategories() throws DatabaseException;
+    
+    /**
+     * Gets the category dictionary: every category, sorted, with its product counts.
+     * Cached in process until a product is saved, updated, deleted or sold
+     * (and for at most -Dcache.categories.ttlSeconds, default 60)
+     * @return the categories with their counts
+     * @throws DatabaseException if database operation fails
+     */
+    List<CategoryCount> getCategoryCounts() throws DatabaseException;
 }
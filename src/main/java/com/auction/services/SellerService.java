@@ -41,4 +41,9 @@ public interface SellerService {
     
    
     List<Transaction> getTransactionsBySellerId(String sellerId) throws DatabaseException;
+    
+    /**
+     * @return how many products the seller has listed, counted without loading them
+     */
+    long countProducts(Seller seller) throws DatabaseException;
 }
@@ -0,0 +1,50 @@
+package com.auction.services;
+
+import java.time.LocalDateTime;
+
+import com.auction.models.SystemStatistics;
+import com.auction.models.ActivityReport;
+import com.auction.models.UserStats;
+import com.auction.exceptions.DatabaseException;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Interface for system-wide statistics computed by the database
+ */
+public interface StatisticsService {
+    
+    /**
+     * Gets the dashboard statistics, from a cached snapshot while it is fresh
+     * (-Dcache.statistics.ttlSeconds, default 30; 0 always recomputes)
+     * @return the statistics; see {@link SystemStatistics#getComputedAt()} for their age
+     * @throws DatabaseException if database operation fails
+     */
+    SystemStatistics getSystemStatistics() throws DatabaseException;
+    
+    /**
+     * Recomputes the dashboard statistics and replaces the cached snapshot
+     * @return the fresh statistics
+     * @throws DatabaseException if database operation fails
+     */
+    SystemStatistics refreshSystemStatistics() throws DatabaseException;
+    
+    /**
+     * Gets one user's purchase and sale totals from the user_stats rollup
+     * @param userId the buyer or seller
+     * @return the totals; all zeros for a user without transactions
+     * @throws DatabaseException if database operation fails
+     */
+    UserStats getUserStats(ObjectId userId) throws DatabaseException;
+    
+    /**
+     * Gets transaction counts and amounts per type, status and category over a time
+     * range, summed from the hourly and daily activity buckets rather than the raw
+     * transactions
+     * @param from start of the range; rounded down to the hour
+     * @param to end of the range, inclusive; rounded up to the hour
+     * @return the report
+     * @throws DatabaseException if database operation fails
+     */
+    ActivityReport getActivityReport(LocalDateTime from, LocalDateTime to) throws DatabaseException;
+}
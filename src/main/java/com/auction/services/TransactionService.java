@@ -2,34 +2,40 @@ package com.auction.services;
 
 import com.auction.models.Transaction;
 import com.auction.exceptions.DatabaseException;
+import com.auction.pagination.Page;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface for transaction-related services
  */
 public interface TransactionService {
     
-    /**
-     * Creates a new transaction
-     * @param transaction the transaction to create
-     * @return true if creation successful, false otherwise
-     * @throws DatabaseException if database operation fails
-     */
-    boolean createTransaction(Transaction transaction) throws DatabaseException;
-    
-  
-    boolean updateTransaction(Transaction transaction) throws DatabaseException;
-    
-    
-    boolean deleteTransaction(String transactionId) throws DatabaseException;
-    
- 
     Transaction findTransactionById(String transactionId) throws DatabaseException;
     
 
     List<Transaction> getAllTransactions() throws DatabaseException;
     
+    /**
+     * Gets one page of all transactions, newest first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of transactions
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Transaction> getAllTransactions(int limit, String pageToken) throws DatabaseException;
+    
+    /**
+     * Streams all transactions in getAllTransactions(limit, pageToken) order from a database
+     * cursor, holding one batch in memory at a time. Close the stream when done.
+     * @param pageToken next-page token of a page already shown, or null to stream from the start
+     * @param batchSize rows fetched per round trip
+     * @return the transactions after pageToken
+     * @throws DatabaseException if database operation fails
+     */
+    Stream<Transaction> streamAllTransactions(String pageToken, int batchSize) throws DatabaseException;
+    
    
     List<Transaction> getTransactionsByBuyerId(String buyerId) throws DatabaseException;
     
@@ -39,6 +45,16 @@ public interface TransactionService {
    
     List<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) throws DatabaseException;
     
+    /**
+     * Gets one page of the transactions dated within the range (inclusive), newest first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of transactions
+     * @throws DatabaseException if database operation fails
+     */
+    Page<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit, String pageToken)
+        throws DatabaseException;
+    
     
     List<Transaction> getTransactionsByType(String transactionType) throws DatabaseException;
     
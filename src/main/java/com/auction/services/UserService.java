@@ -1,9 +1,15 @@
 package com.auction.services;
 
+import com.auction.models.SellerDirectoryEntry;
 import com.auction.models.User;
 import com.auction.exceptions.AuthenticationException;
 import com.auction.exceptions.DatabaseException;
+import com.auction.pagination.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
 
 /**
  * Interface for user authentication and management services
@@ -29,6 +35,15 @@ public interface UserService {
   
     User findUserById(String userId) throws DatabaseException;
     
+    /**
+     * Looks up many users at once: cache hits are served from the cache and all
+     * misses are read with a single query
+     * @param userIds the users to find; null ids are ignored
+     * @return the users found, by id (ids with no user are absent)
+     * @throws DatabaseException if database operation fails
+     */
+    Map<ObjectId, User> findUsersByIds(Collection<ObjectId> userIds) throws DatabaseException;
+    
    
     User findUserByUsername(String username) throws DatabaseException;
     boolean usernameExists(String username) throws DatabaseException;
@@ -38,4 +53,24 @@ public interface UserService {
     
    
     List<User> getAllUsers() throws DatabaseException;
+    
+    /**
+     * Gets one page of all users, most recently registered first
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of users
+     * @throws DatabaseException if database operation fails
+     */
+    Page<User> getAllUsers(int limit, String pageToken) throws DatabaseException;
+    
+    /**
+     * Gets one page of the seller directory: each seller's contact details and rating
+     * with their product count, ranked highest first
+     * @param byRating true to rank by rating, false to rank by number of products
+     * @param limit maximum rows to return
+     * @param pageToken null for the first page, otherwise the previous page's next token
+     * @return the page of sellers
+     * @throws DatabaseException if database operation fails
+     */
+    Page<SellerDirectoryEntry> getSellerDirectory(boolean byRating, int limit, String pageToken) throws DatabaseException;
 }
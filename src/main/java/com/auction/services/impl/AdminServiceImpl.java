@@ -3,126 +3,163 @@ package com.auction.services.impl;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.bson.Document;
+import org.bson.types.ObjectId;
 
+import com.auction.cache.EntityCache;
+import com.auction.cache.EntityCaches;
+import com.auction.database.DatabaseConfig;
 import com.auction.database.DatabaseConnection;
 import com.auction.exceptions.DatabaseException;
+import com.auction.models.ActivityReport;
+import com.auction.models.ActivitySummary;
 import com.auction.models.Auction;
+import com.auction.models.AuctionListing;
+import com.auction.models.CategoryCount;
 import com.auction.models.Product;
+import com.auction.models.SystemStatistics;
 import com.auction.models.Transaction;
 import com.auction.models.User;
+import com.auction.pagination.Page;
+import com.auction.repository.Repositories;
 import com.auction.services.AdminService;
 import com.auction.services.AuctionService;
 import com.auction.services.ProductService;
+import com.auction.services.StatisticsService;
 import com.auction.services.TransactionService;
 import com.auction.services.UserService;
 import com.auction.services.impl.UserServiceImpl;
 import com.auction.utils.InputUtils;
 import com.auction.utils.WinnerAnnouncementUtils;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import static com.mongodb.client.model.Filters.eq;
 
 /**
  * Implementation of AdminService interface
  */
 public class AdminServiceImpl implements AdminService {
     
+    private static final int HISTORY_PAGE_SIZE = 20;
+    private static final int LIST_PAGE_SIZE = 20;
+    
     private final UserService userService;
     private final ProductService productService;
     private final AuctionService auctionService;
     private final TransactionService transactionService;
+    private final StatisticsService statisticsService;
     //CONSTRUCTOR
     public AdminServiceImpl() {
         this.userService = new UserServiceImpl();
         this.productService = new ProductServiceImpl();
         this.auctionService = new AuctionServiceImpl();
         this.transactionService = new TransactionServiceImpl();
+        this.statisticsService = new StatisticsServiceImpl();
     }
     
     @Override
     public void viewRegisteredUsers() throws DatabaseException {
         try {
-            MongoDatabase database = DatabaseConnection.getDatabase();
-            MongoCollection<Document> collection = database.getCollection("users");
-            
             System.out.println("\n=== REGISTERED USERS ===");
             
-            // Get buyers
-            List<User> buyers = getUsersByRole("BUYER");
-            System.out.println("\nBUYERS (" + buyers.size() + "):");
-            System.out.println("ID\t\tUsername\t\tName\t\t\tEmail\t\t\tPhone\t\t\tRegistration Date");
-            System.out.println("=" .repeat(120));
-            
-            for (User buyer : buyers) {
-                System.out.printf("%-15s %-20s %-18s %-30s %-38s %-42s%n",
-                    buyer.getId().toString().substring(0, 8) + "...",
-                    buyer.getUsername(),
-                    buyer.getFullName(),
-                    buyer.getEmail(),
-                    buyer.getPhoneNumber(),
-                    InputUtils.formatDateTime(buyer.getRegistrationDate()));
-            }
+            SystemStatistics stats = statisticsService.getSystemStatistics();
+            listUsersByRole("BUYERS", "BUYER", stats.getTotalBuyers());
+            listUsersByRole("SELLERS", "SELLER", stats.getTotalSellers());
             
-            // Get sellers
-            List<User> sellers = getUsersByRole("SELLER");
-            System.out.println("\nSELLERS (" + sellers.size() + "):");
-            System.out.println("ID\t\tUsername\t\tName\t\t\tEmail\t\t\tPhone\t\t\tRegistration Date");
-            System.out.println("=" .repeat(120));
+            System.out.println("\nTotal Users: " + stats.getTotalUsers());
             
-            for (User seller : sellers) {
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to view registered users: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Lists the users with a role a page at a time, most recently registered first
+     */
+    private void listUsersByRole(String title, String role, long total) throws DatabaseException {
+        System.out.println("\n" + title + " (" + total + "):");
+        System.out.println("ID\t\tUsername\t\tName\t\t\tEmail\t\t\tPhone\t\t\tRegistration Date");
+        System.out.println("=" .repeat(120));
+        
+        Page<User> page = getUsersByRole(role, LIST_PAGE_SIZE, null);
+        while (true) {
+            for (User user : page.getItems()) {
                 System.out.printf("%-15s %-20s %-18s %-30s %-38s %-42s%n",
-                    seller.getId().toString().substring(0, 8) + "...",
-                    seller.getUsername(),
-                    seller.getFullName(),
-                    seller.getEmail(),
-                    seller.getPhoneNumber(),
-                    InputUtils.formatDateTime(seller.getRegistrationDate()));
+                    user.getId().toString().substring(0, 8) + "...",
+                    user.getUsername(),
+                    user.getFullName(),
+                    user.getEmail(),
+                    user.getPhoneNumber(),
+                    InputUtils.formatDateTime(user.getRegistrationDate()));
             }
             
-            System.out.println("\nTotal Users: " + (buyers.size() + sellers.size()));
-            
-        } catch (Exception e) {
-            throw new DatabaseException("Failed to view registered users: " + e.getMessage(), e);
+            if (!page.hasNext()) {
+                break;
+            }
+            String more = InputUtils.readString("Show more " + title.toLowerCase() + "? (y/n): ");
+            if (!more.equalsIgnoreCase("y")) {
+                break;
+            }
+            page = getUsersByRole(role, LIST_PAGE_SIZE, page.getNextPageToken());
         }
     }
     
     @Override
     public void viewAllProducts() throws DatabaseException {
         try {
-            List<Product> products = productService.getAllProducts();
+            Page<Product> page = productService.getAllProducts(LIST_PAGE_SIZE, null);
             
             System.out.println("\n=== ALL PRODUCTS ===");
             System.out.printf("%-15s %-20s %-15s %-16s %-18s %-20s%n", 
                 "ID", "Name", "Category", "Price", "Status", "Date Added");
             System.out.println("=" .repeat(120));
             
-            for (Product product : products) {
-                String status = product.isSold() ? "SOLD" : (product.isAvailable() ? "AVAILABLE" : "UNAVAILABLE");
-                System.out.printf("%-15s %-20s %-15s $%-16f %-18s %-20s%n",
-                    product.getId().toString().substring(0, 8) + "...",
-                    product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
-                    product.getCategory(),
-                    product.getPrice(),
-                    status,
-                    InputUtils.formatDateTime(product.getDateAdded()));
+            while (true) {
+                page.getItems().forEach(AdminServiceImpl::printProductRow);
+                
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more products? (y/n, a = all): ");
+                if (more.equalsIgnoreCase("a")) {
+                    // The rest of the report straight from the cursor, one batch in memory at a time
+                    try (Stream<Product> rest = productService.streamAllProducts(page.getNextPageToken(),
+                            DatabaseConfig.CURSOR_BATCH_SIZE)) {
+                        rest.forEach(AdminServiceImpl::printProductRow);
+                    }
+                    break;
+                }
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = productService.getAllProducts(LIST_PAGE_SIZE, page.getNextPageToken());
             }
             
-            System.out.println("\nTotal Products: " + products.size());
+            System.out.println("\nTotal Products: " + statisticsService.getSystemStatistics().getTotalProducts());
             
         } catch (Exception e) {
             throw new DatabaseException("Failed to view all products: " + e.getMessage(), e);
         }
     }
     
+    private static void printProductRow(Product product) {
+        String status = product.isSold() ? "SOLD" : (product.isAvailable() ? "AVAILABLE" : "UNAVAILABLE");
+        System.out.printf("%-15s %-20s %-15s $%-16f %-18s %-20s%n",
+            product.getId().toString().substring(0, 8) + "...",
+            product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
+            product.getCategory(),
+            product.getPrice(),
+            status,
+            InputUtils.formatDateTime(product.getDateAdded()));
+    }
+    
     @Override
     public void createNewAuction() throws DatabaseException {
         try {
-            // Get available products
-            List<Product> availableProducts = productService.getAvailableProducts();
+            // Get available products, a page at a time; numbering runs on across pages
+            Page<Product> page = productService.getAvailableProducts(LIST_PAGE_SIZE, null);
             
-            if (availableProducts.isEmpty()) {
+            if (page.isEmpty()) {
                 System.out.println("No available products to create auction for.");
                 return;
             }
@@ -133,14 +170,26 @@ public class AdminServiceImpl implements AdminService {
                 "No.", "ID", "Name", "Category", "Price");
             System.out.println("=" .repeat(90));
             
-            for (int i = 0; i < availableProducts.size(); i++) {
-                Product product = availableProducts.get(i);
-                System.out.printf("%-4d %-15s %-20s %-15s $%-11.2f%n",
-                    i + 1,
-                    product.getId().toString().substring(0, 8) + "...",
-                    product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
-                    product.getCategory(),
-                    product.getPrice());
+            List<Product> availableProducts = new ArrayList<>();
+            while (true) {
+                for (Product product : page.getItems()) {
+                    availableProducts.add(product);
+                    System.out.printf("%-4d %-15s %-20s %-15s $%-11.2f%n",
+                        availableProducts.size(),
+                        product.getId().toString().substring(0, 8) + "...",
+                        product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
+                        product.getCategory(),
+                        product.getPrice());
+                }
+                
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more products? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = productService.getAvailableProducts(LIST_PAGE_SIZE, page.getNextPageToken());
             }
             
             int choice = InputUtils.readInt("Select product (1-" + availableProducts.size() + "): ");
@@ -190,7 +239,7 @@ public class AdminServiceImpl implements AdminService {
     public void viewAuctionHistory() throws DatabaseException {
         try {
             // Check for newly completed auctions and show winner announcements
-            List<Auction> newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions();
+            List<Auction> newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions(WinnerAnnouncementUtils.ADMIN_SUBSCRIBER);
             if (!newlyCompleted.isEmpty()) {
                 System.out.println("\n*** AUCTION RESULTS JUST IN! ***");
                 System.out.println("=".repeat(50));
@@ -201,60 +250,78 @@ public class AdminServiceImpl implements AdminService {
                 InputUtils.pause();
             }
             
-            List<Auction> auctions = auctionService.getAllAuctions();
+            Page<AuctionListing> page = auctionService.getAuctionListings(false, HISTORY_PAGE_SIZE, null);
             
             System.out.println("\n=== AUCTION HISTORY ===");
             System.out.printf("%-12s %-18s %-14s %-14s %-12s %-18s %-18s%n", 
                 "ID", "Product", "Start Price", "Current Bid", "Status", "Winner", "End Time");
             System.out.println("=" .repeat(130));
             
-            for (Auction auction : auctions) {
-                Product product = productService.findProductById(auction.getProductId().toString());
-                String productName = product != null ? product.getName() : "Unknown";
-                
-                // Get winner information if auction is completed
-                String winnerInfo = "N/A";
-                if (auction.getStatus().equals("COMPLETED") && auction.getCurrentHighestBidderId() != null) {
-                    try {
-                        User winner = userService.findUserById(auction.getCurrentHighestBidderId().toString());
-                        if (winner != null && auction.getCurrentHighestBid() > auction.getStartingPrice()) {
-                            winnerInfo = winner.getFirstName() + " " + winner.getLastName().substring(0, 1) + ".";
+            List<AuctionListing> shown = new ArrayList<>();
+            while (true) {
+                for (AuctionListing listing : page.getItems()) {
+                    String productName = listing.getProductName() != null ? listing.getProductName() : "Unknown";
+                    
+                    // Get winner information if auction is completed
+                    String winnerInfo = "N/A";
+                    if ("COMPLETED".equals(listing.getStatus()) && listing.getCurrentBidderId() != null) {
+                        if (listing.getCurrentBidderFirstName() != null
+                                && listing.getCurrentHighestBid() > listing.getStartingPrice()) {
+                            String lastName = listing.getCurrentBidderLastName();
+                            winnerInfo = listing.getCurrentBidderFirstName()
+                                + (lastName != null && !lastName.isEmpty() ? " " + lastName.substring(0, 1) + "." : "");
                         } else {
                             winnerInfo = "No Winner";
                         }
-                    } catch (Exception e) {
-                        winnerInfo = "Unknown";
                     }
+                    
+                    System.out.printf("%-12s %-18s $%-13.2f $%-13.2f %-12s %-18s %-18s%n",
+                        listing.getAuctionId().toString().substring(0, 8) + "...",
+                        productName.length() > 16 ? productName.substring(0, 13) + "..." : productName,
+                        listing.getStartingPrice(),
+                        listing.getCurrentHighestBid(),
+                        listing.getStatus(),
+                        winnerInfo,
+                        InputUtils.formatDateTime(listing.getEndTime()));
+                    shown.add(listing);
                 }
                 
-                System.out.printf("%-12s %-18s $%-13.2f $%-13.2f %-12s %-18s %-18s%n",
-                    auction.getId().toString().substring(0, 8) + "...",
-                    productName.length() > 16 ? productName.substring(0, 13) + "..." : productName,
-                    auction.getStartingPrice(),
-                    auction.getCurrentHighestBid(),
-                    auction.getStatus(),
-                    winnerInfo,
-                    InputUtils.formatDateTime(auction.getEndTime()));
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more auctions? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = auctionService.getAuctionListings(false, HISTORY_PAGE_SIZE, page.getNextPageToken());
             }
             
-            // Show statistics
-            long activeAuctions = auctions.stream().filter(a -> "ACTIVE".equals(a.getStatus())).count();
-            long completedAuctions = auctions.stream().filter(a -> "COMPLETED".equals(a.getStatus())).count();
-            long pendingAuctions = auctions.stream().filter(a -> "PENDING".equals(a.getStatus())).count();
+            // Show statistics for the auctions listed
+            long activeAuctions = shown.stream().filter(a -> "ACTIVE".equals(a.getStatus())).count();
+            long pendingAuctions = shown.stream().filter(a -> "PENDING".equals(a.getStatus())).count();
+            List<ObjectId> completedIds = shown.stream()
+                .filter(a -> "COMPLETED".equals(a.getStatus()))
+                .map(AuctionListing::getAuctionId)
+                .collect(Collectors.toList());
             
             System.out.println("\n" + "=".repeat(130));
             System.out.println("📊 AUCTION STATISTICS:");
-            System.out.println("Total Auctions: " + auctions.size());
+            System.out.println("Auctions Listed: " + shown.size());
             System.out.println("Active Auctions: " + activeAuctions);
-            System.out.println("Completed Auctions: " + completedAuctions);
+            System.out.println("Completed Auctions: " + completedIds.size());
             System.out.println("Pending Auctions: " + pendingAuctions);
             
             // Offer to show detailed winner announcements for recently completed auctions
-            if (completedAuctions > 0) {
+            if (!completedIds.isEmpty()) {
                 System.out.println("\nWould you like to see detailed winner announcements for recent auctions? (y/n)");
                 String choice = InputUtils.readString("Choice: ");
                 if (choice.equalsIgnoreCase("y")) {
-                    showDetailedWinnerAnnouncements(auctions);
+                    Map<ObjectId, Auction> completed = auctionService.findAuctionsByIds(
+                        completedIds.subList(0, Math.min(5, completedIds.size())));
+                    showDetailedWinnerAnnouncements(completedIds.stream()
+                        .map(completed::get)
+                        .filter(a -> a != null)
+                        .collect(Collectors.toList()));
                 }
             }
             
@@ -288,40 +355,63 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public void viewItemsStatus() throws DatabaseException {
         try {
-            List<Product> allProducts = productService.getAllProducts();
-            List<Product> soldProducts = productService.getSoldProducts();
-            List<Product> availableProducts = productService.getAvailableProducts();
+            SystemStatistics stats = statisticsService.getSystemStatistics();
             
             System.out.println("\n=== ITEMS STATUS ===");
-            System.out.println("Total Products: " + allProducts.size());
-            System.out.println("Sold Products: " + soldProducts.size());
-            System.out.println("Available Products: " + availableProducts.size());
-            System.out.println("Unavailable Products: " + (allProducts.size() - soldProducts.size() - availableProducts.size()));
+            System.out.println("Total Products: " + stats.getTotalProducts());
+            System.out.println("Sold Products: " + stats.getSoldProducts());
+            System.out.println("Available Products: " + stats.getAvailableProducts());
+            System.out.println("Unavailable Products: "
+                + (stats.getTotalProducts() - stats.getSoldProducts() - stats.getAvailableProducts()));
             
             System.out.println("\nSOLD PRODUCTS:");
             System.out.println("ID\t\tName\t\t\tCategory\t\tPrice\t\tDate Sold");
             System.out.println("=" .repeat(100));
             
-            for (Product product : soldProducts) {
-                System.out.printf("%-15s %-20s %-18s $%-10.2f %s%n",
-                    product.getId().toString().substring(0, 8) + "...",
-                    product.getName(),
-                    product.getCategory(),
-                    product.getPrice(),
-                    product.getDateSold() != null ? InputUtils.formatDateTime(product.getDateSold()) : "Unknown");
+            Page<Product> sold = productService.getSoldProducts(LIST_PAGE_SIZE, null);
+            while (true) {
+                for (Product product : sold.getItems()) {
+                    System.out.printf("%-15s %-20s %-18s $%-10.2f %s%n",
+                        product.getId().toString().substring(0, 8) + "...",
+                        product.getName(),
+                        product.getCategory(),
+                        product.getPrice(),
+                        product.getDateSold() != null ? InputUtils.formatDateTime(product.getDateSold()) : "Unknown");
+                }
+                
+                if (!sold.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more sold products? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                sold = productService.getSoldProducts(LIST_PAGE_SIZE, sold.getNextPageToken());
             }
             
             System.out.println("\nAVAILABLE PRODUCTS:");
             System.out.println("ID\t\tName\t\t\tCategory\t\tPrice\t\tDate Added");
             System.out.println("=" .repeat(100));
             
-            for (Product product : availableProducts) {
-                System.out.printf("%-15s %-20s %-15s $%-10.2f %s%n",
-                    product.getId().toString().substring(0, 8) + "...",
-                    product.getName(),
-                    product.getCategory(),
-                    product.getPrice(),
-                    InputUtils.formatDateTime(product.getDateAdded()));
+            Page<Product> available = productService.getAvailableProducts(LIST_PAGE_SIZE, null);
+            while (true) {
+                for (Product product : available.getItems()) {
+                    System.out.printf("%-15s %-20s %-15s $%-10.2f %s%n",
+                        product.getId().toString().substring(0, 8) + "...",
+                        product.getName(),
+                        product.getCategory(),
+                        product.getPrice(),
+                        InputUtils.formatDateTime(product.getDateAdded()));
+                }
+                
+                if (!available.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more available products? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                available = productService.getAvailableProducts(LIST_PAGE_SIZE, available.getNextPageToken());
             }
             
         } catch (Exception e) {
@@ -332,7 +422,7 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public void filterItemsByCategory() throws DatabaseException {
         try {
-            List<String> categories = productService.getAllCategories();
+            List<CategoryCount> categories = productService.getCategoryCounts();
             
             if (categories.isEmpty()) {
                 System.out.println("No categories found.");
@@ -343,7 +433,8 @@ public class AdminServiceImpl implements AdminService {
             System.out.println("Available Categories:");
             
             for (int i = 0; i < categories.size(); i++) {
-                System.out.println((i + 1) + ". " + categories.get(i));
+                System.out.println((i + 1) + ". " + categories.get(i).getCategory()
+                    + " (" + categories.get(i).getProductCount() + " items)");
             }
             
             int choice = InputUtils.readInt("Select category (1-" + categories.size() + "): ");
@@ -353,7 +444,7 @@ public class AdminServiceImpl implements AdminService {
                 return;
             }
             
-            String selectedCategory = categories.get(choice - 1);
+            String selectedCategory = categories.get(choice - 1).getCategory();
             List<Product> products = productService.getProductsByCategory(selectedCategory);
             
             System.out.println("\nProducts in category '" + selectedCategory + "':");
@@ -380,31 +471,52 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public void viewAllTransactions() throws DatabaseException {
         try {
-            List<Transaction> transactions = transactionService.getAllTransactions();
+            Page<Transaction> page = transactionService.getAllTransactions(LIST_PAGE_SIZE, null);
             
             System.out.println("\n=== ALL TRANSACTIONS ===");
             System.out.println("ID\t\tBuyer\t\tSeller\t\tProduct\t\tAmount\t\tType\t\tStatus\t\tDate");
             System.out.println("=" .repeat(140));
             
-            for (Transaction transaction : transactions) {
-                System.out.printf("%-15s %-15s %-15s %-15s $%-10.2f %-15s %-15s %s%n",
-                    transaction.getId().toString().substring(0, 8) + "...",
-                    transaction.getBuyerName() != null ? transaction.getBuyerName() : "Unknown",
-                    transaction.getSellerName() != null ? transaction.getSellerName() : "Unknown",
-                    transaction.getProductName() != null ? transaction.getProductName() : "Unknown",
-                    transaction.getAmount(),
-                    transaction.getTransactionType(),
-                    transaction.getStatus(),
-                    InputUtils.formatDateTime(transaction.getTransactionDate()));
+            while (true) {
+                page.getItems().forEach(AdminServiceImpl::printTransactionRow);
+                
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more transactions? (y/n, a = all): ");
+                if (more.equalsIgnoreCase("a")) {
+                    // The rest of the report straight from the cursor, one batch in memory at a time
+                    try (Stream<Transaction> rest = transactionService.streamAllTransactions(page.getNextPageToken(),
+                            DatabaseConfig.CURSOR_BATCH_SIZE)) {
+                        rest.forEach(AdminServiceImpl::printTransactionRow);
+                    }
+                    break;
+                }
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = transactionService.getAllTransactions(LIST_PAGE_SIZE, page.getNextPageToken());
             }
             
-            System.out.println("\nTotal Transactions: " + transactions.size());
+            System.out.println("\nTotal Transactions: " + statisticsService.getSystemStatistics().getTotalTransactions());
             
         } catch (Exception e) {
             throw new DatabaseException("Failed to view all transactions: " + e.getMessage(), e);
         }
     }
     
+    private static void printTransactionRow(Transaction transaction) {
+        System.out.printf("%-15s %-15s %-15s %-15s $%-10.2f %-15s %-15s %s%n",
+            transaction.getId().toString().substring(0, 8) + "...",
+            transaction.getBuyerName() != null ? transaction.getBuyerName() : "Unknown",
+            transaction.getSellerName() != null ? transaction.getSellerName() : "Unknown",
+            transaction.getProductName() != null ? transaction.getProductName() : "Unknown",
+            transaction.getAmount(),
+            transaction.getTransactionType(),
+            transaction.getStatus(),
+            InputUtils.formatDateTime(transaction.getTransactionDate()));
+    }
+    
     @Override
     public void searchTransactionsByDate() throws DatabaseException {
         try {
@@ -415,30 +527,86 @@ public class AdminServiceImpl implements AdminService {
             LocalDateTime startDate = InputUtils.parseDateTime(startDateStr);
             LocalDateTime endDate = InputUtils.parseDateTime(endDateStr);
             
-            List<Transaction> transactions = transactionService.getTransactionsByDateRange(startDate, endDate);
+            Page<Transaction> page = transactionService.getTransactionsByDateRange(startDate, endDate, LIST_PAGE_SIZE, null);
             
             System.out.println("\nTransactions from " + startDateStr + " to " + endDateStr + ":");
             System.out.println("ID\t\tBuyer\t\tSeller\t\tAmount\t\tType\t\tStatus\t\tDate");
             System.out.println("=" .repeat(120));
             
-            for (Transaction transaction : transactions) {
-                System.out.printf("%-15s %-15s %-15s $%-10.2f %-15s %-15s %s%n",
-                    transaction.getId().toString().substring(0, 8) + "...",
-                    transaction.getBuyerName() != null ? transaction.getBuyerName() : "Unknown",
-                    transaction.getSellerName() != null ? transaction.getSellerName() : "Unknown",
-                    transaction.getAmount(),
-                    transaction.getTransactionType(),
-                    transaction.getStatus(),
-                    InputUtils.formatDateTime(transaction.getTransactionDate()));
+            int shown = 0;
+            while (true) {
+                for (Transaction transaction : page.getItems()) {
+                    System.out.printf("%-15s %-15s %-15s $%-10.2f %-15s %-15s %s%n",
+                        transaction.getId().toString().substring(0, 8) + "...",
+                        transaction.getBuyerName() != null ? transaction.getBuyerName() : "Unknown",
+                        transaction.getSellerName() != null ? transaction.getSellerName() : "Unknown",
+                        transaction.getAmount(),
+                        transaction.getTransactionType(),
+                        transaction.getStatus(),
+                        InputUtils.formatDateTime(transaction.getTransactionDate()));
+                    shown++;
+                }
+                
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more transactions? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = transactionService.getTransactionsByDateRange(startDate, endDate, LIST_PAGE_SIZE,
+                    page.getNextPageToken());
             }
             
-            System.out.println("\nFound " + transactions.size() + " transactions.");
+            System.out.println("\n" + (page.hasNext() ? "Showing the " + shown + " most recent" : "Found " + shown)
+                + " transactions.");
             
         } catch (Exception e) {
             throw new DatabaseException("Failed to search transactions by date: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public void viewActivityReport() throws DatabaseException {
+        try {
+            System.out.println("\n=== REVENUE & ACTIVITY REPORT ===");
+            String startDateStr = InputUtils.readString("Enter start date (YYYY-MM-DD HH:MM:SS): ");
+            String endDateStr = InputUtils.readString("Enter end date (YYYY-MM-DD HH:MM:SS): ");
+            
+            ActivityReport report = statisticsService.getActivityReport(
+                InputUtils.parseDateTime(startDateStr), InputUtils.parseDateTime(endDateStr));
+            
+            System.out.println("\nPeriod: " + InputUtils.formatDateTime(report.getFrom()) + " to "
+                + InputUtils.formatDateTime(report.getTo()) + " (whole hours)");
+            System.out.println("Transactions: " + report.getTransactionCount());
+            System.out.println("Completed Revenue: $" + String.format("%.2f", report.getCompletedRevenue()));
+            
+            if (report.getRows().isEmpty()) {
+                System.out.println("No transactions in this period.");
+                return;
+            }
+            
+            printActivityTable("BY STATUS", report.groupBy(ActivitySummary::getStatus));
+            printActivityTable("BY TYPE", report.groupBy(ActivitySummary::getTransactionType));
+            printActivityTable("BY CATEGORY", report.groupBy(ActivitySummary::getCategory));
+            
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to view activity report: " + e.getMessage(), e);
+        }
+    }
+    
+    private void printActivityTable(String title, Map<String, ActivitySummary> groups) {
+        System.out.println("\n" + title + ":");
+        System.out.printf("%-20s %-8s %-14s %-12s %-12s %-12s%n", "", "Count", "Total", "Min", "Max", "Average");
+        System.out.println("=".repeat(80));
+        for (Map.Entry<String, ActivitySummary> group : groups.entrySet()) {
+            ActivitySummary summary = group.getValue();
+            System.out.printf("%-20s %-8d $%-13.2f $%-11.2f $%-11.2f $%-11.2f%n",
+                group.getKey(), summary.getCount(), summary.getTotalAmount(),
+                summary.getMinAmount(), summary.getMaxAmount(), summary.getAverageAmount());
+        }
+    }
+    
     @Override
     public void searchTransactionById() throws DatabaseException {
         try {
@@ -481,54 +649,40 @@ public class AdminServiceImpl implements AdminService {
         try {
             System.out.println("\n=== SYSTEM STATISTICS ===");
             
-            // User statistics
-            List<User> buyers = getUsersByRole("BUYER");
-            List<User> sellers = getUsersByRole("SELLER");
+            SystemStatistics stats = statisticsService.getSystemStatistics();
+            System.out.println("(as of " + InputUtils.formatDateTime(stats.getComputedAt()) + ")");
             
             System.out.println("USER STATISTICS:");
-            System.out.println("Total Buyers: " + buyers.size());
-            System.out.println("Total Sellers: " + sellers.size());
-            System.out.println("Total Users: " + (buyers.size() + sellers.size()));
-            
-            // Product statistics
-            List<Product> allProducts = productService.getAllProducts();
-            List<Product> soldProducts = productService.getSoldProducts();
-            List<Product> availableProducts = productService.getAvailableProducts();
+            System.out.println("Total Buyers: " + stats.getTotalBuyers());
+            System.out.println("Total Sellers: " + stats.getTotalSellers());
+            System.out.println("Total Users: " + stats.getTotalUsers());
             
             System.out.println("\nPRODUCT STATISTICS:");
-            System.out.println("Total Products: " + allProducts.size());
-            System.out.println("Sold Products: " + soldProducts.size());
-            System.out.println("Available Products: " + availableProducts.size());
-            
-            // Auction statistics
-            List<Auction> allAuctions = auctionService.getAllAuctions();
-            List<Auction> activeAuctions = auctionService.getActiveAuctions();
-            List<Auction> completedAuctions = auctionService.getCompletedAuctions();
+            System.out.println("Total Products: " + stats.getTotalProducts());
+            System.out.println("Sold Products: " + stats.getSoldProducts());
+            System.out.println("Available Products: " + stats.getAvailableProducts());
             
             System.out.println("\nAUCTION STATISTICS:");
-            System.out.println("Total Auctions: " + allAuctions.size());
-            System.out.println("Active Auctions: " + activeAuctions.size());
-            System.out.println("Completed Auctions: " + completedAuctions.size());
-            
-            // Transaction statistics
-            List<Transaction> allTransactions = transactionService.getAllTransactions();
-            List<Transaction> completedTransactions = transactionService.getTransactionsByStatus("COMPLETED");
-            List<Transaction> pendingTransactions = transactionService.getTransactionsByStatus("PENDING");
+            System.out.println("Total Auctions: " + stats.getTotalAuctions());
+            System.out.println("Active Auctions: " + stats.getActiveAuctions());
+            System.out.println("Completed Auctions: " + stats.getCompletedAuctions());
             
             System.out.println("\nTRANSACTION STATISTICS:");
-            System.out.println("Total Transactions: " + allTransactions.size());
-            System.out.println("Completed Transactions: " + completedTransactions.size());
-            System.out.println("Pending Transactions: " + pendingTransactions.size());
-            
-            // Calculate total revenue
-            double totalRevenue = completedTransactions.stream()
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
+            System.out.println("Total Transactions: " + stats.getTotalTransactions());
+            System.out.println("Completed Transactions: " + stats.getCompletedTransactions());
+            System.out.println("Pending Transactions: " + stats.getPendingTransactions());
             
             System.out.println("\nREVENUE STATISTICS:");
-            System.out.println("Total Revenue: $" + String.format("%.2f", totalRevenue));
-            System.out.println("Average Transaction: $" + String.format("%.2f", 
-                    completedTransactions.size() > 0 ? totalRevenue / completedTransactions.size() : 0));
+            System.out.println("Total Revenue: $" + String.format("%.2f", stats.getCompletedRevenue()));
+            System.out.println("Average Transaction: $" + String.format("%.2f", stats.getAverageCompletedTransaction()));
+            
+            System.out.println("\nCONNECTION POOL:");
+            System.out.println(DatabaseConnection.getPoolStats());
+            
+            System.out.println("\nCACHE STATISTICS:");
+            for (EntityCache<?, ?> cache : EntityCaches.all()) {
+                System.out.println(cache);
+            }
             
         } catch (Exception e) {
             throw new DatabaseException("Failed to show system statistics: " + e.getMessage(), e);
@@ -538,73 +692,27 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public List<User> getUsersByRole(String role) throws DatabaseException {
         try {
-            MongoDatabase database = DatabaseConnection.getDatabase();
-            MongoCollection<Document> collection = database.getCollection("users");
-            
-            List<User> users = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("role", role))) {
-                users.add(documentToUser(doc));
-            }
-            
-            return users;
+            return Repositories.USERS.findByRole(role);
             
         } catch (Exception e) {
             throw new DatabaseException("Failed to get users by role: " + e.getMessage(), e);
         }
     }
     
-    /**
-     * Converts MongoDB Document to User object
-     */
-    private User documentToUser(Document doc) {
-        // We'll use reflection or create a method to convert document to user
-        // For now, we'll create a simple implementation
-        
-        String role = doc.getString("role");
-        User user;
-        
-        switch (role) {
-            case "ADMIN":
-                user = new com.auction.models.Admin();
-                break;
-            case "SELLER":
-                user = new com.auction.models.Seller();
-                break;
-            case "BUYER":
-                user = new com.auction.models.Buyer();
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown user role: " + role);
-        }
-        
-        user.setId(doc.getObjectId("_id"));
-        user.setUsername(doc.getString("username"));
-        user.setEmail(doc.getString("email"));
-        user.setPassword(doc.getString("password"));
-        user.setRole(doc.getString("role"));
-        user.setFirstName(doc.getString("firstName"));
-        user.setLastName(doc.getString("lastName"));
-        user.setPhoneNumber(doc.getString("phoneNumber"));
-        
-        // Handle date conversion properly
-        java.util.Date registrationDate = doc.getDate("registrationDate");
-        if (registrationDate != null) {
-            user.setRegistrationDate(registrationDate.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
+    @Override
+    public Page<User> getUsersByRole(String role, int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        try {
+            return Repositories.USERS.findPageByRole(role, limit, pageToken);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get users by role: " + e.getMessage(), e);
         }
-        
-        user.setActive(doc.getBoolean("isActive", true));
-        
-        return user;
     }
     
     @Override
     public boolean hasAnyAdmin() throws DatabaseException {
         try {
-            List<User> admins = getUsersByRole("ADMIN");
-            return !admins.isEmpty();
+            return !getUsersByRole("ADMIN", 1, null).isEmpty();
         } catch (Exception e) {
             throw new DatabaseException("Failed to check for admin users: " + e.getMessage(), e);
         }
@@ -1,47 +1,51 @@
 package com.auction.services.impl;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
-import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.types.ObjectId;
 
-import com.auction.database.DatabaseConnection;
+import com.auction.cache.EntityCaches;
+import com.auction.database.codecs.ModelCodecs;
 import com.auction.exceptions.AuctionException;
 import com.auction.exceptions.DatabaseException;
 import com.auction.models.Auction;
+import com.auction.models.AuctionListing;
 import com.auction.models.Bid;
+import com.auction.pagination.Page;
+import com.auction.repository.AuctionListingRepository;
+import com.auction.repository.AuctionRepository;
+import com.auction.repository.BidRepository;
+import com.auction.repository.Repositories;
+import com.auction.scheduler.AuctionExpiryScheduler;
+import com.auction.scheduler.CompletedAuctionFeed;
 import com.auction.services.AuctionService;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import static com.mongodb.client.model.Filters.and;
-import static com.mongodb.client.model.Filters.eq;
-import static com.mongodb.client.model.Filters.lt;
-import static com.mongodb.client.model.Filters.ne;
-import static com.mongodb.client.model.Sorts.descending;
 
 /**
  * Implementation of AuctionService interface
  */
 public class AuctionServiceImpl implements AuctionService {
     
-    private MongoCollection<Document> getAuctionCollection() throws DatabaseException {
-        MongoDatabase database = DatabaseConnection.getDatabase();
-        return database.getCollection("auctions");
-    }
-    
-    private MongoCollection<Document> getBidCollection() throws DatabaseException {
-        MongoDatabase database = DatabaseConnection.getDatabase();
-        return database.getCollection("bids");
-    }
+    private final AuctionRepository auctionRepository = Repositories.AUCTIONS;
+    private final BidRepository bidRepository = Repositories.BIDS;
+    private final AuctionListingRepository auctionListingRepository = Repositories.AUCTION_LISTINGS;
     
     @Override
     public boolean createAuction(Auction auction) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            Document auctionDoc = auctionToDocument(auction);
-            collection.insertOne(auctionDoc);
+            auctionRepository.insert(auction);
+            EntityCaches.AUCTIONS.put(auction.getId(), snapshot(auction));
+            if (auction.isActive()) {
+                AuctionExpiryScheduler.schedule(auction.getId(), auction.getEndTime());
+            }
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to create auction: " + e.getMessage(), e);
@@ -51,9 +55,8 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public boolean updateAuction(Auction auction) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            Document auctionDoc = auctionToDocument(auction);
-            collection.replaceOne(eq("_id", auction.getId()), auctionDoc);
+            auctionRepository.replace(auction);
+            EntityCaches.AUCTIONS.put(auction.getId(), snapshot(auction));
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to update auction: " + e.getMessage(), e);
@@ -63,8 +66,9 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public boolean deleteAuction(String auctionId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            collection.deleteOne(eq("_id", new ObjectId(auctionId)));
+            auctionRepository.delete(new ObjectId(auctionId));
+            EntityCaches.AUCTIONS.invalidate(new ObjectId(auctionId));
+            AuctionExpiryScheduler.cancel(new ObjectId(auctionId));
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to delete auction: " + e.getMessage(), e);
@@ -74,25 +78,64 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public Auction findAuctionById(String auctionId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            Document auctionDoc = collection.find(eq("_id", new ObjectId(auctionId))).first();
-            return auctionDoc != null ? documentToAuction(auctionDoc) : null;
+            ObjectId id = new ObjectId(auctionId);
+            RawBsonDocument auctionDoc = EntityCaches.AUCTIONS.get(id);
+            if (auctionDoc == null) {
+                Auction auction = auctionRepository.findById(id);
+                if (auction != null) {
+                    EntityCaches.AUCTIONS.put(id, snapshot(auction));
+                }
+                return auction;
+            }
+            return auctionDoc.decode(ModelCodecs.AUCTION);
         } catch (Exception e) {
             throw new DatabaseException("Failed to find auction: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Auction> getAllAuctions() throws DatabaseException {
+    public Map<ObjectId, Auction> findAuctionsByIds(Collection<ObjectId> auctionIds) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            List<Auction> auctions = new ArrayList<>();
-            
-            for (Document doc : collection.find().sort(descending("createdAt"))) {
-                auctions.add(documentToAuction(doc));
+            Map<ObjectId, Auction> auctions = new HashMap<>();
+            Set<ObjectId> misses = new HashSet<>();
+            for (ObjectId id : auctionIds) {
+                if (id == null || auctions.containsKey(id)) {
+                    continue;
+                }
+                RawBsonDocument auctionDoc = EntityCaches.AUCTIONS.get(id);
+                if (auctionDoc != null) {
+                    auctions.put(id, auctionDoc.decode(ModelCodecs.AUCTION));
+                } else {
+                    misses.add(id);
+                }
             }
             
+            if (!misses.isEmpty()) {
+                for (Auction auction : auctionRepository.findByIds(misses)) {
+                    EntityCaches.AUCTIONS.put(auction.getId(), snapshot(auction));
+                    auctions.put(auction.getId(), auction);
+                }
+            }
             return auctions;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to find auctions: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<Auction> getAllAuctions() throws DatabaseException {
+        try {
+            return auctionRepository.findAll();
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get all auctions: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Page<Auction> getAllAuctions(int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        try {
+            return auctionRepository.findPage(limit, pageToken);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get all auctions: " + e.getMessage(), e);
         }
@@ -101,30 +144,25 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public List<Auction> getActiveAuctions() throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            List<Auction> auctions = new ArrayList<>();
-            
-            for (Document doc : collection.find(and(eq("isActive", true), eq("status", "ACTIVE")))) {
-                auctions.add(documentToAuction(doc));
-            }
-            
-            return auctions;
+            return auctionRepository.findActive();
         } catch (Exception e) {
             throw new DatabaseException("Failed to get active auctions: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public Stream<Auction> streamActiveAuctions(int batchSize) throws DatabaseException {
+        try {
+            return auctionRepository.streamActive(batchSize);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to stream active auctions: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public List<Auction> getCompletedAuctions() throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            List<Auction> auctions = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("status", "COMPLETED"))) {
-                auctions.add(documentToAuction(doc));
-            }
-            
-            return auctions;
+            return auctionRepository.findByStatus("COMPLETED");
         } catch (Exception e) {
             throw new DatabaseException("Failed to get completed auctions: " + e.getMessage(), e);
         }
@@ -133,75 +171,57 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public List<Auction> getAuctionsBySellerId(String sellerId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            List<Auction> auctions = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("sellerId", new ObjectId(sellerId)))) {
-                auctions.add(documentToAuction(doc));
-            }
-            
-            return auctions;
+            return auctionRepository.findBySellerId(new ObjectId(sellerId));
         } catch (Exception e) {
             throw new DatabaseException("Failed to get auctions by seller: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public Page<AuctionListing> getAuctionListings(boolean activeOnly, int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        try {
+            return auctionListingRepository.findPage(activeOnly, limit, pageToken);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get auction listings: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public boolean placeBid(Bid bid) throws DatabaseException, AuctionException {
+        acceptBid(bid);
+        return true;
+    }
+    
+    @Override
+    public Auction acceptBid(Bid bid) throws DatabaseException, AuctionException {
         try {
-            // First, validate the bid
-            Auction auction = findAuctionById(bid.getAuctionId().toString());
-            
-            if (auction == null) {
-                throw new AuctionException("Auction not found");
-            }
-            
-            if (!auction.isActive()) {
-                throw new AuctionException("Auction is not active");
-            }
+            LocalDateTime now = LocalDateTime.now();
+            bid.setBidTime(now);
             
-            if (auction.hasEnded()) {
-                throw new AuctionException("Auction has ended");
-            }
+            // Compare-and-set: the bid only wins if the auction is still running and
+            // the amount beats the stored highest bid at the moment of the write.
+            // **AUCTION TIME RESET FEATURE** - the same update resets endTime to now + original duration
+            Auction auction = auctionRepository.acceptBid(bid, now);
             
-            if (bid.getBidAmount() <= auction.getCurrentHighestBid()) {
-                throw new AuctionException("Bid amount must be higher than current highest bid");
+            if (auction == null) {
+                // The cached copy may be what made the bidder think this bid could win
+                EntityCaches.AUCTIONS.invalidate(bid.getAuctionId());
+                throw rejectionFor(bid);
             }
+            EntityCaches.AUCTIONS.put(bid.getAuctionId(), snapshot(auction));
             
-            // Save the bid
-            MongoCollection<Document> bidCollection = getBidCollection();
-            Document bidDoc = bidToDocument(bid);
-            bidCollection.insertOne(bidDoc);
+            // Only an accepted bid is stored. Until this insert lands the auction's
+            // currentHighestBidId names a bid that readers cannot see yet; they match it
+            // against the bids they load, so it simply has no winner shown meanwhile.
+            bidRepository.insert(bid);
             
-            // Update the auction with new highest bid
-            auction.setCurrentHighestBid(bid.getBidAmount());
-            auction.setCurrentHighestBidderId(bid.getBidderId());
-            auction.setTotalBids(auction.getTotalBids() + 1);
+            // Earlier bids are left untouched: the auction's currentHighestBidId now says
+            // which bid is winning.
+            bid.setWinning(true);
             
-            // **AUCTION TIME RESET FEATURE** - Reset auction end time when a bid is placed
-            // Use the stored original duration instead of calculating it
-            long originalDurationMinutes = auction.getDurationMinutes();
-            
-            // Set new end time to current time + original duration
-            LocalDateTime newEndTime = LocalDateTime.now().plusMinutes(originalDurationMinutes);
-            auction.setEndTime(newEndTime);
-            
-            // Mark previous bids as not winning
-            bidCollection.updateMany(
-                and(eq("auctionId", bid.getAuctionId()), ne("_id", bid.getId())),
-                new Document("$set", new Document("isWinning", false))
-            );
-            
-            // Mark current bid as winning
-            bidCollection.updateOne(
-                eq("_id", bid.getId()),
-                new Document("$set", new Document("isWinning", true))
-            );
-            
-            // Update auction
-            updateAuction(auction);
-            
-            return true;
+            AuctionExpiryScheduler.schedule(auction.getId(), auction.getEndTime());
+            return auction;
         } catch (AuctionException e) {
             throw e;
         } catch (Exception e) {
@@ -209,14 +229,37 @@ public class AuctionServiceImpl implements AuctionService {
         }
     }
     
+    /**
+     * Works out why the compare-and-set in acceptBid matched nothing.
+     * Only runs on the rejection path, so accepted bids never pay for this read.
+     */
+    private AuctionException rejectionFor(Bid bid) throws DatabaseException {
+        Auction auction = findAuctionById(bid.getAuctionId().toString());
+        
+        if (auction == null) {
+            return new AuctionException("Auction not found");
+        }
+        
+        if (!auction.isActive()) {
+            return new AuctionException("Auction is not active");
+        }
+        
+        if (auction.hasEnded()) {
+            return new AuctionException("Auction has ended");
+        }
+        
+        return new AuctionException("Bid amount must be higher than current highest bid");
+    }
+    
     @Override
     public List<Bid> getBidsByAuctionId(String auctionId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getBidCollection();
-            List<Bid> bids = new ArrayList<>();
+            ObjectId auctionObjectId = new ObjectId(auctionId);
+            ObjectId winningBidId = findWinningBidId(auctionObjectId);
             
-            for (Document doc : collection.find(eq("auctionId", new ObjectId(auctionId))).sort(descending("bidTime"))) {
-                bids.add(documentToBid(doc));
+            List<Bid> bids = bidRepository.findByAuctionId(auctionObjectId);
+            for (Bid bid : bids) {
+                bid.setWinning(bid.getId().equals(winningBidId));
             }
             
             return bids;
@@ -228,13 +271,8 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public List<Bid> getBidsByBidderId(String bidderId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getBidCollection();
-            List<Bid> bids = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("bidderId", new ObjectId(bidderId))).sort(descending("bidTime"))) {
-                bids.add(documentToBid(doc));
-            }
-            
+            List<Bid> bids = bidRepository.findByBidderId(new ObjectId(bidderId));
+            markWinningBids(bids);
             return bids;
         } catch (Exception e) {
             throw new DatabaseException("Failed to get bids by bidder: " + e.getMessage(), e);
@@ -242,208 +280,121 @@ public class AuctionServiceImpl implements AuctionService {
     }
     
     @Override
-    public boolean endAuction(String auctionId) throws DatabaseException, AuctionException {
+    public Page<Bid> getBidsByAuctionId(String auctionId, int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
         try {
-            Auction auction = findAuctionById(auctionId);
-            
-            if (auction == null) {
-                throw new AuctionException("Auction not found");
-            }
+            ObjectId auctionObjectId = new ObjectId(auctionId);
+            Page<Bid> page = bidRepository.findPageByAuctionId(auctionObjectId, limit, pageToken);
             
-            if (auction.isCompleted()) {
-                throw new AuctionException("Auction is already completed");
+            ObjectId winningBidId = findWinningBidId(auctionObjectId);
+            for (Bid bid : page.getItems()) {
+                bid.setWinning(bid.getId().equals(winningBidId));
             }
             
-            // Update auction status
-            auction.setActive(false);
-            auction.setCompleted(true);
-            auction.setStatus("COMPLETED");
-            
-            updateAuction(auction);
-            
-            return true;
-        } catch (AuctionException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DatabaseException("Failed to end auction: " + e.getMessage(), e);
-        }
-    }
-    
-    @Override
-    public void checkAndUpdateExpiredAuctions() throws DatabaseException {
-        try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            LocalDateTime now = LocalDateTime.now();
-            
-            // Find expired auctions
-            for (Document doc : collection.find(and(eq("isActive", true), lt("endTime", now)))) {
-                Auction auction = documentToAuction(doc);
-                auction.setActive(false);
-                auction.setCompleted(true);
-                auction.setStatus("COMPLETED");
-                updateAuction(auction);
-            }
+            return page;
         } catch (Exception e) {
-            throw new DatabaseException("Failed to check expired auctions: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get bids by auction: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Auction> checkAndGetNewlyCompletedAuctions() throws DatabaseException {
+    public Page<Bid> getBidsByBidderId(String bidderId, int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
         try {
-            MongoCollection<Document> collection = getAuctionCollection();
-            LocalDateTime now = LocalDateTime.now();
-            List<Auction> newlyCompleted = new ArrayList<>();
-            
-            // Find expired auctions that are still active
-            for (Document doc : collection.find(and(eq("isActive", true), lt("endTime", now)))) {
-                Auction auction = documentToAuction(doc);
-                newlyCompleted.add(auction);
-                
-                // Update auction status
-                auction.setActive(false);
-                auction.setCompleted(true);
-                auction.setStatus("COMPLETED");
-                updateAuction(auction);
-            }
-            
-            return newlyCompleted;
+            Page<Bid> page = bidRepository.findPageByBidderId(new ObjectId(bidderId), limit, pageToken);
+            markWinningBids(page.getItems());
+            return page;
         } catch (Exception e) {
-            throw new DatabaseException("Failed to check expired auctions: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get bids by bidder: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Converts Auction object to MongoDB Document
+     * Sets isWinning on bids spanning any number of auctions
      */
-    private Document auctionToDocument(Auction auction) {
-        Document doc = new Document()
-                .append("_id", auction.getId())
-                .append("productId", auction.getProductId())
-                .append("sellerId", auction.getSellerId())
-                .append("startingPrice", auction.getStartingPrice())
-                .append("currentHighestBid", auction.getCurrentHighestBid())
-                .append("currentHighestBidderId", auction.getCurrentHighestBidderId())
-                .append("isActive", auction.isActive())
-                .append("isCompleted", auction.isCompleted())
-                .append("status", auction.getStatus())
-                .append("totalBids", auction.getTotalBids())
-                .append("durationMinutes", auction.getDurationMinutes());
-        
-        // Convert LocalDateTime to Date for MongoDB storage
-        if (auction.getStartTime() != null) {
-            doc.append("startTime", java.util.Date.from(auction.getStartTime()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
+    private void markWinningBids(List<Bid> bids) throws DatabaseException {
+        Set<ObjectId> auctionIds = new HashSet<>();
+        for (Bid bid : bids) {
+            auctionIds.add(bid.getAuctionId());
         }
         
-        if (auction.getEndTime() != null) {
-            doc.append("endTime", java.util.Date.from(auction.getEndTime()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
+        Map<ObjectId, ObjectId> winningBidIds = auctionRepository.findWinningBidIds(auctionIds);
+        for (Bid bid : bids) {
+            bid.setWinning(bid.getId().equals(winningBidIds.get(bid.getAuctionId())));
         }
-        
-        if (auction.getCreatedAt() != null) {
-            doc.append("createdAt", java.util.Date.from(auction.getCreatedAt()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
-        }
-        
-        return doc;
     }
     
     /**
-     * Converts MongoDB Document to Auction object
+     * @return the auction's currentHighestBidId, or null if it has no bids (or does not exist)
      */
-    private Auction documentToAuction(Document doc) {
-        Auction auction = new Auction();
-        
-        auction.setId(doc.getObjectId("_id"));
-        auction.setProductId(doc.getObjectId("productId"));
-        auction.setSellerId(doc.getObjectId("sellerId"));
-        auction.setStartingPrice(doc.getDouble("startingPrice"));
-        auction.setCurrentHighestBid(doc.getDouble("currentHighestBid"));
-        auction.setCurrentHighestBidderId(doc.getObjectId("currentHighestBidderId"));
-        
-        // Handle date conversion properly
-        java.util.Date startTime = doc.getDate("startTime");
-        if (startTime != null) {
-            auction.setStartTime(startTime.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
-        }
-        
-        java.util.Date endTime = doc.getDate("endTime");
-        if (endTime != null) {
-            auction.setEndTime(endTime.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
+    private ObjectId findWinningBidId(ObjectId auctionId) throws DatabaseException {
+        return auctionRepository.findWinningBidIds(Collections.singleton(auctionId)).get(auctionId);
+    }
+    
+    @Override
+    public boolean endAuction(String auctionId) throws DatabaseException, AuctionException {
+        try {
+            ObjectId auctionObjectId = new ObjectId(auctionId);
+            
+            // Only the status fields are written, so a bid accepted meanwhile is not overwritten
+            if (!auctionRepository.end(auctionObjectId)) {
+                EntityCaches.AUCTIONS.invalidate(auctionObjectId);
+                Auction auction = auctionRepository.findById(auctionObjectId);
+                if (auction == null) {
+                    throw new AuctionException("Auction not found");
+                }
+                throw new AuctionException(auction.isCompleted() ? "Auction is already completed" : "Auction is not active");
+            }
+            EntityCaches.AUCTIONS.invalidate(auctionObjectId);
+            AuctionExpiryScheduler.cancel(auctionObjectId);
+            
+            return true;
+        } catch (AuctionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to end auction: " + e.getMessage(), e);
         }
-        
-        auction.setActive(doc.getBoolean("isActive", false));
-        auction.setCompleted(doc.getBoolean("isCompleted", false));
-        auction.setStatus(doc.getString("status"));
-        
-        java.util.Date createdAt = doc.getDate("createdAt");
-        if (createdAt != null) {
-            auction.setCreatedAt(createdAt.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
+    }
+    
+    @Override
+    public void checkAndUpdateExpiredAuctions() throws DatabaseException {
+        if (!AuctionExpiryScheduler.isRunning()) {
+            completeExpiredAuctions();
         }
-        
-        auction.setTotalBids(doc.getInteger("totalBids", 0));
-        
-        // Handle durationMinutes with proper type conversion
-        Object durationObj = doc.get("durationMinutes");
-        if (durationObj instanceof Number) {
-            auction.setDurationMinutes(((Number) durationObj).longValue());
-        } else {
-            auction.setDurationMinutes(60L); // Default to 60 minutes if not set
+    }
+    
+    @Override
+    public List<Auction> checkAndGetNewlyCompletedAuctions(String subscriber) throws DatabaseException {
+        // The scheduler completes auctions at their deadline; only scan when it is not running
+        if (!AuctionExpiryScheduler.isRunning()) {
+            completeExpiredAuctions();
         }
-        
-        return auction;
+        return CompletedAuctionFeed.read(subscriber);
     }
     
     /**
-     * Converts Bid object to MongoDB Document
+     * Completes expired auctions and publishes them to the CompletedAuctionFeed. The
+     * repository guarantees each auction is completed by exactly one caller, even with
+     * several consoles sweeping.
      */
-    private Document bidToDocument(Bid bid) {
-        Document doc = new Document()
-                .append("_id", bid.getId())
-                .append("auctionId", bid.getAuctionId())
-                .append("bidderId", bid.getBidderId())
-                .append("bidAmount", bid.getBidAmount())
-                .append("isWinning", bid.isWinning())
-                .append("bidderName", bid.getBidderName());
-        
-        // Convert LocalDateTime to Date for MongoDB storage
-        if (bid.getBidTime() != null) {
-            doc.append("bidTime", java.util.Date.from(bid.getBidTime()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
+    @Override
+    public List<Auction> completeExpiredAuctions() throws DatabaseException {
+        try {
+            List<Auction> newlyCompleted = auctionRepository.completeExpired(LocalDateTime.now());
+            for (Auction auction : newlyCompleted) {
+                EntityCaches.AUCTIONS.invalidate(auction.getId());
+                CompletedAuctionFeed.publish(auction);
+            }
+            return newlyCompleted;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to check expired auctions: " + e.getMessage(), e);
         }
-        
-        return doc;
     }
     
     /**
-     * Converts MongoDB Document to Bid object
+     * Immutable BSON copy of the auction for the entity cache
      */
-    private Bid documentToBid(Document doc) {
-        Bid bid = new Bid();
-        
-        bid.setId(doc.getObjectId("_id"));
-        bid.setAuctionId(doc.getObjectId("auctionId"));
-        bid.setBidderId(doc.getObjectId("bidderId"));
-        bid.setBidAmount(doc.getDouble("bidAmount"));
-        
-        // Handle date conversion properly
-        java.util.Date bidTime = doc.getDate("bidTime");
-        if (bidTime != null) {
-            bid.setBidTime(bidTime.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
-        }
-        
-        bid.setWinning(doc.getBoolean("isWinning", false));
-        bid.setBidderName(doc.getString("bidderName"));
-        
-        return bid;
+    private static RawBsonDocument snapshot(Auction auction) {
+        return new RawBsonDocument(auction, ModelCodecs.AUCTION);
     }
 }
@@ -0,0 +1,177 @@
+package com.auction.services.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.auction.engine.BidEngine;
+import com.auction.exceptions.AuctionException;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.Auction;
+import com.auction.models.AuctionListing;
+import com.auction.models.Bid;
+import com.auction.pagination.Page;
+import com.auction.scheduler.AuctionExpiryScheduler;
+import com.auction.services.AuctionService;
+
+/**
+ * AuctionService facade that routes bids through the in-memory {@link BidEngine}.
+ * Everything else goes to the wrapped service; writes that change an auction outside
+ * the engine evict the engine's copy so the next bid reloads it.
+ */
+public class BidEngineAuctionService implements AuctionService {
+    
+    private final AuctionService delegate;
+    private final BidEngine engine;
+    
+    public BidEngineAuctionService(AuctionService delegate) {
+        this.delegate = delegate;
+        this.engine = BidEngine.getInstance(delegate);
+    }
+    
+    @Override
+    public boolean createAuction(Auction auction) throws DatabaseException {
+        return delegate.createAuction(auction);
+    }
+    
+    @Override
+    public boolean updateAuction(Auction auction) throws DatabaseException {
+        boolean updated = delegate.updateAuction(auction);
+        engine.evict(auction.getId());
+        return updated;
+    }
+    
+    @Override
+    public boolean deleteAuction(String auctionId) throws DatabaseException {
+        boolean deleted = delegate.deleteAuction(auctionId);
+        engine.evict(new ObjectId(auctionId));
+        return deleted;
+    }
+    
+    @Override
+    public Auction findAuctionById(String auctionId) throws DatabaseException {
+        return delegate.findAuctionById(auctionId);
+    }
+    
+    @Override
+    public Map<ObjectId, Auction> findAuctionsByIds(Collection<ObjectId> auctionIds) throws DatabaseException {
+        return delegate.findAuctionsByIds(auctionIds);
+    }
+    
+    @Override
+    public List<Auction> getAllAuctions() throws DatabaseException {
+        return delegate.getAllAuctions();
+    }
+    
+    @Override
+    public Page<Auction> getAllAuctions(int limit, String pageToken) throws DatabaseException {
+        return delegate.getAllAuctions(limit, pageToken);
+    }
+    
+    @Override
+    public List<Auction> getActiveAuctions() throws DatabaseException {
+        return delegate.getActiveAuctions();
+    }
+    
+    @Override
+    public Stream<Auction> streamActiveAuctions(int batchSize) throws DatabaseException {
+        return delegate.streamActiveAuctions(batchSize);
+    }
+    
+    @Override
+    public List<Auction> getCompletedAuctions() throws DatabaseException {
+        return delegate.getCompletedAuctions();
+    }
+    
+    @Override
+    public List<Auction> getAuctionsBySellerId(String sellerId) throws DatabaseException {
+        return delegate.getAuctionsBySellerId(sellerId);
+    }
+    
+    @Override
+    public Page<AuctionListing> getAuctionListings(boolean activeOnly, int limit, String pageToken) throws DatabaseException {
+        return delegate.getAuctionListings(activeOnly, limit, pageToken);
+    }
+    
+    @Override
+    public boolean placeBid(Bid bid) throws DatabaseException, AuctionException {
+        acceptBid(bid);
+        return true;
+    }
+    
+    @Override
+    public Auction acceptBid(Bid bid) throws DatabaseException, AuctionException {
+        try {
+            Auction auction = engine.submit(bid).get();
+            AuctionExpiryScheduler.schedule(auction.getId(), auction.getEndTime());
+            return auction;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Interrupted while waiting for bid commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AuctionException) {
+                throw (AuctionException) cause;
+            }
+            if (cause instanceof DatabaseException) {
+                throw (DatabaseException) cause;
+            }
+            throw new DatabaseException("Failed to place bid: " + cause.getMessage(), cause);
+        }
+    }
+    
+    @Override
+    public List<Bid> getBidsByAuctionId(String auctionId) throws DatabaseException {
+        return delegate.getBidsByAuctionId(auctionId);
+    }
+    
+    @Override
+    public List<Bid> getBidsByBidderId(String bidderId) throws DatabaseException {
+        return delegate.getBidsByBidderId(bidderId);
+    }
+    
+    @Override
+    public Page<Bid> getBidsByAuctionId(String auctionId, int limit, String pageToken) throws DatabaseException {
+        return delegate.getBidsByAuctionId(auctionId, limit, pageToken);
+    }
+    
+    @Override
+    public Page<Bid> getBidsByBidderId(String bidderId, int limit, String pageToken) throws DatabaseException {
+        return delegate.getBidsByBidderId(bidderId, limit, pageToken);
+    }
+    
+    @Override
+    public boolean endAuction(String auctionId) throws DatabaseException, AuctionException {
+        boolean ended = delegate.endAuction(auctionId);
+        engine.evict(new ObjectId(auctionId));
+        return ended;
+    }
+    
+    @Override
+    public void checkAndUpdateExpiredAuctions() throws DatabaseException {
+        // Expired auctions are rejected by the engine's own end-time check
+        delegate.checkAndUpdateExpiredAuctions();
+    }
+    
+    @Override
+    public List<Auction> checkAndGetNewlyCompletedAuctions(String subscriber) throws DatabaseException {
+        List<Auction> completed = delegate.checkAndGetNewlyCompletedAuctions(subscriber);
+        for (Auction auction : completed) {
+            engine.evict(auction.getId());
+        }
+        return completed;
+    }
+    
+    @Override
+    public List<Auction> completeExpiredAuctions() throws DatabaseException {
+        List<Auction> completed = delegate.completeExpiredAuctions();
+        for (Auction auction : completed) {
+            engine.evict(auction.getId());
+        }
+        return completed;
+    }
+}
@@ -1,21 +1,35 @@
 package com.auction.services.impl;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.bson.types.ObjectId;
+
+import com.auction.engine.BidEngine;
 import com.auction.exceptions.AuctionException;
 import com.auction.exceptions.DatabaseException;
 import com.auction.models.Auction;
+import com.auction.models.AuctionListing;
 import com.auction.models.Bid;
 import com.auction.models.Buyer;
+import com.auction.models.CartItem;
+import com.auction.models.CategoryCount;
+import com.auction.models.CheckoutResult;
 import com.auction.models.Product;
+import com.auction.models.ProductSearchFilters;
 import com.auction.models.Seller;
+import com.auction.models.SellerDirectoryEntry;
 import com.auction.models.Transaction;
+import com.auction.models.User;
+import com.auction.models.UserStats;
+import com.auction.pagination.Page;
 import com.auction.services.AuctionService;
 import com.auction.services.BuyerService;
+import com.auction.services.CheckoutService;
 import com.auction.services.ProductService;
+import com.auction.services.StatisticsService;
 import com.auction.services.TransactionService;
 import com.auction.services.UserService;
 import com.auction.utils.InputUtils;
@@ -26,22 +40,31 @@ import com.auction.utils.WinnerAnnouncementUtils;
  */
 public class BuyerServiceImpl implements BuyerService {
     
+    private static final int HISTORY_PAGE_SIZE = 20;
+    private static final int LISTING_PAGE_SIZE = 20;
+    
     private final ProductService productService;
     private final TransactionService transactionService;
     private final UserService userService;
     private final AuctionService auctionService;
+    private final CheckoutService checkoutService;
+    private final StatisticsService statisticsService;
     
     public BuyerServiceImpl() {
         this.productService = new ProductServiceImpl();
         this.transactionService = new TransactionServiceImpl();
         this.userService = new UserServiceImpl();
-        this.auctionService = new AuctionServiceImpl();
+        this.auctionService = BidEngine.isEnabled()
+            ? new BidEngineAuctionService(new AuctionServiceImpl())
+            : new AuctionServiceImpl();
+        this.checkoutService = new CheckoutServiceImpl();
+        this.statisticsService = new StatisticsServiceImpl();
     }
     
     @Override
     public void browseProductsByCategory(Buyer buyer) throws DatabaseException {
         try {
-            List<String> categories = productService.getAllCategories();
+            List<CategoryCount> categories = productService.getCategoryCounts();
             
             if (categories.isEmpty()) {
                 System.out.println("No categories available.");
@@ -52,7 +75,8 @@ public class BuyerServiceImpl implements BuyerService {
             System.out.println("Available Categories:");
             
             for (int i = 0; i < categories.size(); i++) {
-                System.out.println((i + 1) + ". " + categories.get(i));
+                System.out.println((i + 1) + ". " + categories.get(i).getCategory()
+                    + " (" + categories.get(i).getAvailableCount() + " available)");
             }
             
             int choice = InputUtils.readInt("Select category (1-" + categories.size() + "): ");
@@ -62,7 +86,7 @@ public class BuyerServiceImpl implements BuyerService {
                 return;
             }
             
-            String selectedCategory = categories.get(choice - 1);
+            String selectedCategory = categories.get(choice - 1).getCategory();
             List<Product> products = productService.getProductsByCategory(selectedCategory);
             
             // Filter only available products
@@ -82,9 +106,11 @@ public class BuyerServiceImpl implements BuyerService {
                 "ID", "Name", "Price", "Condition", "Quantity", "Seller");
             System.out.println("=" .repeat(110));
             
+            Map<ObjectId, User> sellers = userService.findUsersByIds(
+                availableProducts.stream().map(Product::getSellerId).collect(Collectors.toSet()));
+            
             for (Product product : availableProducts) {
-                // Get seller name
-                Seller seller = (Seller) userService.findUserById(product.getSellerId().toString());
+                User seller = sellers.get(product.getSellerId());
                 String sellerName = seller != null ? seller.getFullName() : "Unknown";
                 
                 System.out.printf("%-15s %-20s $%-15.2f %-18s %-12d %-15s%n",
@@ -108,14 +134,12 @@ public class BuyerServiceImpl implements BuyerService {
         try {
             System.out.println("\n=== ALL SELLERS ===");
             
-            // Get all sellers
-            List<com.auction.models.User> allUsers = userService.getAllUsers();
-            List<Seller> sellers = allUsers.stream()
-                    .filter(u -> u instanceof Seller)
-                    .map(u -> (Seller) u)
-                    .collect(Collectors.toList());
+            String sortChoice = InputUtils.readString("Rank sellers by (1) number of products or (2) rating? [1]: ");
+            boolean byRating = "2".equals(sortChoice.trim());
             
-            if (sellers.isEmpty()) {
+            Page<SellerDirectoryEntry> page = userService.getSellerDirectory(byRating, LISTING_PAGE_SIZE, null);
+            
+            if (page.isEmpty()) {
                 System.out.println("No sellers found.");
                 return;
             }
@@ -123,20 +147,31 @@ public class BuyerServiceImpl implements BuyerService {
             System.out.println("ID\t\tName\t\t\tEmail\t\t\tPhone\t\t\tProducts\tRating\tRegistration Date");
             System.out.println("=" .repeat(120));
             
-            for (Seller seller : sellers) {
-                List<Product> products = productService.getProductsBySellerId(seller.getId().toString());
+            List<SellerDirectoryEntry> shown = new ArrayList<>();
+            while (true) {
+                for (SellerDirectoryEntry seller : page.getItems()) {
+                    System.out.printf("%-15s %-20s %-25s %-15s %-24d %.1f/5.0\t%s%n",
+                        seller.getSellerId().toString().substring(0, 8) + "...",
+                        seller.getFullName(),
+                        seller.getEmail(),
+                        seller.getPhoneNumber(),
+                        seller.getProductCount(),
+                        seller.getRating(),
+                        InputUtils.formatDateTime(seller.getRegistrationDate()));
+                    shown.add(seller);
+                }
                 
-                System.out.printf("%-15s %-20s %-25s %-15s %-24d %.1f/5.0\t%s%n",
-                    seller.getId().toString().substring(0, 8) + "...",
-                    seller.getFullName(),
-                    seller.getEmail(),
-                    seller.getPhoneNumber(),
-                    products.size(),
-                    seller.getRating(),
-                    InputUtils.formatDateTime(seller.getRegistrationDate()));
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more sellers? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = userService.getSellerDirectory(byRating, LISTING_PAGE_SIZE, page.getNextPageToken());
             }
             
-            System.out.println("\nTotal Sellers: " + sellers.size());
+            System.out.println("\nSellers Shown: " + shown.size());
             
             // Option to view products by specific seller
             String viewProducts = InputUtils.readString("\nWould you like to view products by a specific seller? (y/n): ");
@@ -145,16 +180,16 @@ public class BuyerServiceImpl implements BuyerService {
                 String sellerId = InputUtils.readString("Enter seller ID (first 8 characters): ");
                 
                 // Find seller by partial ID
-                Seller selectedSeller = null;
-                for (Seller seller : sellers) {
-                    if (seller.getId().toString().startsWith(sellerId)) {
+                SellerDirectoryEntry selectedSeller = null;
+                for (SellerDirectoryEntry seller : shown) {
+                    if (seller.getSellerId().toString().startsWith(sellerId)) {
                         selectedSeller = seller;
                         break;
                     }
                 }
                 
                 if (selectedSeller != null) {
-                    viewProductsBySeller(selectedSeller);
+                    viewProductsBySeller(selectedSeller.getSellerId(), selectedSeller.getFullName());
                 } else {
                     System.out.println("Seller not found.");
                 }
@@ -168,9 +203,9 @@ public class BuyerServiceImpl implements BuyerService {
     @Override
     public void purchaseProduct(Buyer buyer) throws DatabaseException {
         try {
-            List<Product> availableProducts = productService.getAvailableProducts();
+            Page<Product> page = productService.getAvailableProducts(LISTING_PAGE_SIZE, null);
             
-            if (availableProducts.isEmpty()) {
+            if (page.isEmpty()) {
                 System.out.println("No products available for purchase.");
                 return;
             }
@@ -181,16 +216,29 @@ public class BuyerServiceImpl implements BuyerService {
                 "No.", "ID", "Name", "Category", "Price", "Condition", "Quantity");
             System.out.println("=" .repeat(130));
             
-            for (int i = 0; i < availableProducts.size(); i++) {
-                Product product = availableProducts.get(i);
-                System.out.printf("%-4d %-15s %-20s %-15s $%-15.2f %-18s %-8d%n",
-                    i + 1,
-                    product.getId().toString().substring(0, 8) + "...",
-                    product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
-                    product.getCategory(),
-                    product.getPrice(),
-                    product.getCondition(),
-                    product.getQuantity());
+            // Numbering runs on across pages, so any product shown so far can be selected
+            List<Product> availableProducts = new ArrayList<>();
+            while (true) {
+                for (Product product : page.getItems()) {
+                    availableProducts.add(product);
+                    System.out.printf("%-4d %-15s %-20s %-15s $%-15.2f %-18s %-8d%n",
+                        availableProducts.size(),
+                        product.getId().toString().substring(0, 8) + "...",
+                        product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
+                        product.getCategory(),
+                        product.getPrice(),
+                        product.getCondition(),
+                        product.getQuantity());
+                }
+                
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more products? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = productService.getAvailableProducts(LISTING_PAGE_SIZE, page.getNextPageToken());
             }
             
             System.out.println("\n💡 You can select multiple products by entering numbers separated by commas or spaces (e.g., 1,3,4 or 1 3 4)");
@@ -207,9 +255,12 @@ public class BuyerServiceImpl implements BuyerService {
             
             // Display selected products and collect purchase details
             System.out.println("\n=== SELECTED PRODUCTS ===");
-            List<PurchaseItem> purchaseItems = new ArrayList<>();
+            List<CartItem> purchaseItems = new ArrayList<>();
             double totalAmount = 0.0;
             
+            Map<ObjectId, User> sellers = userService.findUsersByIds(
+                selectedProducts.stream().map(Product::getSellerId).collect(Collectors.toSet()));
+            
             for (int i = 0; i < selectedProducts.size(); i++) {
                 Product product = selectedProducts.get(i);
                 System.out.println("\n--- Product " + (i + 1) + " ---");
@@ -221,7 +272,7 @@ public class BuyerServiceImpl implements BuyerService {
                 System.out.println("Available Quantity: " + product.getQuantity());
                 
                 // Get seller details
-                Seller seller = (Seller) userService.findUserById(product.getSellerId().toString());
+                Seller seller = (Seller) sellers.get(product.getSellerId());
                 if (seller != null) {
                     System.out.println("Seller: " + seller.getFullName());
                     System.out.println("Seller Rating: " + seller.getRating() + "/5.0");
@@ -237,18 +288,11 @@ public class BuyerServiceImpl implements BuyerService {
                     }
                 }
                 
-                double itemTotal = product.getPrice() * quantityToPurchase;
-                totalAmount += itemTotal;
-                
-                // Create purchase item
-                PurchaseItem purchaseItem = new PurchaseItem();
-                purchaseItem.product = product;
-                purchaseItem.quantity = quantityToPurchase;
-                purchaseItem.itemTotal = itemTotal;
-                purchaseItem.seller = seller;
+                CartItem purchaseItem = new CartItem(product, quantityToPurchase, seller);
+                totalAmount += purchaseItem.getItemTotal();
                 purchaseItems.add(purchaseItem);
                 
-                System.out.println("Item Total: $" + String.format("%.2f", itemTotal));
+                System.out.println("Item Total: $" + String.format("%.2f", purchaseItem.getItemTotal()));
             }
             
             if (purchaseItems.isEmpty()) {
@@ -260,12 +304,12 @@ public class BuyerServiceImpl implements BuyerService {
             System.out.println("\n=== PURCHASE SUMMARY ===");
             System.out.println("Item\t\tQuantity\tUnit Price\tTotal");
             System.out.println("=" .repeat(60));
-            for (PurchaseItem item : purchaseItems) {
+            for (CartItem item : purchaseItems) {
                 System.out.printf("%-15s %d\t\t$%-10.2f $%-10.2f%n",
-                    item.product.getName().length() > 15 ? item.product.getName().substring(0, 12) + "..." : item.product.getName(),
-                    item.quantity,
-                    item.product.getPrice(),
-                    item.itemTotal);
+                    item.getProduct().getName().length() > 15 ? item.getProduct().getName().substring(0, 12) + "..." : item.getProduct().getName(),
+                    item.getQuantity(),
+                    item.getProduct().getPrice(),
+                    item.getItemTotal());
             }
             System.out.println("=" .repeat(60));
             System.out.println("TOTAL AMOUNT: $" + String.format("%.2f", totalAmount));
@@ -283,78 +327,18 @@ public class BuyerServiceImpl implements BuyerService {
             String confirm = InputUtils.readString("Confirm purchase of " + purchaseItems.size() + " item(s) for $" + String.format("%.2f", totalAmount) + "? (y/n): ");
             
             if (confirm.equalsIgnoreCase("y")) {
-                // Process each purchase item
-                List<Transaction> completedTransactions = new ArrayList<>();
-                boolean allSuccessful = true;
-                
-                for (PurchaseItem item : purchaseItems) {
-                    try {
-                        // Create transaction
-                        Transaction transaction = new Transaction();
-                        transaction.setBuyerId(buyer.getId());
-                        transaction.setSellerId(item.product.getSellerId());
-                        transaction.setProductId(item.product.getId());
-                        transaction.setAmount(item.itemTotal);
-                        transaction.setTransactionType("PURCHASE");
-                        transaction.setPaymentMethod(paymentMethod);
-                        transaction.setStatus("COMPLETED");
-                        transaction.setCompletedDate(LocalDateTime.now());
-                        transaction.setBuyerName(buyer.getFullName());
-                        transaction.setSellerName(item.seller != null ? item.seller.getFullName() : "Unknown");
-                        transaction.setProductName(item.product.getName());
-                        transaction.setNotes("Multi-item purchase - Quantity: " + item.quantity);
-                        
-                        if (transactionService.createTransaction(transaction)) {
-                            // Update product quantity or mark as sold
-                            if (item.quantity == item.product.getQuantity()) {
-                                item.product.setSold(true);
-                                item.product.setAvailable(false);
-                                item.product.setDateSold(LocalDateTime.now());
-                            } else {
-                                item.product.setQuantity(item.product.getQuantity() - item.quantity);
-                            }
-                            
-                            productService.updateProduct(item.product);
-                            
-                            // Update buyer statistics
-                            buyer.addPurchaseId(item.product.getId());
-                            buyer.addTransactionId(transaction.getId());
-                            buyer.updateSpent(item.itemTotal);
-                            buyer.incrementPurchases();
-                            
-                            // Update seller statistics
-                            if (item.seller != null) {
-                                item.seller.addTransactionId(transaction.getId());
-                                item.seller.updateEarnings(item.itemTotal);
-                                item.seller.incrementProductsSold();
-                                userService.updateUser(item.seller);
-                            }
-                            
-                            completedTransactions.add(transaction);
-                            System.out.println("✅ " + item.product.getName() + " purchased successfully!");
-                        } else {
-                            System.out.println("❌ Failed to purchase " + item.product.getName());
-                            allSuccessful = false;
-                        }
-                    } catch (Exception e) {
-                        System.out.println("❌ Error purchasing " + item.product.getName() + ": " + e.getMessage());
-                        allSuccessful = false;
-                    }
-                }
+                // The whole cart is bought in one checkout: every item or none
+                CheckoutResult result = checkoutService.checkout(buyer, purchaseItems, paymentMethod);
                 
-                // Update buyer statistics (final update)
-                userService.updateUser(buyer);
-                
-                // Display final results
                 System.out.println("\n=== PURCHASE COMPLETED ===");
-                System.out.println("Successfully purchased " + completedTransactions.size() + " out of " + purchaseItems.size() + " items.");
-                System.out.println("Total amount: $" + String.format("%.2f", 
-                    completedTransactions.stream().mapToDouble(Transaction::getAmount).sum()));
-                
-                if (allSuccessful) {
+                if (result.isSuccessful()) {
+                    for (CartItem item : purchaseItems) {
+                        System.out.println("✅ " + item.getProduct().getName() + " purchased successfully!");
+                    }
+                    System.out.println("Total amount: $" + String.format("%.2f", result.getTotalAmount()));
                     System.out.println("🎉 All items purchased successfully!");
                 } else {
-                    System.out.println("⚠️  Some items could not be purchased. Please check your transaction history.");
+                    System.out.println("❌ " + result.getMessage());
                 }
             } else {
                 System.out.println("Purchase cancelled.");
@@ -487,11 +471,11 @@ public class BuyerServiceImpl implements BuyerService {
     @Override
     public void viewOngoingAuctions(Buyer buyer) throws DatabaseException {
         try {
-            List<Auction> activeAuctions = auctionService.getActiveAuctions();
+            Page<AuctionListing> page = auctionService.getAuctionListings(true, LISTING_PAGE_SIZE, null);
             
             System.out.println("\n=== ONGOING AUCTIONS ===");
             
-            if (activeAuctions.isEmpty()) {
+            if (page.isEmpty()) {
                 System.out.println("No ongoing auctions found.");
                 return;
             }
@@ -500,24 +484,32 @@ public class BuyerServiceImpl implements BuyerService {
                 "ID", "Product", "Starting Price", "Current Bid", "Bids", "Time Left");
             System.out.println("=" .repeat(100));
             
-            for (Auction auction : activeAuctions) {
-                Product product = productService.findProductById(auction.getProductId().toString());
-                String productName = product != null ? product.getName() : "Unknown";
-                
-                // Calculate time left
-                LocalDateTime now = LocalDateTime.now();
-                String timeLeft = getTimeLeft(now, auction.getEndTime());
+            int totalShown = 0;
+            while (true) {
+                for (AuctionListing listing : page.getItems()) {
+                    String productName = listing.getProductName() != null ? listing.getProductName() : "Unknown";
+                    
+                    System.out.printf("%-15s %-20s $%-15.2f $%-15.2f %-8d %-15s%n",
+                        listing.getAuctionId().toString().substring(0, 8) + "...",
+                        productName.length() > 18 ? productName.substring(0, 15) + "..." : productName,
+                        listing.getStartingPrice(),
+                        listing.getCurrentHighestBid(),
+                        listing.getTotalBids(),
+                        getTimeLeft(listing.getTimeLeftMillis()));
+                    totalShown++;
+                }
                 
-                System.out.printf("%-15s %-20s $%-15.2f $%-15.2f %-8d %-15s%n",
-                    auction.getId().toString().substring(0, 8) + "...",
-                    productName.length() > 18 ? productName.substring(0, 15) + "..." : productName,
-                    auction.getStartingPrice(),
-                    auction.getCurrentHighestBid(),
-                    auction.getTotalBids(),
-                    timeLeft);
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more auctions? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = auctionService.getAuctionListings(true, LISTING_PAGE_SIZE, page.getNextPageToken());
             }
             
-            System.out.println("\nTotal Active Auctions: " + activeAuctions.size());
+            System.out.println("\nActive Auctions Shown: " + totalShown);
             
         } catch (Exception e) {
             throw new DatabaseException("Failed to view ongoing auctions: " + e.getMessage(), e);
@@ -527,9 +519,9 @@ public class BuyerServiceImpl implements BuyerService {
     @Override
     public void placeBid(Buyer buyer) throws DatabaseException {
         try {
-            List<Auction> activeAuctions = auctionService.getActiveAuctions();
+            Page<AuctionListing> page = auctionService.getAuctionListings(true, LISTING_PAGE_SIZE, null);
             
-            if (activeAuctions.isEmpty()) {
+            if (page.isEmpty()) {
                 System.out.println("No active auctions available for bidding.");
                 return;
             }
@@ -540,37 +532,45 @@ public class BuyerServiceImpl implements BuyerService {
                 "No.", "ID", "Product", "Current Bid", "Bids", "Time Left");
             System.out.println("=" .repeat(100));
             
-            for (int i = 0; i < activeAuctions.size(); i++) {
-                Auction auction = activeAuctions.get(i);
-                Product product = productService.findProductById(auction.getProductId().toString());
-                String productName = product != null ? product.getName() : "Unknown";
-                
-                // Calculate time left
-                LocalDateTime now = LocalDateTime.now();
-                String timeLeft = getTimeLeft(now, auction.getEndTime());
+            List<AuctionListing> shown = new ArrayList<>();
+            while (true) {
+                for (AuctionListing listing : page.getItems()) {
+                    shown.add(listing);
+                    String productName = listing.getProductName() != null ? listing.getProductName() : "Unknown";
+                    
+                    System.out.printf("%-4d %-15s %-20s $%-15.2f %-8d %-15s%n",
+                        shown.size(),
+                        listing.getAuctionId().toString().substring(0, 8) + "...",
+                        productName.length() > 18 ? productName.substring(0, 15) + "..." : productName,
+                        listing.getCurrentHighestBid(),
+                        listing.getTotalBids(),
+                        getTimeLeft(listing.getTimeLeftMillis()));
+                }
                 
-                System.out.printf("%-4d %-15s %-20s $%-15.2f %-8d %-15s%n",
-                    i + 1,
-                    auction.getId().toString().substring(0, 8) + "...",
-                    productName.length() > 18 ? productName.substring(0, 15) + "..." : productName,
-                    auction.getCurrentHighestBid(),
-                    auction.getTotalBids(),
-                    timeLeft);
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more auctions? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = auctionService.getAuctionListings(true, LISTING_PAGE_SIZE, page.getNextPageToken());
             }
             
-            int choice = InputUtils.readInt("Select auction to bid on (1-" + activeAuctions.size() + "): ");
+            int choice = InputUtils.readInt("Select auction to bid on (1-" + shown.size() + "): ");
             
-            if (choice < 1 || choice > activeAuctions.size()) {
+            if (choice < 1 || choice > shown.size()) {
                 System.out.println("Invalid selection.");
                 return;
             }
             
-            Auction selectedAuction = activeAuctions.get(choice - 1);
+            AuctionListing selectedAuction = shown.get(choice - 1);
             
-            // Display auction details
-            Product product = productService.findProductById(selectedAuction.getProductId().toString());
+            // Display auction details; the description is the one thing the listing does not carry
+            Product product = selectedAuction.getProductId() != null
+                ? productService.findProductById(selectedAuction.getProductId().toString()) : null;
             System.out.println("\nAuction Details:");
-            System.out.println("Product: " + (product != null ? product.getName() : "Unknown"));
+            System.out.println("Product: " + (selectedAuction.getProductName() != null ? selectedAuction.getProductName() : "Unknown"));
             System.out.println("Description: " + (product != null ? product.getDescription() : "N/A"));
             System.out.println("Starting Price: $" + selectedAuction.getStartingPrice());
             System.out.println("Current Highest Bid: $" + selectedAuction.getCurrentHighestBid());
@@ -591,30 +591,24 @@ public class BuyerServiceImpl implements BuyerService {
                 try {
                     // Create bid
                     Bid bid = new Bid();
-                    bid.setAuctionId(selectedAuction.getId());
+                    bid.setAuctionId(selectedAuction.getAuctionId());
                     bid.setBidderId(buyer.getId());
                     bid.setBidAmount(bidAmount);
                     bid.setBidderName(buyer.getFullName());
                     
-                    if (auctionService.placeBid(bid)) {
-                        // Update buyer's bid list
-                        buyer.addBidId(bid.getId());
-                        userService.updateUser(buyer);
-                        
-                        // Get updated auction to show new end time
-                        Auction updatedAuction = auctionService.findAuctionById(selectedAuction.getId().toString());
-                        
+                    // The accepted bid comes back with the auction's new state (including the reset end time)
+                    Auction updatedAuction = auctionService.acceptBid(bid);
+                    
+                    if (updatedAuction != null) {
                         System.out.println("\nBid placed successfully!");
                         System.out.println("Bid ID: " + bid.getId());
-                        System.out.println("Auction: " + (product != null ? product.getName() : "Unknown"));
+                        System.out.println("Auction: " + (selectedAuction.getProductName() != null ? selectedAuction.getProductName() : "Unknown"));
                         System.out.println("Bid Amount: $" + String.format("%.2f", bidAmount));
                         System.out.println("Bid Time: " + InputUtils.formatDateTime(bid.getBidTime()));
                         
                         // Show the updated auction end time (time has been reset)
-                        if (updatedAuction != null) {
-                            System.out.println("⏰ Auction time has been extended!");
-                            System.out.println("New End Time: " + InputUtils.formatDateTime(updatedAuction.getEndTime()));
-                        }
+                        System.out.println("⏰ Auction time has been extended!");
+                        System.out.println("New End Time: " + InputUtils.formatDateTime(updatedAuction.getEndTime()));
                         
                     } else {
                         System.out.println("Failed to place bid.");
@@ -636,7 +630,7 @@ public class BuyerServiceImpl implements BuyerService {
     public void viewAuctionHistory(Buyer buyer) throws DatabaseException {
         try {
             // Check for newly completed auctions and show winner announcements
-            List<Auction> newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions();
+            List<Auction> newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions(buyer.getId().toString());
             if (!newlyCompleted.isEmpty()) {
                 System.out.println("\n*** AUCTION RESULTS JUST IN! ***");
                 System.out.println("=".repeat(50));
@@ -662,11 +656,11 @@ public class BuyerServiceImpl implements BuyerService {
                 InputUtils.pause();
             }
             
-            List<Bid> bids = auctionService.getBidsByBidderId(buyer.getId().toString());
-            
             System.out.println("\n=== AUCTION HISTORY ===");
             
-            if (bids.isEmpty()) {
+            Page<Bid> page = auctionService.getBidsByBidderId(buyer.getId().toString(), HISTORY_PAGE_SIZE, null);
+            
+            if (page.isEmpty()) {
                 System.out.println("No auction history found.");
                 return;
             }
@@ -675,37 +669,54 @@ public class BuyerServiceImpl implements BuyerService {
                 "Bid ID", "Auction", "Product", "Bid Amount", "Winning", "Bid Time");
             System.out.println("=" .repeat(120));
             
-            for (Bid bid : bids) {
-                Auction auction = auctionService.findAuctionById(bid.getAuctionId().toString());
-                Product product = null;
+            int totalShown = 0;
+            long winningBids = 0;
+            // Show personalized winner announcements for buyer's recent wins
+            List<Bid> winningBidsToShow = new ArrayList<>();
+            
+            while (true) {
+                // Two lookups per page, however many bids it holds
+                Map<ObjectId, Auction> auctions = auctionService.findAuctionsByIds(
+                    page.getItems().stream().map(Bid::getAuctionId).collect(Collectors.toSet()));
+                Map<ObjectId, Product> products = productService.findProductsByIds(
+                    auctions.values().stream().map(Auction::getProductId).collect(Collectors.toSet()));
                 
-                if (auction != null) {
-                    product = productService.findProductById(auction.getProductId().toString());
+                for (Bid bid : page.getItems()) {
+                    Auction auction = auctions.get(bid.getAuctionId());
+                    Product product = auction != null ? products.get(auction.getProductId()) : null;
+                    
+                    String productName = product != null ? product.getName() : "Unknown";
+                    
+                    System.out.printf("%-15s %-15s %-20s $%-14.2f %-12s %-20s%n",
+                        bid.getId().toString().substring(0, 8) + "...",
+                        auction != null ? auction.getId().toString().substring(0, 8) + "..." : "Unknown",
+                        productName.length() > 18 ? productName.substring(0, 15) + "..." : productName,
+                        bid.getBidAmount(),
+                        bid.isWinning() ? "YES" : "NO",
+                        InputUtils.formatDateTime(bid.getBidTime()));
+                    
+                    totalShown++;
+                    if (bid.isWinning()) {
+                        winningBids++;
+                        if (winningBidsToShow.size() < 3) {
+                            winningBidsToShow.add(bid);
+                        }
+                    }
                 }
                 
-                String productName = product != null ? product.getName() : "Unknown";
-                
-                System.out.printf("%-15s %-15s %-20s $%-14.2f %-12s %-20s%n",
-                    bid.getId().toString().substring(0, 8) + "...",
-                    auction != null ? auction.getId().toString().substring(0, 8) + "..." : "Unknown",
-                    productName.length() > 18 ? productName.substring(0, 15) + "..." : productName,
-                    bid.getBidAmount(),
-                    bid.isWinning() ? "YES" : "NO",
-                    InputUtils.formatDateTime(bid.getBidTime()));
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more bids? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = auctionService.getBidsByBidderId(buyer.getId().toString(), HISTORY_PAGE_SIZE, page.getNextPageToken());
             }
             
-            System.out.println("\nTotal Bids: " + bids.size());
-            
-            // Count winning bids
-            long winningBids = bids.stream().filter(Bid::isWinning).count();
+            System.out.println("\nBids Shown: " + totalShown);
             System.out.println("Winning Bids: " + winningBids);
             
-            // Show personalized winner announcements for buyer's recent wins
-            List<Bid> winningBidsToShow = bids.stream()
-                .filter(Bid::isWinning)
-                .limit(3)
-                .collect(Collectors.toList());
-                
             if (!winningBidsToShow.isEmpty()) {
                 System.out.println("\nWould you like to see details of your recent wins? (y/n)");
                 String choice = InputUtils.readString("Choice: ");
@@ -726,15 +737,17 @@ public class BuyerServiceImpl implements BuyerService {
         System.out.println("\n*** YOUR WINNING AUCTIONS ***");
         System.out.println("=".repeat(60));
         
-        for (Bid bid : winningBids) {
-            try {
-                Auction auction = auctionService.findAuctionById(bid.getAuctionId().toString());
+        try {
+            Map<ObjectId, Auction> auctions = auctionService.findAuctionsByIds(
+                winningBids.stream().map(Bid::getAuctionId).collect(Collectors.toSet()));
+            for (Bid bid : winningBids) {
+                Auction auction = auctions.get(bid.getAuctionId());
                 if (auction != null) {
                     WinnerAnnouncementUtils.displayWinnerAnnouncement(auction);
                 }
-            } catch (Exception e) {
-                System.err.println("Error displaying win details for bid: " + bid.getId());
             }
+        } catch (Exception e) {
+            System.err.println("Error displaying win details: " + e.getMessage());
         }
         
         InputUtils.pause();
@@ -824,23 +837,18 @@ public class BuyerServiceImpl implements BuyerService {
             System.out.println("Registration Date: " + InputUtils.formatDateTime(buyer.getRegistrationDate()));
             System.out.println("Account Status: " + (buyer.isActive() ? "Active" : "Inactive"));
             
-            // Get statistics
-            List<Transaction> transactions = transactionService.getTransactionsByBuyerId(buyer.getId().toString());
+            // Purchase totals come from the rollup; bids are still read per bidder
+            UserStats stats = statisticsService.getUserStats(buyer.getId());
             List<Bid> bids = auctionService.getBidsByBidderId(buyer.getId().toString());
             
-            double totalSpent = transactions.stream()
-                    .filter(t -> "COMPLETED".equals(t.getStatus()))
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
-            
             long winningBids = bids.stream().filter(Bid::isWinning).count();
             
             System.out.println("\n=== BUYING STATISTICS ===");
             System.out.println("Total Purchases: " + buyer.getTotalPurchases());
-            System.out.println("Total Transactions: " + transactions.size());
-            System.out.println("Total Spent: $" + String.format("%.2f", totalSpent));
+            System.out.println("Total Transactions: " + stats.getPurchases());
+            System.out.println("Total Spent: $" + String.format("%.2f", stats.getAmountSpent()));
             System.out.println("Average Purchase: $" + String.format("%.2f", 
-                    buyer.getTotalPurchases() > 0 ? totalSpent / buyer.getTotalPurchases() : 0));
+                    stats.getCompletedPurchases() > 0 ? stats.getAmountSpent() / stats.getCompletedPurchases() : 0));
             System.out.println("Total Bids: " + bids.size());
             System.out.println("Winning Bids: " + winningBids);
             System.out.println("Bid Success Rate: " + String.format("%.1f", 
@@ -893,6 +901,80 @@ public class BuyerServiceImpl implements BuyerService {
         }
     }
     
+    @Override
+    public void searchProducts(Buyer buyer) throws DatabaseException {
+        try {
+            System.out.println("\n=== SEARCH PRODUCTS ===");
+            String query = InputUtils.readString("Search for: ");
+            
+            if (query.isEmpty()) {
+                System.out.println("Please enter at least one word to search for.");
+                return;
+            }
+            
+            ProductSearchFilters filters = new ProductSearchFilters();
+            String category = InputUtils.readString("Category (press Enter for any): ");
+            if (!category.isEmpty()) {
+                filters.setCategory(category);
+            }
+            String maxPrice = InputUtils.readString("Maximum price (press Enter for no limit): ");
+            if (!maxPrice.isEmpty()) {
+                try {
+                    filters.setMaxPrice(Double.parseDouble(maxPrice));
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid price - searching without a price limit.");
+                }
+            }
+            
+            Page<Product> page = productService.search(query, filters, LISTING_PAGE_SIZE, null);
+            
+            if (page.isEmpty()) {
+                System.out.println("No available products match '" + query + "'.");
+                return;
+            }
+            
+            System.out.printf("%-15s %-20s %-15s %-16s %-18s %-15s%n", 
+                "ID", "Name", "Category", "Price", "Condition", "Seller");
+            System.out.println("=" .repeat(110));
+            
+            int totalShown = 0;
+            while (true) {
+                Map<ObjectId, User> sellers = userService.findUsersByIds(
+                    page.getItems().stream().map(Product::getSellerId).collect(Collectors.toSet()));
+                
+                for (Product product : page.getItems()) {
+                    User seller = sellers.get(product.getSellerId());
+                    String sellerName = seller != null ? seller.getFullName() : "Unknown";
+                    String productCategory = product.getCategory() != null ? product.getCategory() : "";
+                    
+                    System.out.printf("%-15s %-20s %-15s $%-15.2f %-18s %-15s%n",
+                        product.getId().toString().substring(0, 8) + "...",
+                        product.getName().length() > 18 ? product.getName().substring(0, 15) + "..." : product.getName(),
+                        productCategory.length() > 13 ? productCategory.substring(0, 10) + "..." : productCategory,
+                        product.getPrice(),
+                        product.getCondition(),
+                        sellerName.length() > 13 ? sellerName.substring(0, 10) + "..." : sellerName);
+                    totalShown++;
+                }
+                
+                if (!page.hasNext()) {
+                    break;
+                }
+                String more = InputUtils.readString("Show more results? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = productService.search(query, filters, LISTING_PAGE_SIZE, page.getNextPageToken());
+            }
+            
+            System.out.println("\nResults shown: " + totalShown);
+            System.out.println("Use 'Purchase a Product' to buy any of these items.");
+            
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to search products: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public List<Product> getProductsByCategory(String category) throws DatabaseException {
         return productService.getProductsByCategory(category);
@@ -904,10 +986,10 @@ public class BuyerServiceImpl implements BuyerService {
     }
     
     // Helper methods
-    private void viewProductsBySeller(Seller seller) throws DatabaseException {
-        List<Product> products = productService.getProductsBySellerId(seller.getId().toString());
+    private void viewProductsBySeller(ObjectId sellerId, String sellerName) throws DatabaseException {
+        List<Product> products = productService.getProductsBySellerId(sellerId.toString());
         
-        System.out.println("\nProducts by " + seller.getFullName() + ":");
+        System.out.println("\nProducts by " + sellerName + ":");
         
         if (products.isEmpty()) {
             System.out.println("No products found.");
@@ -939,12 +1021,12 @@ public class BuyerServiceImpl implements BuyerService {
         }
     }
     
-    private String getTimeLeft(LocalDateTime now, LocalDateTime endTime) {
-        if (now.isAfter(endTime)) {
+    private String getTimeLeft(long millisLeft) {
+        if (millisLeft <= 0) {
             return "EXPIRED";
         }
         
-        long minutes = java.time.Duration.between(now, endTime).toMinutes();
+        long minutes = millisLeft / 60_000;
         
         if (minutes < 60) {
             return minutes + " min";
@@ -957,13 +1039,3 @@ public class BuyerServiceImpl implements BuyerService {
         }
     }
 }
-
-/**
- * Helper class for managing purchase items
- */
-class PurchaseItem {
-    Product product;
-    int quantity;
-    double itemTotal;
-    Seller seller;
-}
@@ -0,0 +1,98 @@
+package com.auction.services.impl;
+
+import com.auction.services.CheckoutService;
+import com.auction.models.Buyer;
+import com.auction.models.CartItem;
+import com.auction.models.CheckoutResult;
+import com.auction.models.Transaction;
+import com.auction.exceptions.DatabaseException;
+import com.auction.cache.EntityCaches;
+import com.auction.repository.CheckoutRepository;
+import com.auction.repository.Repositories;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of CheckoutService interface
+ */
+public class CheckoutServiceImpl implements CheckoutService {
+    
+    private final CheckoutRepository checkoutRepository = Repositories.CHECKOUTS;
+    
+    @Override
+    public CheckoutResult checkout(Buyer buyer, List<CartItem> items, String paymentMethod) throws DatabaseException {
+        try {
+            if (items.isEmpty()) {
+                return CheckoutResult.rejected("The cart is empty");
+            }
+            
+            List<Transaction> transactions = new ArrayList<>(items.size());
+            Map<ObjectId, Integer> quantities = new LinkedHashMap<>();
+            for (CartItem item : items) {
+                transactions.add(createPurchase(buyer, item, paymentMethod));
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+            
+            boolean committed;
+            try {
+                committed = checkoutRepository.commit(transactions, quantities);
+            } catch (DatabaseException e) {
+                // Without a transaction a failed checkout can leave writes behind; the message says which
+                invalidateCaches(buyer, items);
+                return CheckoutResult.failed(e.getMessage());
+            }
+            invalidateCaches(buyer, items);
+            if (!committed) {
+                return CheckoutResult.rejected("Some items are no longer available in the requested quantity. Nothing was charged.");
+            }
+            
+            // Keep the logged-in buyer's totals in step with what was just stored. They are
+            // already saved, so they are applied without recording a change; other pending
+            // edits to the buyer are left for the next updateUser.
+            for (Transaction transaction : transactions) {
+                buyer.addStoredPurchase(transaction.getAmount());
+            }
+            
+            return CheckoutResult.completed(transactions);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to check out: " + e.getMessage(), e);
+        }
+    }
+    
+    private Transaction createPurchase(Buyer buyer, CartItem item, String paymentMethod) {
+        Transaction transaction = new Transaction();
+        transaction.setBuyerId(buyer.getId());
+        transaction.setSellerId(item.getProduct().getSellerId());
+        transaction.setProductId(item.getProduct().getId());
+        transaction.setAmount(item.getItemTotal());
+        transaction.setTransactionType("PURCHASE");
+        transaction.setPaymentMethod(paymentMethod);
+        transaction.setStatus("COMPLETED");
+        transaction.setCompletedDate(LocalDateTime.now());
+        transaction.setBuyerName(buyer.getFullName());
+        transaction.setSellerName(item.getSeller() != null ? item.getSeller().getFullName() : "Unknown");
+        transaction.setProductName(item.getProduct().getName());
+        transaction.setProductCategory(item.getProduct().getCategory());
+        transaction.setNotes("Multi-item purchase - Quantity: " + item.getQuantity());
+        return transaction;
+    }
+    
+    /**
+     * The checkout writes products and users directly, so drop their cached copies
+     */
+    private void invalidateCaches(Buyer buyer, List<CartItem> items) {
+        EntityCaches.USERS.invalidate(buyer.getId());
+        for (CartItem item : items) {
+            EntityCaches.PRODUCTS.invalidate(item.getProduct().getId());
+            if (item.getProduct().getSellerId() != null) {
+                EntityCaches.USERS.invalidate(item.getProduct().getSellerId());
+            }
+        }
+        ProductServiceImpl.invalidateCategories();
+    }
+}
@@ -1,37 +1,49 @@
 package com.auction.services.impl;
 
 import com.auction.services.ProductService;
+import com.auction.models.CategoryCount;
 import com.auction.models.Product;
+import com.auction.models.ProductSearchFilters;
+import com.auction.pagination.Page;
 import com.auction.exceptions.DatabaseException;
-import com.auction.database.DatabaseConnection;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import org.bson.Document;
+import com.auction.cache.EntityCache;
+import com.auction.cache.EntityCaches;
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.repository.ProductRepository;
+import com.auction.repository.Repositories;
+import org.bson.RawBsonDocument;
 import org.bson.types.ObjectId;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static com.mongodb.client.model.Filters.*;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of ProductService interface
  */
 public class ProductServiceImpl implements ProductService {
     
-    private MongoCollection<Document> getProductCollection() throws DatabaseException {
-        MongoDatabase database = DatabaseConnection.getDatabase();
-        return database.getCollection("products");
-    }
+    private static final String CATEGORY_DICTIONARY = "categories";
+    
+    // The category dictionary, shared by every service instance
+    private static final EntityCache<String, List<CategoryCount>> CATEGORIES = new EntityCache<>("categories", 1,
+        Long.getLong("cache.categories.ttlSeconds", 60) * 1000);
+    
+    private final ProductRepository productRepository = Repositories.PRODUCTS;
     
     @Override
     public boolean saveProduct(Product product) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            Document productDoc = productToDocument(product);
-            collection.insertOne(productDoc);
+            productRepository.insert(product);
+            EntityCaches.PRODUCTS.put(product.getId(), snapshot(product));
+            invalidateCategories();
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to save product: " + e.getMessage(), e);
@@ -41,9 +53,9 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public boolean updateProduct(Product product) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            Document productDoc = productToDocument(product);
-            collection.replaceOne(eq("_id", product.getId()), productDoc);
+            productRepository.replace(product);
+            EntityCaches.PRODUCTS.put(product.getId(), snapshot(product));
+            invalidateCategories();
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to update product: " + e.getMessage(), e);
@@ -53,8 +65,9 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public boolean deleteProduct(String productId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            collection.deleteOne(eq("_id", new ObjectId(productId)));
+            productRepository.delete(new ObjectId(productId));
+            EntityCaches.PRODUCTS.invalidate(new ObjectId(productId));
+            invalidateCategories();
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to delete product: " + e.getMessage(), e);
@@ -64,57 +77,105 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Product findProductById(String productId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            Document productDoc = collection.find(eq("_id", new ObjectId(productId))).first();
-            return productDoc != null ? documentToProduct(productDoc) : null;
+            ObjectId id = new ObjectId(productId);
+            RawBsonDocument productDoc = EntityCaches.PRODUCTS.get(id);
+            if (productDoc == null) {
+                Product product = productRepository.findById(id);
+                if (product != null) {
+                    EntityCaches.PRODUCTS.put(id, snapshot(product));
+                }
+                return product;
+            }
+            return productDoc.decode(ModelCodecs.PRODUCT);
         } catch (Exception e) {
             throw new DatabaseException("Failed to find product: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Product> getAllProducts() throws DatabaseException {
+    public Map<ObjectId, Product> findProductsByIds(Collection<ObjectId> productIds) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            List<Product> products = new ArrayList<>();
-            
-            for (Document doc : collection.find()) {
-                products.add(documentToProduct(doc));
+            Map<ObjectId, Product> products = new HashMap<>();
+            Set<ObjectId> misses = new HashSet<>();
+            for (ObjectId id : productIds) {
+                if (id == null || products.containsKey(id)) {
+                    continue;
+                }
+                RawBsonDocument productDoc = EntityCaches.PRODUCTS.get(id);
+                if (productDoc != null) {
+                    products.put(id, productDoc.decode(ModelCodecs.PRODUCT));
+                } else {
+                    misses.add(id);
+                }
             }
             
+            if (!misses.isEmpty()) {
+                for (Product product : productRepository.findByIds(misses)) {
+                    EntityCaches.PRODUCTS.put(product.getId(), snapshot(product));
+                    products.put(product.getId(), product);
+                }
+            }
             return products;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to find products: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<Product> getAllProducts() throws DatabaseException {
+        try {
+            return productRepository.findAll();
         } catch (Exception e) {
             throw new DatabaseException("Failed to get all products: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public Page<Product> getAllProducts(int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        try {
+            return productRepository.findPage(limit, pageToken);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get all products: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Stream<Product> streamAllProducts(String pageToken, int batchSize) throws DatabaseException {
+        try {
+            return productRepository.streamAll(pageToken, batchSize);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to stream products: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public List<Product> getProductsByCategory(String category) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            List<Product> products = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("category", category))) {
-                products.add(documentToProduct(doc));
-            }
-            
-            return products;
+            return productRepository.findByCategory(category);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get products by category: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public Page<Product> search(String query, ProductSearchFilters filters, int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        if (query == null || query.trim().isEmpty()) {
+            return Page.empty();
+        }
+        try {
+            return productRepository.search(query.trim(), filters != null ? filters : new ProductSearchFilters(),
+                limit, pageToken);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to search products: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public List<Product> getProductsBySellerId(String sellerId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            List<Product> products = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("sellerId", new ObjectId(sellerId)))) {
-                products.add(documentToProduct(doc));
-            }
-            
-            return products;
+            return productRepository.findBySellerId(new ObjectId(sellerId));
         } catch (Exception e) {
             throw new DatabaseException("Failed to get products by seller: " + e.getMessage(), e);
         }
@@ -123,14 +184,17 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public List<Product> getAvailableProducts() throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            List<Product> products = new ArrayList<>();
-            
-            for (Document doc : collection.find(and(eq("isAvailable", true), eq("isSold", false)))) {
-                products.add(documentToProduct(doc));
-            }
-            
-            return products;
+            return productRepository.findAvailable();
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get available products: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Page<Product> getAvailableProducts(int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        try {
+            return productRepository.findAvailablePage(limit, pageToken);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get available products: " + e.getMessage(), e);
         }
@@ -139,14 +203,17 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public List<Product> getSoldProducts() throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            List<Product> products = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("isSold", true))) {
-                products.add(documentToProduct(doc));
-            }
-            
-            return products;
+            return productRepository.findSold();
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get sold products: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Page<Product> getSoldProducts(int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
+        try {
+            return productRepository.findSoldPage(limit, pageToken);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get sold products: " + e.getMessage(), e);
         }
@@ -155,19 +222,9 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public boolean markProductAsSold(String productId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            
-            // Convert LocalDateTime to Date for MongoDB storage
-            LocalDateTime now = LocalDateTime.now();
-            java.util.Date dateSold = java.util.Date.from(now.atZone(java.time.ZoneId.systemDefault()).toInstant());
-            
-            collection.updateOne(
-                eq("_id", new ObjectId(productId)),
-                new Document("$set", new Document()
-                    .append("isSold", true)
-                    .append("isAvailable", false)
-                    .append("dateSold", dateSold))
-            );
+            productRepository.markSold(new ObjectId(productId), LocalDateTime.now());
+            EntityCaches.PRODUCTS.invalidate(new ObjectId(productId));
+            invalidateCategories();
             return true;
         } catch (Exception e) {
             throw new DatabaseException("Failed to mark product as sold: " + e.getMessage(), e);
@@ -176,89 +233,39 @@ public class ProductServiceImpl implements ProductService {
     
     @Override
     public List<String> getAllCategories() throws DatabaseException {
+        List<String> names = new ArrayList<>();
+        for (CategoryCount category : getCategoryCounts()) {
+            names.add(category.getCategory());
+        }
+        return names;
+    }
+    
+    @Override
+    public List<CategoryCount> getCategoryCounts() throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getProductCollection();
-            List<String> categories = new ArrayList<>();
-            
-            for (Document doc : collection.find().projection(new Document("category", 1))) {
-                String category = doc.getString("category");
-                if (category != null && !categories.contains(category)) {
-                    categories.add(category);
-                }
+            List<CategoryCount> categories = CATEGORIES.get(CATEGORY_DICTIONARY);
+            if (categories == null) {
+                categories = Collections.unmodifiableList(productRepository.countByCategory());
+                CATEGORIES.put(CATEGORY_DICTIONARY, categories);
             }
-            
-            return categories.stream().sorted().collect(Collectors.toList());
+            return categories;
         } catch (Exception e) {
-            throw new DatabaseException("Failed to get all categories: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get categories: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Converts Product object to MongoDB Document
+     * Drops the cached category dictionary; called after any write that can change a
+     * product's category or availability
      */
-    private Document productToDocument(Product product) {
-        Document doc = new Document()
-                .append("_id", product.getId())
-                .append("name", product.getName())
-                .append("description", product.getDescription())
-                .append("category", product.getCategory())
-                .append("price", product.getPrice())
-                .append("sellerId", product.getSellerId())
-                .append("isAvailable", product.isAvailable())
-                .append("isSold", product.isSold())
-                .append("imageUrl", product.getImageUrl())
-                .append("condition", product.getCondition())
-                .append("quantity", product.getQuantity());
-        
-        // Convert LocalDateTime to Date for MongoDB storage
-        if (product.getDateAdded() != null) {
-            doc.append("dateAdded", java.util.Date.from(product.getDateAdded()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
-        }
-        
-        if (product.getDateSold() != null) {
-            doc.append("dateSold", java.util.Date.from(product.getDateSold()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
-        } else {
-            doc.append("dateSold", null);
-        }
-        
-        return doc;
+    static void invalidateCategories() {
+        CATEGORIES.invalidate(CATEGORY_DICTIONARY);
     }
     
     /**
-     * Converts MongoDB Document to Product object
+     * Immutable BSON copy of the product for the entity cache
      */
-    private Product documentToProduct(Document doc) {
-        Product product = new Product();
-        
-        product.setId(doc.getObjectId("_id"));
-        product.setName(doc.getString("name"));
-        product.setDescription(doc.getString("description"));
-        product.setCategory(doc.getString("category"));
-        product.setPrice(doc.getDouble("price"));
-        product.setSellerId(doc.getObjectId("sellerId"));
-        product.setAvailable(doc.getBoolean("isAvailable", true));
-        product.setSold(doc.getBoolean("isSold", false));
-        product.setImageUrl(doc.getString("imageUrl"));
-        product.setCondition(doc.getString("condition"));
-        product.setQuantity(doc.getInteger("quantity", 1));
-        
-        // Handle date conversion properly
-        java.util.Date dateAdded = doc.getDate("dateAdded");
-        if (dateAdded != null) {
-            product.setDateAdded(dateAdded.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
-        }
-        
-        java.util.Date dateSold = doc.getDate("dateSold");
-        if (dateSold != null) {
-            product.setDateSold(dateSold.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
-        }
-        
-        return product;
+    private static RawBsonDocument snapshot(Product product) {
+        return new RawBsonDocument(product, ModelCodecs.PRODUCT);
     }
 }
@@ -6,8 +6,11 @@ import com.auction.exceptions.DatabaseException;
 import com.auction.models.Product;
 import com.auction.models.Seller;
 import com.auction.models.Transaction;
+import com.auction.models.UserStats;
+import com.auction.repository.Repositories;
 import com.auction.services.ProductService;
 import com.auction.services.SellerService;
+import com.auction.services.StatisticsService;
 import com.auction.services.TransactionService;
 import com.auction.services.UserService;
 import com.auction.utils.InputUtils;
@@ -20,11 +23,13 @@ public class SellerServiceImpl implements SellerService {
     private final ProductService productService;
     private final TransactionService transactionService;
     private final UserService userService;
+    private final StatisticsService statisticsService;
     
     public SellerServiceImpl() {
         this.productService = new ProductServiceImpl();
         this.transactionService = new TransactionServiceImpl();
         this.userService = new UserServiceImpl();
+        this.statisticsService = new StatisticsServiceImpl();
     }
     
     @Override
@@ -67,10 +72,6 @@ public class SellerServiceImpl implements SellerService {
             Product product = new Product(name, description, category, price, seller.getId(), condition, quantity);
             
             if (productService.saveProduct(product)) {
-                // Update seller's product list
-                seller.addProductId(product.getId());
-                userService.updateUser(seller);
-                
                 System.out.println("Product added successfully!");
                 System.out.println("Product ID: " + product.getId());
                 System.out.println("Name: " + product.getName());
@@ -168,10 +169,6 @@ public class SellerServiceImpl implements SellerService {
             
             if (confirm.equalsIgnoreCase("y") || confirm.equalsIgnoreCase("yes")) {
                 if (productService.deleteProduct(selectedProduct.getId().toString())) {
-                    // Update seller's product list
-                    seller.removeProductId(selectedProduct.getId());
-                    userService.updateUser(seller);
-                    
                     System.out.println("Product removed successfully!");
                 } else {
                     System.out.println("Failed to remove product.");
@@ -344,26 +341,21 @@ public class SellerServiceImpl implements SellerService {
             System.out.println("Registration Date: " + InputUtils.formatDateTime(seller.getRegistrationDate()));
             System.out.println("Account Status: " + (seller.isActive() ? "Active" : "Inactive"));
             
-            // Get statistics
+            // Sale totals come from the rollup; products are still read per seller
             List<Product> products = productService.getProductsBySellerId(seller.getId().toString());
-            List<Transaction> transactions = transactionService.getTransactionsBySellerId(seller.getId().toString());
+            UserStats stats = statisticsService.getUserStats(seller.getId());
             
             long soldProducts = products.stream().filter(Product::isSold).count();
             long availableProducts = products.stream().filter(Product::isAvailable).count();
             
-            double totalEarnings = transactions.stream()
-                    .filter(t -> "COMPLETED".equals(t.getStatus()))
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
-            
             System.out.println("\n=== SELLING STATISTICS ===");
             System.out.println("Total Products Listed: " + products.size());
             System.out.println("Products Sold: " + soldProducts);
             System.out.println("Available Products: " + availableProducts);
-            System.out.println("Total Transactions: " + transactions.size());
-            System.out.println("Total Earnings: $" + String.format("%.2f", totalEarnings));
+            System.out.println("Total Transactions: " + stats.getSales());
+            System.out.println("Total Earnings: $" + String.format("%.2f", stats.getAmountEarned()));
             System.out.println("Average Sale Price: $" + String.format("%.2f", 
-                    soldProducts > 0 ? totalEarnings / soldProducts : 0));
+                    stats.getCompletedSales() > 0 ? stats.getAmountEarned() / stats.getCompletedSales() : 0));
             System.out.println("Rating: " + String.format("%.1f", seller.getRating()) + "/5.0 (" + seller.getTotalRatings() + " ratings)");
             
         } catch (Exception e) {
@@ -431,6 +423,14 @@ public class SellerServiceImpl implements SellerService {
         return transactionService.getTransactionsBySellerId(sellerId);
     }
     
+    @Override
+    public long countProducts(Seller seller) throws DatabaseException {
+        if (seller.getId() == null) {
+            return 0;
+        }
+        return Repositories.PRODUCTS.countBySellerId(seller.getId());
+    }
+    
     // Helper methods
     private String getCategoryByChoice(int choice) {
         switch (choice) {
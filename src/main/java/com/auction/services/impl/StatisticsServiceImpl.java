@@ -0,0 +1,75 @@
+package com.auction.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.auction.cache.EntityCache;
+import com.auction.exceptions.DatabaseException;
+import com.auction.models.ActivityReport;
+import com.auction.models.ActivitySummary;
+import com.auction.models.SystemStatistics;
+import com.auction.models.UserStats;
+import com.auction.repository.ActivityBuckets;
+import com.auction.repository.ActivityRepository;
+import com.auction.repository.Repositories;
+import com.auction.repository.StatisticsRepository;
+import com.auction.repository.UserStatsRepository;
+import com.auction.services.StatisticsService;
+
+/**
+ * Implementation of StatisticsService interface
+ */
+public class StatisticsServiceImpl implements StatisticsService {
+    
+    private static final String SYSTEM = "system";
+    private static final long SNAPSHOT_TTL_SECONDS = Long.getLong("cache.statistics.ttlSeconds", 30);
+    
+    // One snapshot shared by every service instance; a TTL of 0 disables it
+    private static final EntityCache<String, SystemStatistics> SNAPSHOTS = new EntityCache<>("statistics",
+        SNAPSHOT_TTL_SECONDS > 0 ? 1 : 0, SNAPSHOT_TTL_SECONDS * 1000);
+    
+    private final StatisticsRepository statisticsRepository = Repositories.STATISTICS;
+    private final UserStatsRepository userStatsRepository = Repositories.USER_STATS;
+    private final ActivityRepository activityRepository = Repositories.ACTIVITY;
+    
+    @Override
+    public SystemStatistics getSystemStatistics() throws DatabaseException {
+        SystemStatistics cached = SNAPSHOTS.get(SYSTEM);
+        return cached != null ? cached : refreshSystemStatistics();
+    }
+    
+    @Override
+    public SystemStatistics refreshSystemStatistics() throws DatabaseException {
+        try {
+            SystemStatistics stats = statisticsRepository.computeSystemStatistics();
+            SNAPSHOTS.put(SYSTEM, stats);
+            return stats;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to compute system statistics: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public UserStats getUserStats(ObjectId userId) throws DatabaseException {
+        try {
+            return userStatsRepository.findByUserId(userId);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get user statistics: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public ActivityReport getActivityReport(LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        try {
+            List<ActivityBuckets.Span> spans = ActivityBuckets.cover(from, to);
+            List<ActivitySummary> rows = activityRepository.summarize(from, to);
+            return spans.isEmpty()
+                ? new ActivityReport(from, to, rows)
+                : new ActivityReport(spans.get(0).getStart(), spans.get(spans.size() - 1).getEnd(), rows);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get activity report: " + e.getMessage(), e);
+        }
+    }
+}
@@ -3,134 +3,96 @@ package com.auction.services.impl;
 import com.auction.services.TransactionService;
 import com.auction.models.Transaction;
 import com.auction.exceptions.DatabaseException;
-import com.auction.database.DatabaseConnection;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import org.bson.Document;
+import com.auction.pagination.Page;
+import com.auction.repository.ActivityRepository;
+import com.auction.repository.Repositories;
+import com.auction.repository.TransactionRepository;
+import com.auction.repository.UserStatsRepository;
 import org.bson.types.ObjectId;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-
-import static com.mongodb.client.model.Filters.*;
-import static com.mongodb.client.model.Sorts.descending;
+import java.util.stream.Stream;
 
 /**
  * Implementation of TransactionService interface
  */
 public class TransactionServiceImpl implements TransactionService {
     
-    private MongoCollection<Document> getTransactionCollection() throws DatabaseException {
-        MongoDatabase database = DatabaseConnection.getDatabase();
-        return database.getCollection("transactions");
-    }
+    private final TransactionRepository transactionRepository = Repositories.TRANSACTIONS;
+    private final UserStatsRepository userStatsRepository = Repositories.USER_STATS;
+    private final ActivityRepository activityRepository = Repositories.ACTIVITY;
     
     @Override
-    public boolean createTransaction(Transaction transaction) throws DatabaseException {
+    public Transaction findTransactionById(String transactionId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            Document transactionDoc = transactionToDocument(transaction);
-            collection.insertOne(transactionDoc);
-            return true;
+            return transactionRepository.findById(new ObjectId(transactionId));
         } catch (Exception e) {
-            throw new DatabaseException("Failed to create transaction: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to find transaction: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public boolean updateTransaction(Transaction transaction) throws DatabaseException {
+    public List<Transaction> getAllTransactions() throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            Document transactionDoc = transactionToDocument(transaction);
-            collection.replaceOne(eq("_id", transaction.getId()), transactionDoc);
-            return true;
+            return transactionRepository.findAll();
         } catch (Exception e) {
-            throw new DatabaseException("Failed to update transaction: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get all transactions: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public boolean deleteTransaction(String transactionId) throws DatabaseException {
+    public Page<Transaction> getAllTransactions(int limit, String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            collection.deleteOne(eq("_id", new ObjectId(transactionId)));
-            return true;
+            return transactionRepository.findPage(limit, pageToken);
         } catch (Exception e) {
-            throw new DatabaseException("Failed to delete transaction: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get all transactions: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public Transaction findTransactionById(String transactionId) throws DatabaseException {
+    public Stream<Transaction> streamAllTransactions(String pageToken, int batchSize) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            Document transactionDoc = collection.find(eq("_id", new ObjectId(transactionId))).first();
-            return transactionDoc != null ? documentToTransaction(transactionDoc) : null;
+            return transactionRepository.streamAll(pageToken, batchSize);
         } catch (Exception e) {
-            throw new DatabaseException("Failed to find transaction: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to stream transactions: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Transaction> getAllTransactions() throws DatabaseException {
+    public List<Transaction> getTransactionsByBuyerId(String buyerId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            List<Transaction> transactions = new ArrayList<>();
-            
-            for (Document doc : collection.find().sort(descending("transactionDate"))) {
-                transactions.add(documentToTransaction(doc));
-            }
-            
-            return transactions;
+            return transactionRepository.findByBuyerId(new ObjectId(buyerId));
         } catch (Exception e) {
-            throw new DatabaseException("Failed to get all transactions: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get transactions by buyer: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Transaction> getTransactionsByBuyerId(String buyerId) throws DatabaseException {
+    public List<Transaction> getTransactionsBySellerId(String sellerId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            List<Transaction> transactions = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("buyerId", new ObjectId(buyerId))).sort(descending("transactionDate"))) {
-                transactions.add(documentToTransaction(doc));
-            }
-            
-            return transactions;
+            return transactionRepository.findBySellerId(new ObjectId(sellerId));
         } catch (Exception e) {
-            throw new DatabaseException("Failed to get transactions by buyer: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get transactions by seller: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Transaction> getTransactionsBySellerId(String sellerId) throws DatabaseException {
+    public List<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            List<Transaction> transactions = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("sellerId", new ObjectId(sellerId))).sort(descending("transactionDate"))) {
-                transactions.add(documentToTransaction(doc));
-            }
-            
-            return transactions;
+            return transactionRepository.findByDateRange(startDate, endDate);
         } catch (Exception e) {
-            throw new DatabaseException("Failed to get transactions by seller: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to get transactions by date range: " + e.getMessage(), e);
         }
     }
     
     @Override
-    public List<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) throws DatabaseException {
+    public Page<Transaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit,
+                                                        String pageToken) throws DatabaseException {
+        Page.checkLimit(limit);
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            List<Transaction> transactions = new ArrayList<>();
-            
-            for (Document doc : collection.find(and(gte("transactionDate", startDate), lte("transactionDate", endDate))).sort(descending("transactionDate"))) {
-                transactions.add(documentToTransaction(doc));
-            }
-            
-            return transactions;
+            return transactionRepository.findPageByDateRange(startDate, endDate, limit, pageToken);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get transactions by date range: " + e.getMessage(), e);
         }
@@ -139,14 +101,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public List<Transaction> getTransactionsByType(String transactionType) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            List<Transaction> transactions = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("transactionType", transactionType)).sort(descending("transactionDate"))) {
-                transactions.add(documentToTransaction(doc));
-            }
-            
-            return transactions;
+            return transactionRepository.findByType(transactionType);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get transactions by type: " + e.getMessage(), e);
         }
@@ -155,14 +110,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public List<Transaction> getTransactionsByStatus(String status) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            List<Transaction> transactions = new ArrayList<>();
-            
-            for (Document doc : collection.find(eq("status", status)).sort(descending("transactionDate"))) {
-                transactions.add(documentToTransaction(doc));
-            }
-            
-            return transactions;
+            return transactionRepository.findByStatus(status);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get transactions by status: " + e.getMessage(), e);
         }
@@ -171,16 +119,14 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public boolean processRefund(String transactionId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            
             // Update transaction status to refunded
-            collection.updateOne(
-                eq("_id", new ObjectId(transactionId)),
-                new Document("$set", new Document()
-                    .append("status", "REFUNDED")
-                    .append("completedDate", LocalDateTime.now())
-                    .append("notes", "Refund processed on " + LocalDateTime.now()))
-            );
+            LocalDateTime now = LocalDateTime.now();
+            Transaction before = transactionRepository.updateStatus(new ObjectId(transactionId), "REFUNDED", now,
+                "Refund processed on " + now);
+            if (before != null) {
+                userStatsRepository.recordStatusChange(before, "REFUNDED");
+                activityRepository.recordStatusChange(before, "REFUNDED");
+            }
             
             return true;
         } catch (Exception e) {
@@ -191,15 +137,13 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public boolean completeTransaction(String transactionId) throws DatabaseException {
         try {
-            MongoCollection<Document> collection = getTransactionCollection();
-            
             // Update transaction status to completed
-            collection.updateOne(
-                eq("_id", new ObjectId(transactionId)),
-                new Document("$set", new Document()
-                    .append("status", "COMPLETED")
-                    .append("completedDate", LocalDateTime.now()))
-            );
+            Transaction before = transactionRepository.updateStatus(new ObjectId(transactionId), "COMPLETED",
+                LocalDateTime.now(), null);
+            if (before != null) {
+                userStatsRepository.recordStatusChange(before, "COMPLETED");
+                activityRepository.recordStatusChange(before, "COMPLETED");
+            }
             
             return true;
         } catch (Exception e) {
@@ -207,75 +151,4 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
     
-    /**
-     * Converts Transaction object to MongoDB Document
-     */
-    private Document transactionToDocument(Transaction transaction) {
-        Document doc = new Document()
-                .append("_id", transaction.getId())
-                .append("buyerId", transaction.getBuyerId())
-                .append("sellerId", transaction.getSellerId())
-                .append("productId", transaction.getProductId())
-                .append("auctionId", transaction.getAuctionId())
-                .append("amount", transaction.getAmount())
-                .append("transactionType", transaction.getTransactionType())
-                .append("paymentMethod", transaction.getPaymentMethod())
-                .append("status", transaction.getStatus())
-                .append("buyerName", transaction.getBuyerName())
-                .append("sellerName", transaction.getSellerName())
-                .append("productName", transaction.getProductName())
-                .append("notes", transaction.getNotes());
-        
-        // Convert LocalDateTime to Date for MongoDB storage
-        if (transaction.getTransactionDate() != null) {
-            doc.append("transactionDate", java.util.Date.from(transaction.getTransactionDate()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
-        }
-        
-        if (transaction.getCompletedDate() != null) {
-            doc.append("completedDate", java.util.Date.from(transaction.getCompletedDate()
-                .atZone(java.time.ZoneId.systemDefault()).toInstant()));
-        }
-        
-        return doc;
-    }
-    
-    /**
-     * Converts MongoDB Document to Transaction object
-     */
-    private Transaction documentToTransaction(Document doc) {
-        Transaction transaction = new Transaction();
-        
-        transaction.setId(doc.getObjectId("_id"));
-        transaction.setBuyerId(doc.getObjectId("buyerId"));
-        transaction.setSellerId(doc.getObjectId("sellerId"));
-        transaction.setProductId(doc.getObjectId("productId"));
-        transaction.setAuctionId(doc.getObjectId("auctionId"));
-        transaction.setAmount(doc.getDouble("amount"));
-        transaction.setTransactionType(doc.getString("transactionType"));
-        transaction.setPaymentMethod(doc.getString("paymentMethod"));
-        transaction.setStatus(doc.getString("status"));
-        
-        // Handle date conversion properly
-        java.util.Date transactionDate = doc.getDate("transactionDate");
-        if (transactionDate != null) {
-            transaction.setTransactionDate(transactionDate.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
-        }
-        
-        java.util.Date completedDate = doc.getDate("completedDate");
-        if (completedDate != null) {
-            transaction.setCompletedDate(completedDate.toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDateTime());
-        }
-        
-        transaction.setBuyerName(doc.getString("buyerName"));
-        transaction.setSellerName(doc.getString("sellerName"));
-        transaction.setProductName(doc.getString("productName"));
-        transaction.setNotes(doc.getString("notes"));
-        
-        return transaction;
-    }
 }
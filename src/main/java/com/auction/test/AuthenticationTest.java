@@ -2,6 +2,7 @@ package com.auction.test;
 
 import com.auction.database.DatabaseConnection;
 import com.auction.services.UserService;
+import com.auction.services.impl.SellerServiceImpl;
 import com.auction.services.impl.UserServiceImpl;
 import com.auction.models.User;
 import com.auction.exceptions.AuthenticationException;
@@ -37,7 +38,7 @@ public class AuthenticationTest {
                 
                 if (user instanceof com.auction.models.Seller) {
                     com.auction.models.Seller seller = (com.auction.models.Seller) user;
-                    System.out.println("  - Products: " + seller.getProductIds().size());
+                    System.out.println("  - Products: " + new SellerServiceImpl().countProducts(seller));
                     System.out.println("  - Total Earnings: $" + seller.getTotalEarnings());
                 }
                 
@@ -0,0 +1,162 @@
+package com.auction.test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+
+import com.auction.database.codecs.ModelCodecs;
+import com.auction.models.Auction;
+
+/**
+ * Compares decoding a large auction result set the old way (BSON -> Document ->
+ * hand-written converter) against the AuctionCodec (BSON -> Auction).
+ * Runs entirely in memory, no database needed.
+ *
+ * Usage: CodecDecodeBenchmark [documents=100000] [rounds=10]
+ */
+public class CodecDecodeBenchmark {
+    
+    public static void main(String[] args) {
+        int documents = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        System.out.println("=== Codec Decode Benchmark ===");
+        System.out.println("Documents: " + documents + ", rounds: " + rounds);
+        
+        List<RawBsonDocument> stored = createStoredAuctions(documents);
+        DocumentCodec documentCodec = new DocumentCodec();
+        
+        // Warm up both paths so the JIT has compiled them before measuring
+        for (int i = 0; i < 3; i++) {
+            decodeLegacy(stored, documentCodec);
+            decodeWithCodec(stored);
+        }
+        
+        long legacyNanos = 0, legacyBytes = 0, codecNanos = 0, codecBytes = 0;
+        for (int round = 0; round < rounds; round++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            decodeLegacy(stored, documentCodec);
+            legacyNanos += System.nanoTime() - start;
+            legacyBytes += allocatedBytes() - bytesBefore;
+            
+            bytesBefore = allocatedBytes();
+            start = System.nanoTime();
+            decodeWithCodec(stored);
+            codecNanos += System.nanoTime() - start;
+            codecBytes += allocatedBytes() - bytesBefore;
+        }
+        
+        report("Document + converter", legacyNanos, legacyBytes, rounds, documents);
+        report("AuctionCodec", codecNanos, codecBytes, rounds, documents);
+        System.out.printf("Time saved: %.1f%%, allocation saved: %.1f%%%n",
+            100.0 * (legacyNanos - codecNanos) / legacyNanos,
+            100.0 * (legacyBytes - codecBytes) / legacyBytes);
+    }
+    
+    private static List<RawBsonDocument> createStoredAuctions(int count) {
+        List<RawBsonDocument> stored = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Auction auction = new Auction(new ObjectId(), new ObjectId(), 100 + i, now, now.plusMinutes(60));
+            auction.setCurrentHighestBid(150 + i);
+            auction.setCurrentHighestBidderId(new ObjectId());
+            auction.setCurrentHighestBidId(new ObjectId());
+            auction.setActive(true);
+            auction.setStatus("ACTIVE");
+            auction.setTotalBids(i % 50);
+            auction.setDurationMinutes(60);
+            stored.add(new RawBsonDocument(auction, ModelCodecs.AUCTION));
+        }
+        return stored;
+    }
+    
+    private static List<Auction> decodeLegacy(List<RawBsonDocument> stored, DocumentCodec documentCodec) {
+        List<Auction> auctions = new ArrayList<>(stored.size());
+        for (RawBsonDocument raw : stored) {
+            auctions.add(documentToAuction(raw.decode(documentCodec)));
+        }
+        return auctions;
+    }
+    
+    private static List<Auction> decodeWithCodec(List<RawBsonDocument> stored) {
+        List<Auction> auctions = new ArrayList<>(stored.size());
+        for (RawBsonDocument raw : stored) {
+            auctions.add(raw.decode(ModelCodecs.AUCTION));
+        }
+        return auctions;
+    }
+    
+    /**
+     * The hand-written converter AuctionServiceImpl used before the codecs, kept as the baseline
+     */
+    private static Auction documentToAuction(Document doc) {
+        Auction auction = new Auction();
+        
+        auction.setId(doc.getObjectId("_id"));
+        auction.setProductId(doc.getObjectId("productId"));
+        auction.setSellerId(doc.getObjectId("sellerId"));
+        auction.setStartingPrice(doc.getDouble("startingPrice"));
+        auction.setCurrentHighestBid(doc.getDouble("currentHighestBid"));
+        auction.setCurrentHighestBidderId(doc.getObjectId("currentHighestBidderId"));
+        auction.setCurrentHighestBidId(doc.getObjectId("currentHighestBidId"));
+        
+        java.util.Date startTime = doc.getDate("startTime");
+        if (startTime != null) {
+            auction.setStartTime(startTime.toInstant()
+                .atZone(java.time.ZoneId.systemDefault())
+                .toLocalDateTime());
+        }
+        
+        java.util.Date endTime = doc.getDate("endTime");
+        if (endTime != null) {
+            auction.setEndTime(endTime.toInstant()
+                .atZone(java.time.ZoneId.systemDefault())
+                .toLocalDateTime());
+        }
+        
+        auction.setActive(doc.getBoolean("isActive", false));
+        auction.setCompleted(doc.getBoolean("isCompleted", false));
+        auction.setStatus(doc.getString("status"));
+        
+        java.util.Date createdAt = doc.getDate("createdAt");
+        if (createdAt != null) {
+            auction.setCreatedAt(createdAt.toInstant()
+                .atZone(java.time.ZoneId.systemDefault())
+                .toLocalDateTime());
+        }
+        
+        auction.setTotalBids(doc.getInteger("totalBids", 0));
+        
+        Object durationObj = doc.get("durationMinutes");
+        if (durationObj instanceof Number) {
+            auction.setDurationMinutes(((Number) durationObj).longValue());
+        } else {
+            auction.setDurationMinutes(60L);
+        }
+        
+        return auction;
+    }
+    
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+    
+    private static void report(String label, long nanos, long bytes, int rounds, int documents) {
+        System.out.printf("%-22s %8.1f ms/round  %8.0f ns/doc  %8.0f bytes/doc%n",
+            label,
+            nanos / 1_000_000.0 / rounds,
+            (double) nanos / rounds / documents,
+            (double) bytes / rounds / documents);
+    }
+}
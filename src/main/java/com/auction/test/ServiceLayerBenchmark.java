@@ -0,0 +1,99 @@
+package com.auction.test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.types.ObjectId;
+
+import com.auction.exceptions.AuctionException;
+import com.auction.models.Auction;
+import com.auction.models.Bid;
+import com.auction.repository.Repositories;
+import com.auction.services.AuctionService;
+import com.auction.services.impl.AuctionServiceImpl;
+
+/**
+ * Drives the auction service layer against the in-memory storage engine: concurrent
+ * bidders on a pool of live auctions, then an expiry sweep. No database needed, so the
+ * numbers are the service layer's own cost.
+ *
+ * Usage: ServiceLayerBenchmark [auctions=1000] [bidders=8] [bidsPerBidder=50000]
+ */
+public class ServiceLayerBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        // Must be set before anything touches Repositories
+        System.setProperty("storage", "memory");
+        
+        int auctionCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int bidders = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int bidsPerBidder = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        
+        System.out.println("=== Service Layer Benchmark (storage=" + Repositories.STORAGE + ") ===");
+        System.out.println("Auctions: " + auctionCount + ", bidders: " + bidders + ", bids per bidder: " + bidsPerBidder);
+        
+        AuctionService auctionService = new AuctionServiceImpl();
+        List<ObjectId> liveAuctions = new ArrayList<>(auctionCount);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < auctionCount; i++) {
+            Auction live = createAuction(now.plusHours(1));
+            auctionService.createAuction(live);
+            liveAuctions.add(live.getId());
+            
+            // An already expired twin for the sweep
+            auctionService.createAuction(createAuction(now.minusMinutes(1)));
+        }
+        
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(bidders);
+        long start = System.nanoTime();
+        for (int b = 0; b < bidders; b++) {
+            pool.execute(() -> {
+                ObjectId bidderId = new ObjectId();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < bidsPerBidder; i++) {
+                    try {
+                        ObjectId auctionId = liveAuctions.get(random.nextInt(liveAuctions.size()));
+                        Auction auction = auctionService.findAuctionById(auctionId.toString());
+                        Bid bid = new Bid(auctionId, bidderId, auction.getCurrentHighestBid() + 1 + random.nextInt(5), "bench");
+                        auctionService.placeBid(bid);
+                        accepted.incrementAndGet();
+                    } catch (AuctionException e) {
+                        rejected.incrementAndGet();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        long bidNanos = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        int completed = auctionService.completeExpiredAuctions().size();
+        long sweepNanos = System.nanoTime() - start;
+        
+        long total = accepted.get() + rejected.get();
+        System.out.printf("Bids:  %d placed (%d accepted, %d outbid) in %.1f ms -> %.0f bids/s, %.1f us/bid%n",
+            total, accepted.get(), rejected.get(), bidNanos / 1_000_000.0,
+            total * 1_000_000_000.0 / bidNanos, bidNanos / 1000.0 * bidders / total);
+        System.out.printf("Sweep: %d expired auctions completed in %.1f ms%n", completed, sweepNanos / 1_000_000.0);
+    }
+    
+    private static Auction createAuction(LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = new Auction(new ObjectId(), new ObjectId(), 100, now, endTime);
+        auction.setActive(true);
+        auction.setStatus("ACTIVE");
+        auction.setDurationMinutes(60);
+        return auction;
+    }
+}
@@ -1,10 +1,12 @@
 package com.auction.test;
 
 import com.auction.utils.WinnerAnnouncementUtils;
+import com.auction.models.Admin;
 import com.auction.models.Auction;
 import com.auction.models.Product;
 import com.auction.models.User;
 import com.auction.models.Buyer;
+import com.auction.models.Seller;
 import com.auction.services.AuctionService;
 import com.auction.services.impl.AuctionServiceImpl;
 import org.bson.types.ObjectId;
@@ -69,7 +71,7 @@ public class WinnerAnnouncementTest {
             AuctionService auctionService = new AuctionServiceImpl();
             
             System.out.println("Checking for newly completed auctions...");
-            var newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions();
+            var newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions(WinnerAnnouncementUtils.ADMIN_SUBSCRIBER);
             
             if (newlyCompleted.isEmpty()) {
                 System.out.println("✅ No newly completed auctions found.");
@@ -95,13 +97,13 @@ public class WinnerAnnouncementTest {
         System.out.println("\n📋 Test 3: Pending Announcements");
         
         System.out.println("Testing admin dashboard announcements...");
-        WinnerAnnouncementUtils.showPendingWinnerAnnouncements("ADMIN");
+        WinnerAnnouncementUtils.showPendingWinnerAnnouncements(new Admin());
         
         System.out.println("Testing buyer dashboard announcements...");
-        WinnerAnnouncementUtils.showPendingWinnerAnnouncements("BUYER");
+        WinnerAnnouncementUtils.showPendingWinnerAnnouncements(new Buyer());
         
         System.out.println("Testing seller dashboard (should not show)...");
-        WinnerAnnouncementUtils.showPendingWinnerAnnouncements("SELLER");
+        WinnerAnnouncementUtils.showPendingWinnerAnnouncements(new Seller());
     }
     
     /**
@@ -1,15 +1,20 @@
 package com.auction.ui;
 
 import com.auction.database.DatabaseConnection;
+import com.auction.database.IndexAdvisor;
+import com.auction.repository.Repositories;
+import com.auction.engine.BidEngine;
 import com.auction.exceptions.AuthenticationException;
 import com.auction.exceptions.DatabaseException;
 import com.auction.models.Admin;
 import com.auction.models.Buyer;
 import com.auction.models.Seller;
 import com.auction.models.User;
+import com.auction.scheduler.AuctionExpiryScheduler;
 import com.auction.services.AdminService;
 import com.auction.services.UserService;
 import com.auction.services.impl.AdminServiceImpl;
+import com.auction.services.impl.AuctionServiceImpl;
 import com.auction.services.impl.UserServiceImpl;
 import com.auction.utils.InputUtils;
 
@@ -33,8 +38,14 @@ public class AuthenticationUI {
     public void start() {
         try {
             // Initialize database connection and create indexes
-            DatabaseConnection.getDatabase();
-            DatabaseConnection.createIndexes();
+            if (!Repositories.isInMemory()) {
+                DatabaseConnection.getDatabase();
+                DatabaseConnection.createIndexes();
+                IndexAdvisor.runIfEnabled();
+            }
+            
+            // Complete auctions at their deadline instead of when someone opens a menu
+            AuctionExpiryScheduler.start(new AuctionServiceImpl());
             
             // Check if initial admin setup is required
             checkInitialAdminSetup();
@@ -79,6 +90,9 @@ public class AuthenticationUI {
         } catch (Exception e) {
             System.err.println("Failed to start application: " + e.getMessage());
         } finally {
+            // Flush bids still waiting for group commit before the client goes away
+            BidEngine.shutdownIfRunning();
+            AuctionExpiryScheduler.shutdownIfRunning();
             DatabaseConnection.closeConnection();
         }
     }
@@ -4,6 +4,7 @@ import com.auction.models.Auction;
 import com.auction.models.Bid;
 import com.auction.models.Product;
 import com.auction.models.User;
+import com.auction.pagination.Page;
 import com.auction.services.AuctionService;
 import com.auction.services.ProductService;
 import com.auction.services.UserService;
@@ -25,12 +26,17 @@ public class WinnerAnnouncementUtils {
     private static final UserService userService = new UserServiceImpl();
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
+    /**
+     * Announcement subscriber shared by all admin consoles; buyers subscribe by user id
+     */
+    public static final String ADMIN_SUBSCRIBER = "ADMIN";
+    
     /**
      * Check for newly completed auctions and display winner announcements
      */
-    public static void checkAndDisplayWinnerAnnouncements() {
+    public static void checkAndDisplayWinnerAnnouncements(String subscriber) {
         try {
-            List<Auction> newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions();
+            List<Auction> newlyCompleted = auctionService.checkAndGetNewlyCompletedAuctions(subscriber);
             
             if (!newlyCompleted.isEmpty()) {
                 System.out.println("\n" + "=".repeat(50));
@@ -105,22 +111,19 @@ public class WinnerAnnouncementUtils {
      */
     private static void displayRecentBids(Auction auction) {
         try {
-            List<Bid> bids = auctionService.getBidsByAuctionId(auction.getId().toString());
-            
-            if (bids.size() > 1) {
+            if (auction.getTotalBids() > 1) {
+                // Show only last 3 bids - fetched as a 3-row page instead of the whole history
+                Page<Bid> bids = auctionService.getBidsByAuctionId(auction.getId().toString(), 3, null);
+                
                 System.out.println("\nRecent Bids:");
                 System.out.println("-".repeat(40));
                 
-                int count = 0;
-                for (Bid bid : bids) {
-                    if (count >= 3) break; // Show only last 3 bids
-                    
+                for (Bid bid : bids.getItems()) {
                     String status = bid.isWinning() ? "*** WINNING" : "    ";
                     System.out.printf("%s $%.2f by %s%n", 
                         status, 
                         bid.getBidAmount(), 
                         bid.getBidderName() != null ? bid.getBidderName() : "Anonymous");
-                    count++;
                 }
             }
             
@@ -155,10 +158,12 @@ public class WinnerAnnouncementUtils {
     /**
      * Check if user should see winner announcements and display them
      */
-    public static void showPendingWinnerAnnouncements(String userRole) {
+    public static void showPendingWinnerAnnouncements(User user) {
         // Only show announcements for admin and buyers
-        if ("ADMIN".equals(userRole) || "BUYER".equals(userRole)) {
-            checkAndDisplayWinnerAnnouncements();
+        if ("ADMIN".equals(user.getRole())) {
+            checkAndDisplayWinnerAnnouncements(ADMIN_SUBSCRIBER);
+        } else if ("BUYER".equals(user.getRole()) && user.getId() != null) {
+            checkAndDisplayWinnerAnnouncements(user.getId().toString());
         }
     }
 }